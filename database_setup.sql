@@ -46,7 +46,7 @@ CREATE TABLE IF NOT EXISTS marks (
     FOREIGN KEY (subject_id) REFERENCES subjects(id) ON DELETE CASCADE
 );
 
--- Insert sample admin user
+-- Insert sample admin user (plaintext seed passwords are replaced by salted hashes at first login)
 INSERT INTO users (username, password, role) VALUES 
 ('admin', 'admin123', 'admin');
 
@@ -89,8 +89,66 @@ INSERT INTO users (username, password, role) VALUES
 
 -- Create indexes for better performance
 CREATE INDEX idx_student_roll_number ON students(roll_number);
-CREATE INDEX idx_marks_student_subject ON marks(student_id, subject_id);
+CREATE UNIQUE INDEX unique_student_subject ON marks(student_id, subject_id);
 CREATE INDEX idx_users_username ON users(username);
+-- Keyset pagination of students by (name, id), and of marks by student name
+CREATE INDEX idx_students_name ON students(name);
+
+-- Configurable grade scales: bands per scale, optionally assigned to a subject or a
+-- class; everything else uses the default scale (see the grade_scales migration)
+CREATE TABLE IF NOT EXISTS grade_scales (
+    id INT AUTO_INCREMENT PRIMARY KEY,
+    name VARCHAR(100) UNIQUE NOT NULL,
+    is_default BOOLEAN NOT NULL DEFAULT FALSE,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS grade_scale_bands (
+    id INT AUTO_INCREMENT PRIMARY KEY,
+    scale_id INT NOT NULL,
+    grade CHAR(2) NOT NULL,
+    min_percent DECIMAL(5,2) NOT NULL,
+    grade_point DECIMAL(3,2) NOT NULL DEFAULT 0,
+    description VARCHAR(100) NOT NULL DEFAULT '',
+    is_passing BOOLEAN NOT NULL DEFAULT TRUE,
+    FOREIGN KEY (scale_id) REFERENCES grade_scales(id) ON DELETE CASCADE,
+    UNIQUE KEY unique_scale_grade (scale_id, grade)
+);
+
+CREATE TABLE IF NOT EXISTS subject_grade_scales (
+    subject_id INT PRIMARY KEY,
+    scale_id INT NOT NULL,
+    FOREIGN KEY (subject_id) REFERENCES subjects(id) ON DELETE CASCADE,
+    FOREIGN KEY (scale_id) REFERENCES grade_scales(id) ON DELETE CASCADE
+);
+
+CREATE TABLE IF NOT EXISTS class_grade_scales (
+    class VARCHAR(20) PRIMARY KEY,
+    scale_id INT NOT NULL,
+    FOREIGN KEY (scale_id) REFERENCES grade_scales(id) ON DELETE CASCADE
+);
+
+-- Seed the scale the application has always used
+INSERT INTO grade_scales (name, is_default) VALUES ('Standard', TRUE);
+
+INSERT INTO grade_scale_bands (scale_id, grade, min_percent, grade_point, description, is_passing)
+SELECT id, band.grade, band.min_percent, band.grade_point, band.description, band.is_passing
+FROM grade_scales
+CROSS JOIN (
+    SELECT 'A+' AS grade, 95.00 AS min_percent, 4.00 AS grade_point, 'Excellent (95-100%)' AS description, TRUE AS is_passing
+    UNION ALL SELECT 'A', 90.00, 4.00, 'Excellent (90-94%)', TRUE
+    UNION ALL SELECT 'A-', 85.00, 3.70, 'Very Good (85-89%)', TRUE
+    UNION ALL SELECT 'B+', 80.00, 3.30, 'Good (80-84%)', TRUE
+    UNION ALL SELECT 'B', 75.00, 3.00, 'Good (75-79%)', TRUE
+    UNION ALL SELECT 'B-', 70.00, 2.70, 'Above Average (70-74%)', TRUE
+    UNION ALL SELECT 'C+', 65.00, 2.30, 'Average (65-69%)', TRUE
+    UNION ALL SELECT 'C', 60.00, 2.00, 'Average (60-64%)', TRUE
+    UNION ALL SELECT 'C-', 55.00, 1.70, 'Below Average (55-59%)', TRUE
+    UNION ALL SELECT 'D', 50.00, 1.00, 'Poor (50-54%)', TRUE
+    UNION ALL SELECT 'F', 0.00, 0.00, 'Fail (Below 50%)', FALSE
+) AS band
+WHERE grade_scales.name = 'Standard';
 
 -- Show created tables
 SHOW TABLES;
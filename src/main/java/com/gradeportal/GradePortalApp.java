@@ -1,12 +1,16 @@
 package com.gradeportal;
 
+import com.gradeportal.service.StartupService;
 import com.gradeportal.util.DatabaseManager;
+import com.gradeportal.util.SceneRegistry;
+import com.gradeportal.util.StartupTimer;
 import javafx.application.Application;
-import javafx.fxml.FXMLLoader;
+import javafx.application.Platform;
 import javafx.scene.Scene;
 import javafx.scene.image.Image;
 import javafx.stage.Stage;
-import javafx.scene.Parent;
+
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Main Application class for Grades & Marks Portal System
@@ -19,30 +23,31 @@ import javafx.scene.Parent;
  */
 public class GradePortalApp extends Application {
 
-    private static final String APP_TITLE = "Grades & Marks Portal System";
-    private static final String LOGIN_FXML = "/com/gradeportal/view/Login.fxml";
-    private static final String CSS_FILE = "/css/application.css";
-
     private static Stage primaryStage; // Needed to switch scenes after login
 
+    private CompletableFuture<Void> warmUp = CompletableFuture.completedFuture(null);
+
+    /**
+     * Runs on the launcher thread before start(); database warm-up begins here so
+     * that it overlaps toolkit startup and building the login screen
+     */
+    @Override
+    public void init() {
+        StartupTimer.mark("init");
+        warmUp = new StartupService().warmUpInBackground();
+    }
+
     @Override
     public void start(Stage stage) {
+        StartupTimer.mark("fx-start");
+
         // Save primary stage reference
         primaryStage = stage;
 
-        // Initialize database
-        initializeDatabase();
-
         try {
-            // Load login screen
-            FXMLLoader loader = new FXMLLoader(getClass().getResource(LOGIN_FXML));
-            Parent root = loader.load();
-
-            Scene scene = new Scene(root);
-            scene.getStylesheets().add(getClass().getResource(CSS_FILE).toExternalForm());
-
-            stage.setTitle("Login - " + APP_TITLE);
-            stage.setScene(scene);
+            // Load login screen; it does not need the database until the user logs in
+            SceneRegistry.show(stage, SceneRegistry.LOGIN, "Login");
+            StartupTimer.mark("login-loaded");
 
             stage.setMinWidth(1000);
             stage.setMinHeight(600);
@@ -55,6 +60,7 @@ public class GradePortalApp extends Application {
             }
 
             stage.show();
+            reportFirstFrame(stage.getScene());
 
             // Handle app exit
             stage.setOnCloseRequest(event -> {
@@ -69,31 +75,35 @@ public class GradePortalApp extends Application {
     }
 
     /**
-     * Initializes database connection
+     * Record the first pulse that lays out the login scene, then print the startup
+     * summary once warm-up has finished too
      */
-    private void initializeDatabase() {
-        try {
-            DatabaseManager.getConnection();
-            System.out.println("✅ Database connected.");
-        } catch (Exception e) {
-            System.err.println("❌ Database connection failed: " + e.getMessage());
-        }
+    private void reportFirstFrame(Scene scene) {
+        CompletableFuture<Void> firstFrame = new CompletableFuture<>();
+        Runnable listener = new Runnable() {
+            @Override
+            public void run() {
+                StartupTimer.mark("first-frame");
+                firstFrame.complete(null);
+                // Not removed while the pulse is iterating the listeners
+                Platform.runLater(() -> scene.removePostLayoutPulseListener(this));
+            }
+        };
+        scene.addPostLayoutPulseListener(listener);
+
+        CompletableFuture.allOf(firstFrame, warmUp)
+            .whenComplete((ignored, error) -> System.out.println("⏱️ Startup timings (ms): " + StartupTimer.summary()));
     }
 
     /**
-     * Allows switching to different scenes (e.g., after login)
+     * Allows switching to different scenes (e.g., after login). Views are parsed once
+     * and reused through SceneRegistry.
      * 
      * @param fxmlPath path to FXML
      */
     public static void switchScene(String fxmlPath, String title) {
         try {
-            FXMLLoader loader = new FXMLLoader(GradePortalApp.class.getResource(fxmlPath));
-            Parent root = loader.load();
-            Scene scene = new Scene(root);
-            scene.getStylesheets().add(GradePortalApp.class.getResource(CSS_FILE).toExternalForm());
-
-            primaryStage.setScene(scene);
-            primaryStage.setTitle(title + " - " + APP_TITLE);
+            SceneRegistry.show(primaryStage, fxmlPath, title);
             primaryStage.setMaximized(true);
         } catch (Exception e) {
             e.printStackTrace();
@@ -102,6 +112,7 @@ public class GradePortalApp extends Application {
     }
 
     public static void main(String[] args) {
+        StartupTimer.mark("main");
         launch(args);
     }
 }
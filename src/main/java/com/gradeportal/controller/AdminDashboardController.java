@@ -2,14 +2,18 @@ package com.gradeportal.controller;
 
 import com.gradeportal.dao.StudentDAO;
 import com.gradeportal.model.Student;
+import com.gradeportal.service.AuthService;
+import com.gradeportal.service.GradeScaleService;
+import com.gradeportal.service.RegradeService;
 import com.gradeportal.util.AlertUtil;
+import com.gradeportal.util.DataLoader;
+import com.gradeportal.util.Refreshable;
+import com.gradeportal.util.SceneRegistry;
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
 import javafx.fxml.Initializable;
-import javafx.scene.Parent;
-import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.stage.Stage;
@@ -22,7 +26,7 @@ import java.time.LocalDate;
 import java.util.List;
 import java.util.ResourceBundle;
 
-public class AdminDashboardController implements Initializable {
+public class AdminDashboardController implements Initializable, Refreshable {
 
     @FXML
     private Label welcomeLabel;
@@ -42,10 +46,24 @@ public class AdminDashboardController implements Initializable {
     @FXML
     private TableColumn<Student, LocalDate> registrationDateColumn;
 
+    @FXML
+    private Button reloadScalesButton;
+
+    @FXML
+    private ProgressBar regradeProgress;
+
+    @FXML
+    private Label regradeStatusLabel;
+
     private final StudentDAO studentDAO = new StudentDAO();
+    private final GradeScaleService gradeScaleService = new GradeScaleService();
+    private final RegradeService regradeService = new RegradeService();
+    private Thread regradeThread;
     private final ObservableList<Student> studentsList = FXCollections.observableArrayList();
+    private DataLoader<List<Student>> studentsLoader;
 
     private String adminName = "Admin";
+    private String adminUsername;
 
     @Override
     public void initialize(URL location, ResourceBundle resources) {
@@ -54,7 +72,13 @@ public class AdminDashboardController implements Initializable {
         updateWelcome();
     }
 
+    @Override
+    public void refresh() {
+        loadStudents();
+    }
+
     public void setAdminName(String adminName) {
+        this.adminUsername = adminName;
         this.adminName = adminName != null && !adminName.isBlank() ? adminName : "Admin";
         updateWelcome();
     }
@@ -74,12 +98,12 @@ public class AdminDashboardController implements Initializable {
     }
 
     private void loadStudents() {
-        try {
-            List<Student> students = studentDAO.getAllStudents();
-            studentsList.setAll(students);
-        } catch (SQLException e) {
-            AlertUtil.showError("Database Error", "Failed to load students", e.getMessage());
+        if (studentsLoader == null) {
+            studentsLoader = new DataLoader<List<Student>>("students", studentDAO::getAllStudents,
+                    students -> studentsList.setAll(students))
+                .withPlaceholder(studentsTable.placeholderProperty());
         }
+        studentsLoader.load();
     }
 
     // Navigation methods
@@ -90,94 +114,114 @@ public class AdminDashboardController implements Initializable {
 
     @FXML
     private void showStudents() {
-        try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/Students.fxml"));
-            Parent root = loader.load();
-            
-            Scene scene = new Scene(root);
-            scene.getStylesheets().add(getClass().getResource("/css/application.css").toExternalForm());
-            
-            Stage stage = (Stage) welcomeLabel.getScene().getWindow();
-            stage.setScene(scene);
-            stage.setTitle("Students Management - Grades & Marks Portal System");
-            stage.show();
-        } catch (IOException e) {
-            AlertUtil.showError("Navigation Error", "Failed to load Students view", e.getMessage());
-        }
+        navigate(SceneRegistry.STUDENTS, "Students Management", "Students");
     }
 
     @FXML
     private void showSubjects() {
-        try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/Subjects.fxml"));
-            Parent root = loader.load();
-            
-            Scene scene = new Scene(root);
-            scene.getStylesheets().add(getClass().getResource("/css/application.css").toExternalForm());
-            
-            Stage stage = (Stage) welcomeLabel.getScene().getWindow();
-            stage.setScene(scene);
-            stage.setTitle("Subjects Management - Grades & Marks Portal System");
-            stage.show();
-        } catch (IOException e) {
-            AlertUtil.showError("Navigation Error", "Failed to load Subjects view", e.getMessage());
-        }
+        navigate(SceneRegistry.SUBJECTS, "Subjects Management", "Subjects");
     }
 
     @FXML
     private void showMarks() {
-        try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/Marks.fxml"));
-            Parent root = loader.load();
-            
-            Scene scene = new Scene(root);
-            scene.getStylesheets().add(getClass().getResource("/css/application.css").toExternalForm());
-            
-            Stage stage = (Stage) welcomeLabel.getScene().getWindow();
-            stage.setScene(scene);
-            stage.setTitle("Marks Management - Grades & Marks Portal System");
-            stage.show();
-        } catch (IOException e) {
-            AlertUtil.showError("Navigation Error", "Failed to load Marks view", e.getMessage());
-        }
+        navigate(SceneRegistry.MARKS, "Marks Management", "Marks");
     }
 
     @FXML
     private void showResults() {
+        navigate(SceneRegistry.RESULTS, "Results & Reports", "Results");
+    }
+
+    private void navigate(String fxmlPath, String title, String viewName) {
         try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/Results.fxml"));
-            Parent root = loader.load();
-            
-            Scene scene = new Scene(root);
-            scene.getStylesheets().add(getClass().getResource("/css/application.css").toExternalForm());
-            
-            Stage stage = (Stage) welcomeLabel.getScene().getWindow();
-            stage.setScene(scene);
-            stage.setTitle("Results & Reports - Grades & Marks Portal System");
-            stage.show();
+            SceneRegistry.show((Stage) welcomeLabel.getScene().getWindow(), fxmlPath, title);
         } catch (IOException e) {
-            AlertUtil.showError("Navigation Error", "Failed to load Results view", e.getMessage());
+            AlertUtil.showError("Navigation Error", "Failed to load " + viewName + " view", e.getMessage());
+        }
+    }
+
+    /**
+     * Reload grade scales after they were edited in the database, without restarting,
+     * and offer to regrade the marks already stored
+     */
+    @FXML
+    private void handleReloadGradeScales() {
+        reloadScalesButton.setDisable(true);
+        gradeScaleService.reloadInBackground().whenCompleteAsync((scales, error) -> {
+            reloadScalesButton.setDisable(false);
+            if (error != null) {
+                AlertUtil.showError("Grade Scales", "Failed to reload grade scales",
+                        error.getMessage() + "\nThe previous scales are still in use.");
+            } else if (AlertUtil.showConfirmation("Grade Scales", "Grade scales reloaded",
+                    "New marks are graded on the new scales. Regrade the marks already stored?\n"
+                    + "This runs in the background while the portal stays in use.")) {
+                startRegrade();
+            }
+        }, Platform::runLater);
+    }
+
+    /**
+     * Regrade every stored mark on a background thread, showing progress in the sidebar
+     */
+    private void startRegrade() {
+        if (regradeThread != null && regradeThread.isAlive()) {
+            AlertUtil.showWarning("Regrade", "Regrade already running", "Wait for the running regrade to finish.");
+            return;
+        }
+
+        reloadScalesButton.setDisable(true);
+        showRegradeStatus(0, "Regrading marks...");
+        regradeThread = Thread.ofPlatform().daemon().name("gradeportal-regrade").start(() -> {
+            try {
+                RegradeService.Progress result = regradeService.regradeAll(progress -> Platform.runLater(
+                        () -> showRegradeStatus(progress.getFraction(), String.format(
+                                "Regrading: %,d of %,d marks checked, %,d changed",
+                                progress.getScanned(), progress.getTotal(), progress.getChanged()))));
+                Platform.runLater(() -> {
+                    regradeFinished();
+                    AlertUtil.showSuccess(String.format("Regrade finished: %,d of %,d marks changed.",
+                            result.getChanged(), result.getScanned()));
+                });
+            } catch (SQLException e) {
+                Platform.runLater(() -> {
+                    regradeFinished();
+                    AlertUtil.showError("Regrade", "Regrade stopped",
+                            e.getMessage() + "\nMarks regraded before the error keep their new grades.");
+                });
+            } catch (InterruptedException e) {
+                Platform.runLater(this::regradeFinished);
+            }
+        });
+    }
+
+    private void showRegradeStatus(double fraction, String status) {
+        regradeProgress.setProgress(fraction);
+        regradeStatusLabel.setText(status);
+        for (Control control : new Control[] {regradeProgress, regradeStatusLabel}) {
+            control.setVisible(true);
+            control.setManaged(true);
+        }
+    }
+
+    private void regradeFinished() {
+        reloadScalesButton.setDisable(false);
+        for (Control control : new Control[] {regradeProgress, regradeStatusLabel}) {
+            control.setVisible(false);
+            control.setManaged(false);
         }
     }
 
     @FXML
     private void handleLogout() {
         try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/com/gradeportal/view/Login.fxml"));
-            Parent root = loader.load();
-            
-            Scene scene = new Scene(root);
-            scene.getStylesheets().add(getClass().getResource("/css/application.css").toExternalForm());
-            
-            Stage stage = (Stage) welcomeLabel.getScene().getWindow();
-            stage.setScene(scene);
-            stage.setTitle("Login - Grades & Marks Portal System");
-            stage.show();
+            // Cached views belong to this session; switch back to a fresh login screen
+            if (adminUsername != null) {
+                AuthService.logout(adminUsername);
+            }
+            SceneRegistry.clear();
+            SceneRegistry.show((Stage) welcomeLabel.getScene().getWindow(), SceneRegistry.LOGIN, "Login");
         } catch (IOException e) {
             AlertUtil.showError("Navigation Error", "Failed to return to login", e.getMessage());
         }
     }
 }
-
-
-
@@ -1,9 +1,9 @@
 package com.gradeportal.controller;
 
-import com.gradeportal.dao.MarkDAO;
-import com.gradeportal.dao.StudentDAO;
-import com.gradeportal.dao.SubjectDAO;
+import com.gradeportal.model.DashboardSnapshot;
+import com.gradeportal.service.DashboardService;
 import com.gradeportal.util.AlertUtil;
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
 import javafx.scene.control.Label;
@@ -11,10 +11,10 @@ import javafx.scene.control.ListView;
 import javafx.scene.layout.VBox;
 
 import java.net.URL;
-import java.sql.SQLException;
 import java.util.List;
 import java.util.Map;
 import java.util.ResourceBundle;
+import java.util.concurrent.CompletionException;
 
 /**
  * Controller for the Dashboard view
@@ -37,90 +37,75 @@ public class DashboardController implements Initializable {
     @FXML
     private VBox gradeDistributionBox;
     
-    private StudentDAO studentDAO;
-    private SubjectDAO subjectDAO;
-    private MarkDAO markDAO;
+    private DashboardService dashboardService;
     
     @Override
     public void initialize(URL location, ResourceBundle resources) {
-        studentDAO = new StudentDAO();
-        subjectDAO = new SubjectDAO();
-        markDAO = new MarkDAO();
+        dashboardService = new DashboardService();
         
-        loadDashboardData();
+        loadDashboardData(null);
     }
     
     /**
-     * Load and display dashboard statistics
+     * Load dashboard statistics in the background and display them when all
+     * queries have finished
+     * @param onLoaded Optional callback run on the FX thread after a successful load
      */
-    private void loadDashboardData() {
-        try {
-            // Load basic counts
-            int totalStudents = studentDAO.getTotalStudentCount();
-            int totalSubjects = subjectDAO.getTotalSubjectCount();
-            
-            totalStudentsLabel.setText(String.valueOf(totalStudents));
-            totalSubjectsLabel.setText(String.valueOf(totalSubjects));
+    private void loadDashboardData(Runnable onLoaded) {
+        dashboardService.loadSnapshot().whenCompleteAsync((snapshot, error) -> {
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null
+                    ? error.getCause() : error;
+                AlertUtil.showError("Database Error", "Failed to load dashboard data", cause.getMessage());
+                return;
+            }
             
-            // Load top performers
-            loadTopPerformers();
+            totalStudentsLabel.setText(String.valueOf(snapshot.getTotalStudents()));
+            totalSubjectsLabel.setText(String.valueOf(snapshot.getTotalSubjects()));
             
-            // Load grade distribution
-            loadGradeDistribution();
+            showTopPerformers(snapshot.getTopPerformers());
+            showGradeDistribution(snapshot);
             
-        } catch (SQLException e) {
-            AlertUtil.showError("Database Error", "Failed to load dashboard data", e.getMessage());
-        }
+            if (onLoaded != null) {
+                onLoaded.run();
+            }
+        }, Platform::runLater);
     }
     
     /**
-     * Load and display top performing students
+     * Display top performing students
      */
-    private void loadTopPerformers() {
-        try {
-            List<Map<String, Object>> topPerformers = markDAO.getTopPerformers(10);
-            
-            topPerformersListView.getItems().clear();
-            
-            for (Map<String, Object> performer : topPerformers) {
-                String name = (String) performer.get("name");
-                String rollNumber = (String) performer.get("rollNumber");
-                double averageMarks = (Double) performer.get("averageMarks");
-                
-                String displayText = String.format("%s (%s) - %.1f%%", name, rollNumber, averageMarks);
-                topPerformersListView.getItems().add(displayText);
-            }
+    private void showTopPerformers(List<Map<String, Object>> topPerformers) {
+        topPerformersListView.getItems().clear();
+        
+        for (Map<String, Object> performer : topPerformers) {
+            String name = (String) performer.get("name");
+            String rollNumber = (String) performer.get("rollNumber");
+            double averageMarks = (Double) performer.get("averageMarks");
             
-        } catch (SQLException e) {
-            AlertUtil.showError("Database Error", "Failed to load top performers", e.getMessage());
+            String displayText = String.format("%s (%s) - %.1f%%", name, rollNumber, averageMarks);
+            topPerformersListView.getItems().add(displayText);
         }
     }
     
     /**
-     * Load and display grade distribution
+     * Display grade distribution
      */
-    private void loadGradeDistribution() {
-        try {
-            Map<String, Integer> distribution = markDAO.getGradeDistribution();
-            
-            gradeDistributionBox.getChildren().clear();
-            
-            int totalMarks = distribution.values().stream().mapToInt(Integer::intValue).sum();
-            totalMarksLabel.setText(String.valueOf(totalMarks));
-            
-            // Display grade distribution
-            for (Map.Entry<String, Integer> entry : distribution.entrySet()) {
-                String grade = entry.getKey();
-                int count = entry.getValue();
-                double percentage = totalMarks > 0 ? (count * 100.0 / totalMarks) : 0;
-                
-                Label gradeLabel = new Label(String.format("%s: %d (%.1f%%)", grade, count, percentage));
-                gradeLabel.getStyleClass().add("grade-distribution-item");
-                gradeDistributionBox.getChildren().add(gradeLabel);
-            }
+    private void showGradeDistribution(DashboardSnapshot snapshot) {
+        gradeDistributionBox.getChildren().clear();
+        
+        int totalMarks = snapshot.getTotalMarks();
+        totalMarksLabel.setText(String.valueOf(totalMarks));
+        
+        // Display grade distribution
+        for (Map.Entry<String, Integer> entry : snapshot.getGradeDistribution().entrySet()) {
+            String grade = entry.getKey();
+            int count = entry.getValue();
+            double percentage = totalMarks > 0 ? (count * 100.0 / totalMarks) : 0;
             
-        } catch (SQLException e) {
-            AlertUtil.showError("Database Error", "Failed to load grade distribution", e.getMessage());
+            Label gradeLabel = new Label(String.format("%s: %d (%.1f%%)", grade, count, percentage));
+            gradeLabel.getStyleClass().add("grade-distribution-item");
+            gradeDistributionBox.getChildren().add(gradeLabel);
         }
     }
     
@@ -129,8 +114,7 @@ public class DashboardController implements Initializable {
      */
     @FXML
     private void handleRefresh() {
-        loadDashboardData();
-        AlertUtil.showSuccess("Dashboard data refreshed successfully.");
+        loadDashboardData(() -> AlertUtil.showSuccess("Dashboard data refreshed successfully."));
     }
     
 }
\ No newline at end of file
@@ -1,19 +1,22 @@
 package com.gradeportal.controller;
 
-import com.gradeportal.util.DatabaseManager;
+import com.gradeportal.service.AuthService;
+import com.gradeportal.service.LoginThrottledException;
+import com.gradeportal.util.SceneRegistry;
+import javafx.application.Platform;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
-import javafx.scene.Parent;
-import javafx.scene.Scene;
 import javafx.scene.control.Alert;
+import javafx.scene.control.Button;
 import javafx.scene.control.PasswordField;
 import javafx.scene.control.TextField;
 import javafx.stage.Stage;
 import javafx.scene.Node;
 
 import java.io.IOException;
-import java.sql.*;
+import java.sql.SQLException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
 
 public class LoginController {
 
@@ -21,6 +24,10 @@ public class LoginController {
     private TextField usernameField;
     @FXML
     private PasswordField passwordField;
+    @FXML
+    private Button loginButton;
+
+    private final AuthService authService = new AuthService();
 
     @FXML
     public void handleLogin(ActionEvent event) {
@@ -32,75 +39,77 @@ public class LoginController {
             return;
         }
 
-        try (Connection conn = DatabaseManager.getConnection()) {
-            String query = "SELECT username, role FROM users WHERE username = ? AND password = ?";
-            PreparedStatement stmt = conn.prepareStatement(query);
-            stmt.setString(1, username);
-            stmt.setString(2, password); // 🔒 Use hashed password in production
-
-            ResultSet rs = stmt.executeQuery();
-            if (rs.next()) {
-                String userRole = rs.getString("role");
-                showAlert("Login Successful", "Welcome " + username + " (" + userRole + ")");
-                
-                if ("admin".equalsIgnoreCase(userRole)) {
-                    // Load admin dashboard
-                    loadAdminDashboard(username, event);
-                } else if ("student".equalsIgnoreCase(userRole)) {
-                    // Load student dashboard
-                    loadStudentDashboard(username, event);
+        // Hashing takes a moment; check off the JavaFX thread and ignore repeat clicks meanwhile
+        loginButton.setDisable(true);
+        authService.login(username, password.toCharArray())
+            .whenCompleteAsync((session, error) -> {
+                loginButton.setDisable(false);
+                if (error != null) {
+                    loginFailed(error instanceof CompletionException ? error.getCause() : error);
+                } else if (session == null) {
+                    showAlert("Login Failed", "Invalid credentials. Please try again.");
                 } else {
-                    showAlert("Login Error", "Unknown user role: " + userRole);
+                    loggedIn(session, event);
                 }
+            }, Platform::runLater);
+    }
 
+    private void loggedIn(AuthService.Session session, ActionEvent event) {
+        String username = session.getUsername();
+        String userRole = session.getRole();
+        showAlert("Login Successful", "Welcome " + username + " (" + userRole + ")");
+
+        try {
+            if (session.isAdmin()) {
+                // Load admin dashboard
+                loadAdminDashboard(username, event);
+            } else if (session.isStudent()) {
+                // Load student dashboard
+                loadStudentDashboard(username, event);
             } else {
-                showAlert("Login Failed", "Invalid credentials. Please try again.");
+                showAlert("Login Error", "Unknown user role: " + userRole);
             }
-        } catch (SQLException e) {
-            showAlert("DB Error", e.getMessage());
         } catch (IOException e) {
             showAlert("UI Error", "Failed to load dashboard: " + e.getMessage());
         }
     }
 
+    private void loginFailed(Throwable error) {
+        if (error instanceof LoginThrottledException throttled) {
+            long seconds = Math.max(1, (throttled.getRetryAfterMillis() + 999) / 1000);
+            showAlert("Login Failed", "Too many login attempts. Please try again in " + seconds + " seconds.");
+        } else if (error instanceof RejectedExecutionException) {
+            showAlert("Login Busy", "Too many logins are being checked. Please try again in a moment.");
+        } else if (error instanceof SQLException) {
+            showAlert("DB Error", error.getMessage());
+        } else {
+            showAlert("Login Error", String.valueOf(error.getMessage()));
+        }
+    }
+
     private void loadAdminDashboard(String username, ActionEvent event) throws IOException {
-        FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/AdminDashboard.fxml"));
-        Parent mainRoot = loader.load();
+        // Switch stage
+        Stage stage = (Stage) ((Node) event.getSource()).getScene().getWindow();
+        AdminDashboardController controller = SceneRegistry.show(stage, SceneRegistry.ADMIN_DASHBOARD, "Admin Dashboard");
+        stage.setMinWidth(1000);
+        stage.setMinHeight(600);
 
         // Pass admin name to controller
-        AdminDashboardController controller = loader.getController();
         controller.setAdminName(username);
 
-        Scene mainScene = new Scene(mainRoot, 1200, 800);
-        mainScene.getStylesheets().add(getClass().getResource("/css/application.css").toExternalForm());
+        // Parse the admin views in the background so the first visit to each is instant
+        SceneRegistry.preload(SceneRegistry.STUDENTS, SceneRegistry.SUBJECTS, SceneRegistry.MARKS, SceneRegistry.RESULTS);
+    }
 
+    private void loadStudentDashboard(String username, ActionEvent event) throws IOException {
         // Switch stage
         Stage stage = (Stage) ((Node) event.getSource()).getScene().getWindow();
-        stage.setScene(mainScene);
-        stage.setTitle("Admin Dashboard - Grades & Marks Portal System");
+        StudentDashboardController controller = SceneRegistry.show(stage, SceneRegistry.STUDENT_DASHBOARD, "Student Dashboard");
         stage.setMinWidth(1000);
         stage.setMinHeight(600);
-        stage.show();
-    }
-
-    private void loadStudentDashboard(String username, ActionEvent event) throws IOException {
-        FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/StudentDashboard.fxml"));
-        Parent mainRoot = loader.load();
 
         // Pass student username to controller
-        StudentDashboardController controller = loader.getController();
         controller.setStudentUsername(username);
-
-        Scene mainScene = new Scene(mainRoot, 1200, 800);
-        mainScene.getStylesheets().add(getClass().getResource("/css/application.css").toExternalForm());
-
-        // Switch stage
-        Stage stage = (Stage) ((Node) event.getSource()).getScene().getWindow();
-        stage.setScene(mainScene);
-        stage.setTitle("Student Dashboard - Grades & Marks Portal System");
-        stage.setMinWidth(1000);
-        stage.setMinHeight(600);
-        stage.show();
     }
 
     private void showAlert(String title, String msg) {
@@ -6,25 +6,39 @@ import com.gradeportal.dao.SubjectDAO;
 import com.gradeportal.model.Mark;
 import com.gradeportal.model.Student;
 import com.gradeportal.model.Subject;
+import com.gradeportal.service.MarkImportService;
 import com.gradeportal.util.AlertUtil;
+import com.gradeportal.util.DataLoader;
 import com.gradeportal.util.GradeCalculator;
+import com.gradeportal.util.GradeScale;
+import com.gradeportal.util.Refreshable;
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
 import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
+import javafx.stage.FileChooser;
 
+import java.io.File;
+import java.io.IOException;
 import java.net.URL;
 import java.sql.SQLException;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.ResourceBundle;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * Controller for the Marks Entry view
  */
-public class MarksController implements Initializable {
+public class MarksController implements Initializable, Refreshable {
+    
+    private static final ExecutorService IMPORT_EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
     
     @FXML
     private ComboBox<Student> studentComboBox;
@@ -53,6 +67,9 @@ public class MarksController implements Initializable {
     @FXML
     private Button clearButton;
     
+    @FXML
+    private Button importButton;
+    
     @FXML
     private TableView<Mark> marksTable;
     
@@ -77,7 +94,11 @@ public class MarksController implements Initializable {
     private StudentDAO studentDAO;
     private SubjectDAO subjectDAO;
     private MarkDAO markDAO;
+    private MarkImportService markImportService;
     private ObservableList<Mark> marksList;
+    private DataLoader<List<Mark>> marksLoader;
+    private DataLoader<List<Student>> studentsLoader;
+    private DataLoader<List<Subject>> subjectsLoader;
     private Mark selectedMark;
     
     @Override
@@ -85,7 +106,10 @@ public class MarksController implements Initializable {
         studentDAO = new StudentDAO();
         subjectDAO = new SubjectDAO();
         markDAO = new MarkDAO();
+        markImportService = new MarkImportService();
         marksList = FXCollections.observableArrayList();
+        marksLoader = new DataLoader<List<Mark>>("marks", markDAO::getAllMarks, marks -> marksList.setAll(marks))
+            .withPlaceholder(marksTable.placeholderProperty());
         
         setupTable();
         setupComboBoxes();
@@ -100,6 +124,17 @@ public class MarksController implements Initializable {
         deleteButton.setDisable(true);
     }
     
+    /**
+     * Reload marks, students and subjects when the view is shown again, since
+     * students and subjects may have been added in their own views meanwhile
+     */
+    @Override
+    public void refresh() {
+        studentsLoader.load();
+        subjectsLoader.load();
+        loadAllMarks();
+    }
+    
     /**
      * Set up the marks table
      */
@@ -124,21 +159,16 @@ public class MarksController implements Initializable {
     }
     
     /**
-     * Set up combo boxes
+     * Set up combo boxes, filled in the background
      */
     private void setupComboBoxes() {
-        try {
-            // Load students
-            List<Student> students = studentDAO.getAllStudents();
-            studentComboBox.setItems(FXCollections.observableArrayList(students));
-            
-            // Load subjects
-            List<Subject> subjects = subjectDAO.getAllSubjects();
-            subjectComboBox.setItems(FXCollections.observableArrayList(subjects));
-            
-        } catch (SQLException e) {
-            AlertUtil.showError("Database Error", "Failed to load data", e.getMessage());
-        }
+        studentsLoader = new DataLoader<List<Student>>("students", studentDAO::getAllStudents,
+            students -> studentComboBox.setItems(FXCollections.observableArrayList(students)));
+        studentsLoader.load();
+        
+        subjectsLoader = new DataLoader<List<Subject>>("subjects", subjectDAO::getAllSubjects,
+            subjects -> subjectComboBox.setItems(FXCollections.observableArrayList(subjects)));
+        subjectsLoader.load();
     }
     
     /**
@@ -149,6 +179,22 @@ public class MarksController implements Initializable {
         marksTextField.textProperty().addListener((observable, oldValue, newValue) -> {
             updateGradeLabel();
         });
+        
+        // The grade scale can depend on the subject and the student's class
+        studentComboBox.valueProperty().addListener((observable, oldValue, newValue) -> updateGradeLabel());
+        subjectComboBox.valueProperty().addListener((observable, oldValue, newValue) -> updateGradeLabel());
+    }
+    
+    /**
+     * Get the grade scale for the student and subject selected in the form
+     */
+    private GradeScale selectedScale() {
+        Student student = studentComboBox.getValue();
+        Subject subject = subjectComboBox.getValue();
+        if (subject == null) {
+            return GradeCalculator.getScale();
+        }
+        return GradeCalculator.getScale(subject.getId(), student != null ? student.getStudentClass() : null);
     }
     
     /**
@@ -160,8 +206,8 @@ public class MarksController implements Initializable {
             if (!marksText.isEmpty()) {
                 double marks = Double.parseDouble(marksText);
                 if (marks >= 0 && marks <= 100) {
-                    String grade = GradeCalculator.calculateGrade(marks);
-                    gradeLabel.setText(grade + " - " + GradeCalculator.getGradeDescription(grade));
+                    GradeScale.Grade grade = selectedScale().grade(marks);
+                    gradeLabel.setText(grade.getLetter() + " - " + grade.getDescription());
                     gradeLabel.setStyle("-fx-text-fill: #2e8b57;");
                 } else {
                     gradeLabel.setText("Invalid marks (0-100)");
@@ -178,16 +224,10 @@ public class MarksController implements Initializable {
     }
     
     /**
-     * Load all marks from database
+     * Load all marks from database in the background
      */
     private void loadAllMarks() {
-        try {
-            List<Mark> marks = markDAO.getAllMarks();
-            marksList.clear();
-            marksList.addAll(marks);
-        } catch (SQLException e) {
-            AlertUtil.showError("Database Error", "Failed to load marks", e.getMessage());
-        }
+        marksLoader.load();
     }
     
     /**
@@ -257,14 +297,7 @@ public class MarksController implements Initializable {
             Subject subject = subjectComboBox.getValue();
             double marks = Double.parseDouble(marksTextField.getText().trim());
             
-            // Check if mark already exists for this student and subject
-            if (markDAO.markExists(student.getId(), subject.getId(), -1)) {
-                AlertUtil.showError("Validation Error", "Duplicate Entry", 
-                    "Marks already exist for this student and subject combination.");
-                return;
-            }
-            
-            String grade = GradeCalculator.calculateGrade(marks);
+            String grade = GradeCalculator.calculateGrade(marks, subject.getId(), student.getStudentClass());
             
             Mark mark = new Mark();
             mark.setStudentId(student.getId());
@@ -273,13 +306,21 @@ public class MarksController implements Initializable {
             mark.setGrade(grade);
             mark.setEntryDate(entryDatePicker.getValue());
             
-            if (markDAO.addMark(mark)) {
-                AlertUtil.showSuccess("Marks added successfully.");
-                loadAllMarks();
-                handleClear();
-            } else {
-                AlertUtil.showError("Error", "Failed to add marks", "Please try again.");
+            // One atomic write: adds the mark, or updates the one already entered for this pair
+            switch (markDAO.upsertMark(mark)) {
+                case INSERTED:
+                    AlertUtil.showSuccess("Marks added successfully.");
+                    break;
+                case UPDATED:
+                    AlertUtil.showSuccess("Marks already existed for this student and subject and were updated.");
+                    break;
+                default:
+                    AlertUtil.showInfo("No Changes", "Nothing to update",
+                        "These marks are already recorded for this student and subject.");
+                    break;
             }
+            loadAllMarks();
+            handleClear();
             
         } catch (SQLException e) {
             AlertUtil.showError("Database Error", "Failed to add marks", e.getMessage());
@@ -297,12 +338,15 @@ public class MarksController implements Initializable {
         
         try {
             double marks = Double.parseDouble(marksTextField.getText().trim());
-            String grade = GradeCalculator.calculateGrade(marks);
+            Student student = studentDAO.getStudentById(selectedMark.getStudentId());
+            String grade = GradeCalculator.calculateGrade(marks, selectedMark.getSubjectId(),
+                student != null ? student.getStudentClass() : null);
             
-            selectedMark.setMarksObtained(marks);
-            selectedMark.setGrade(grade);
+            // selectedMark stays as loaded, so the DAO can report the change without re-reading it
+            Mark updated = new Mark(selectedMark.getId(), selectedMark.getStudentId(), selectedMark.getSubjectId(),
+                marks, grade, selectedMark.getEntryDate());
             
-            if (markDAO.updateMark(selectedMark)) {
+            if (markDAO.updateMark(selectedMark, updated)) {
                 AlertUtil.showSuccess("Marks updated successfully.");
                 loadAllMarks();
                 handleClear();
@@ -315,6 +359,81 @@ public class MarksController implements Initializable {
         }
     }
     
+    /**
+     * Import marks from a CSV file in the background
+     */
+    @FXML
+    private void handleImport() {
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Import Marks");
+        fileChooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("CSV Files", "*.csv"));
+        
+        File file = fileChooser.showOpenDialog(importButton.getScene().getWindow());
+        if (file == null) {
+            return;
+        }
+        
+        boolean updateExisting = AlertUtil.showConfirmation("Import Marks",
+            "Update marks that already exist?",
+            "Choose OK to overwrite existing marks for the same student and subject, or Cancel to keep them and report those rows as rejected.");
+        
+        importButton.setDisable(true);
+        CompletableFuture.supplyAsync(() -> {
+            try {
+                return markImportService.importMarks(file.toPath(), updateExisting);
+            } catch (IOException | SQLException e) {
+                throw new CompletionException(e);
+            }
+        }, IMPORT_EXECUTOR).whenCompleteAsync((result, error) -> {
+            importButton.setDisable(false);
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null
+                    ? error.getCause() : error;
+                AlertUtil.showError("Import Error", "Failed to import marks", cause.getMessage());
+                loadAllMarks();
+                return;
+            }
+            
+            loadAllMarks();
+            showImportResult(result);
+        }, Platform::runLater);
+    }
+    
+    /**
+     * Summarize an import and offer to save the rejected rows
+     */
+    private void showImportResult(MarkImportService.Result result) {
+        String counts = result.getInserted() + " added, " + result.getUpdated() + " updated, "
+            + result.getUnchanged() + " unchanged";
+        int rejected = result.getRejections().size();
+        if (rejected == 0) {
+            AlertUtil.showSuccess("Marks imported successfully: " + counts + ".");
+            return;
+        }
+        
+        boolean save = AlertUtil.showConfirmation("Import Finished", 
+            result.getImported() + " of " + result.getRowsRead() + " rows imported (" + counts + "), "
+                + rejected + " rejected.",
+            "Do you want to save a report of the rejected rows?");
+        if (!save) {
+            return;
+        }
+        
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Save Rejected Rows");
+        fileChooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("CSV Files", "*.csv"));
+        fileChooser.setInitialFileName("rejected_marks_" + LocalDate.now() + ".csv");
+        
+        File report = fileChooser.showSaveDialog(importButton.getScene().getWindow());
+        if (report != null) {
+            try {
+                result.writeRejectedReport(report.toPath());
+            } catch (IOException e) {
+                AlertUtil.showError("Export Error", "Failed to save rejected rows", e.getMessage());
+            }
+        }
+    }
+    
     /**
      * Delete selected mark
      */
@@ -332,7 +451,7 @@ public class MarksController implements Initializable {
         }
         
         try {
-            if (markDAO.deleteMark(selectedMark.getId())) {
+            if (markDAO.deleteMark(selectedMark)) {
                 AlertUtil.showSuccess("Marks deleted successfully.");
                 loadAllMarks();
                 handleClear();
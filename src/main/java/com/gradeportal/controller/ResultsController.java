@@ -1,10 +1,18 @@
 package com.gradeportal.controller;
 
+import com.gradeportal.dao.AsyncDAO;
 import com.gradeportal.dao.MarkDAO;
 import com.gradeportal.dao.StudentDAO;
 import com.gradeportal.model.Mark;
 import com.gradeportal.model.Student;
+import com.gradeportal.service.ExportService;
+import com.gradeportal.service.ReportCardRenderer;
+import com.gradeportal.service.ReportCardService;
 import com.gradeportal.util.AlertUtil;
+import com.gradeportal.util.DataLoader;
+import com.gradeportal.util.Debouncer;
+import com.gradeportal.util.Refreshable;
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
@@ -12,20 +20,31 @@ import javafx.fxml.Initializable;
 import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.stage.FileChooser;
+import javafx.util.Duration;
 
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.net.URL;
 import java.sql.SQLException;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
 import java.util.ResourceBundle;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Controller for the Results and Reports view
  */
-public class ResultsController implements Initializable {
+public class ResultsController implements Initializable, Refreshable {
     
     @FXML
     private ComboBox<Student> studentFilterComboBox;
@@ -39,6 +58,9 @@ public class ResultsController implements Initializable {
     @FXML
     private Button generateReportButton;
     
+    @FXML
+    private Button classReportsButton;
+    
     @FXML
     private TableView<Mark> resultsTable;
     
@@ -63,22 +85,61 @@ public class ResultsController implements Initializable {
     @FXML
     private TextArea reportTextArea;
     
+    private static final Duration SEARCH_DEBOUNCE = Duration.millis(200);
+    private static final int PAGE_SIZE = 200;
+    private static final ExecutorService BACKGROUND_EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+    
     private StudentDAO studentDAO;
     private MarkDAO markDAO;
+    private AsyncDAO asyncDAO;
+    private ExportService exportService;
+    private ReportCardService reportCardService;
+    private ReportCardRenderer reportCardRenderer;
     private ObservableList<Mark> resultsList;
+    private TablePager<Mark> resultsPager;
+    private DataLoader<List<Student>> studentsLoader;
+    private DataLoader<String> reportLoader;
+    private boolean announceReport;
+    
+    // All marks with pre-normalized search keys, loaded the first time a filter is set;
+    // filtering never goes back to the database. Null until loaded.
+    private List<SearchableMark> dataset;
+    private CompletableFuture<List<Mark>> pendingLoad;
+    private final AtomicInteger filterGeneration = new AtomicInteger();
+    private Debouncer searchDebouncer;
     
     @Override
     public void initialize(URL location, ResourceBundle resources) {
         studentDAO = new StudentDAO();
         markDAO = new MarkDAO();
+        asyncDAO = new AsyncDAO();
+        exportService = new ExportService();
+        reportCardService = new ReportCardService();
+        reportCardRenderer = new ReportCardRenderer();
         resultsList = FXCollections.observableArrayList();
+        searchDebouncer = new Debouncer(SEARCH_DEBOUNCE, this::filterResults);
+        reportLoader = new DataLoader<String>("report", () -> null, this::showReport)
+            .onError(error -> {
+                announceReport = false;
+                AlertUtil.showError("Database Error", "Failed to generate report", error.getMessage());
+            });
         
         setupTable();
+        resultsPager = new TablePager<>("results", markDAO::getMarksPage, PAGE_SIZE, resultsTable);
         setupComboBoxes();
         setupEventHandlers();
         loadAllResults();
     }
     
+    /**
+     * Reload students and results when the view is shown again
+     */
+    @Override
+    public void refresh() {
+        studentsLoader.load();
+        loadAllResults();
+    }
+    
     /**
      * Set up the results table
      */
@@ -103,27 +164,41 @@ public class ResultsController implements Initializable {
     }
     
     /**
-     * Set up combo boxes
+     * Set up combo boxes, filled in the background
      */
     private void setupComboBoxes() {
-        try {
-            // Load students with "All Students" option
-            List<Student> students = studentDAO.getAllStudents();
-            ObservableList<Student> studentOptions = FXCollections.observableArrayList();
-            
-            // Add a dummy student for "All Students" option
-            Student allStudents = new Student();
-            allStudents.setId(-1);
-            allStudents.setName("All Students");
-            studentOptions.add(allStudents);
-            studentOptions.addAll(students);
-            
-            studentFilterComboBox.setItems(studentOptions);
-            studentFilterComboBox.setValue(allStudents);
-            
-        } catch (SQLException e) {
-            AlertUtil.showError("Database Error", "Failed to load students", e.getMessage());
+        // Add a dummy student for "All Students" option
+        Student allStudents = new Student();
+        allStudents.setId(-1);
+        allStudents.setName("All Students");
+        studentFilterComboBox.setItems(FXCollections.observableArrayList(allStudents));
+        studentFilterComboBox.setValue(allStudents);
+        
+        studentsLoader = new DataLoader<>("students", studentDAO::getAllStudents,
+            students -> showStudentOptions(allStudents, students));
+        studentsLoader.load();
+    }
+    
+    /**
+     * Fill the student filter, keeping the student selected before a reload
+     */
+    private void showStudentOptions(Student allStudents, List<Student> students) {
+        Student selected = studentFilterComboBox.getValue();
+        ObservableList<Student> studentOptions = FXCollections.observableArrayList();
+        studentOptions.add(allStudents);
+        studentOptions.addAll(students);
+        studentFilterComboBox.setItems(studentOptions);
+        
+        Student keep = allStudents;
+        if (selected != null) {
+            for (Student student : students) {
+                if (student.getId() == selected.getId()) {
+                    keep = student;
+                    break;
+                }
+            }
         }
+        studentFilterComboBox.setValue(keep);
     }
     
     /**
@@ -135,127 +210,170 @@ public class ResultsController implements Initializable {
             filterResults();
         });
         
-        // Search functionality
+        // Search functionality, run once typing pauses
         searchTextField.textProperty().addListener((observable, oldValue, newValue) -> {
-            filterResults();
+            searchDebouncer.trigger();
         });
     }
     
     /**
-     * Load all results from database
+     * Reload results: the visible pages when nothing is filtered, otherwise the whole
+     * dataset the filter runs on
      */
     private void loadAllResults() {
-        try {
-            List<Mark> marks = markDAO.getAllMarks();
-            resultsList.clear();
-            resultsList.addAll(marks);
-        } catch (SQLException e) {
-            AlertUtil.showError("Database Error", "Failed to load results", e.getMessage());
+        if (pendingLoad != null) {
+            pendingLoad.cancel(true);
+            pendingLoad = null;
         }
+        dataset = null;
+        filterResults();
     }
     
     /**
-     * Filter results based on selected student and search term
+     * Load all results from the database in the background for filtering
      */
-    private void filterResults() {
-        try {
-            Student selectedStudent = studentFilterComboBox.getValue();
-            String searchTerm = searchTextField.getText();
-            
-            List<Mark> marks;
-            
-            if (selectedStudent != null && selectedStudent.getId() != -1) {
-                // Filter by specific student
-                marks = markDAO.getMarksByStudentId(selectedStudent.getId());
-            } else {
-                // Show all marks
-                marks = markDAO.getAllMarks();
+    private void loadDataset() {
+        if (pendingLoad != null) {
+            return;
+        }
+        
+        CompletableFuture<List<Mark>> load = asyncDAO.getAllMarks();
+        pendingLoad = load;
+        
+        load.whenCompleteAsync((marks, error) -> {
+            if (load != pendingLoad) {
+                return; // Superseded by a newer load
             }
+            pendingLoad = null;
             
-            // Apply search filter if search term is provided
-            if (searchTerm != null && !searchTerm.trim().isEmpty()) {
-                marks = marks.stream()
-                    .filter(mark -> 
-                        mark.getStudentName().toLowerCase().contains(searchTerm.toLowerCase()) ||
-                        mark.getRollNumber().toLowerCase().contains(searchTerm.toLowerCase()) ||
-                        mark.getSubjectName().toLowerCase().contains(searchTerm.toLowerCase())
-                    )
-                    .collect(java.util.stream.Collectors.toList());
+            if (error != null) {
+                if (!(unwrap(error) instanceof CancellationException)) {
+                    AlertUtil.showError("Database Error", "Failed to load results", unwrap(error).getMessage());
+                }
+                return;
             }
             
-            resultsList.clear();
-            resultsList.addAll(marks);
+            List<SearchableMark> indexed = new ArrayList<>(marks.size());
+            for (Mark mark : marks) {
+                indexed.add(new SearchableMark(mark));
+            }
+            dataset = indexed;
+            if (isFiltered()) {
+                filterResults();
+            }
+        }, Platform::runLater);
+    }
+    
+    /**
+     * Filter the loaded results by selected student and search term. The scan runs off
+     * the FX thread; a newer filter request cancels the one in progress. Without a
+     * filter the table is paged straight from the database instead.
+     */
+    private void filterResults() {
+        int generation = filterGeneration.incrementAndGet();
+        if (!isFiltered()) {
+            resultsPager.reload();
+            return;
+        }
+        
+        resultsPager.stop();
+        if (dataset == null) {
+            loadDataset(); // Filters again once loaded
+            return;
+        }
+        
+        Student selectedStudent = studentFilterComboBox.getValue();
+        int studentId = selectedStudent != null ? selectedStudent.getId() : -1;
+        String searchTerm = normalize(searchTextField.getText());
+        List<SearchableMark> source = dataset;
+        
+        CompletableFuture.supplyAsync(
+            () -> filterMarks(source, studentId, searchTerm, generation), BACKGROUND_EXECUTOR
+        ).whenCompleteAsync((marks, error) -> {
+            if (generation != filterGeneration.get()) {
+                return; // Superseded by a newer filter
+            }
             
-        } catch (SQLException e) {
-            AlertUtil.showError("Database Error", "Failed to filter results", e.getMessage());
+            if (error == null) {
+                resultsList.setAll(marks);
+            }
+        }, Platform::runLater);
+    }
+    
+    /**
+     * Scan the dataset, giving up early once the filter has been superseded
+     */
+    private List<Mark> filterMarks(List<SearchableMark> source, int studentId, String searchTerm, int generation) {
+        List<Mark> matches = new ArrayList<>();
+        boolean allStudents = studentId == -1;
+        boolean anyText = searchTerm.isEmpty();
+        
+        for (int i = 0; i < source.size(); i++) {
+            if ((i & 0x3FFF) == 0 && generation != filterGeneration.get()) {
+                throw new CancellationException();
+            }
+            SearchableMark candidate = source.get(i);
+            if ((allStudents || candidate.mark.getStudentId() == studentId)
+                    && (anyText || candidate.searchKey.contains(searchTerm))) {
+                matches.add(candidate.mark);
+            }
         }
+        
+        return matches;
+    }
+    
+    private static String normalize(String text) {
+        return text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+    }
+    
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
     }
     
     /**
-     * Generate student report
+     * A mark with its student name, roll number and subject lower-cased once up front
+     */
+    private static final class SearchableMark {
+        final Mark mark;
+        final String searchKey;
+        
+        SearchableMark(Mark mark) {
+            this.mark = mark;
+            // Separator cannot be typed, so a match never spans two fields
+            this.searchKey = normalize(mark.getStudentName()) + '\u0001'
+                + normalize(mark.getRollNumber()) + '\u0001'
+                + normalize(mark.getSubjectName());
+        }
+    }
+    
+    /**
+     * Generate a student report in the background. Selecting rows quickly collapses
+     * into one report for the last student selected.
      */
     private void generateStudentReport(int studentId) {
-        try {
+        reportLoader.load(() -> {
             Student student = studentDAO.getStudentById(studentId);
-            List<Mark> marks = markDAO.getMarksByStudentId(studentId);
-            
             if (student == null) {
-                return;
-            }
-            
-            StringBuilder report = new StringBuilder();
-            report.append("═══════════════════════════════════════════════════════════════\n");
-            report.append("                    STUDENT ACADEMIC REPORT                    \n");
-            report.append("═══════════════════════════════════════════════════════════════\n\n");
-            
-            report.append("Student Information:\n");
-            report.append("-------------------\n");
-            report.append(String.format("Name: %s\n", student.getName()));
-            report.append(String.format("Roll Number: %s\n", student.getRollNumber()));
-            report.append(String.format("Class: %s\n", student.getStudentClass()));
-            report.append(String.format("Registration Date: %s\n\n", student.getRegistrationDate()));
-            
-            if (marks.isEmpty()) {
-                report.append("No marks recorded for this student.\n");
-            } else {
-                report.append("Academic Performance:\n");
-                report.append("--------------------\n");
-                report.append(String.format("%-20s | %-8s | %-5s | %-12s\n", 
-                    "Subject", "Marks", "Grade", "Entry Date"));
-                report.append("─────────────────────────────────────────────────────────\n");
-                
-                double totalMarks = 0;
-                int subjectCount = 0;
-                
-                for (Mark mark : marks) {
-                    report.append(String.format("%-20s | %8.1f | %-5s | %-12s\n",
-                        mark.getSubjectName(),
-                        mark.getMarksObtained(),
-                        mark.getGrade(),
-                        mark.getEntryDate()));
-                    
-                    totalMarks += mark.getMarksObtained();
-                    subjectCount++;
-                }
-                
-                report.append("─────────────────────────────────────────────────────────\n");
-                
-                double averageMarks = totalMarks / subjectCount;
-                report.append(String.format("Average Marks: %.2f%%\n", averageMarks));
-                report.append(String.format("Overall Grade: %s\n", 
-                    com.gradeportal.util.GradeCalculator.calculateGrade(averageMarks)));
-                report.append(String.format("Subjects Completed: %d\n", subjectCount));
+                return null;
             }
-            
-            report.append("\n═══════════════════════════════════════════════════════════════\n");
-            report.append("Report generated on: ").append(LocalDate.now()).append("\n");
-            report.append("Grades & Marks Portal System\n");
-            report.append("═══════════════════════════════════════════════════════════════");
-            
-            reportTextArea.setText(report.toString());
-            
-        } catch (SQLException e) {
-            AlertUtil.showError("Database Error", "Failed to generate report", e.getMessage());
+            List<Mark> marks = markDAO.getMarksByStudentId(studentId);
+            return reportCardRenderer.render(student, marks, LocalDate.now());
+        });
+    }
+    
+    /**
+     * Show a generated report, confirming it if it was asked for with the button
+     */
+    private void showReport(String report) {
+        boolean announce = announceReport;
+        announceReport = false;
+        if (report == null) {
+            return;
+        }
+        
+        reportTextArea.setText(report);
+        if (announce) {
+            AlertUtil.showSuccess("Student report generated successfully.");
         }
     }
     
@@ -272,16 +390,70 @@ public class ResultsController implements Initializable {
             return;
         }
         
+        announceReport = true;
         generateStudentReport(selectedStudent.getId());
-        AlertUtil.showSuccess("Student report generated successfully.");
     }
     
     /**
-     * Export results to CSV file
+     * Generate report cards for every student of a class into one zip file
+     */
+    @FXML
+    private void handleGenerateClassReports() {
+        Set<String> classes = new TreeSet<>();
+        for (Student student : studentFilterComboBox.getItems()) {
+            if (student.getId() != -1 && student.getStudentClass() != null) {
+                classes.add(student.getStudentClass());
+            }
+        }
+        if (classes.isEmpty()) {
+            AlertUtil.showWarning("No Data", "No Classes", "There are no students to generate report cards for.");
+            return;
+        }
+        
+        ChoiceDialog<String> classDialog = new ChoiceDialog<>(classes.iterator().next(), classes);
+        classDialog.setTitle("Class Report Cards");
+        classDialog.setHeaderText("Generate report cards for every student in a class");
+        classDialog.setContentText("Class:");
+        Optional<String> studentClass = classDialog.showAndWait();
+        if (studentClass.isEmpty()) {
+            return;
+        }
+        
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Save Report Cards");
+        fileChooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("Zip Files", "*.zip"));
+        fileChooser.setInitialFileName("report_cards_" + studentClass.get().replace(' ', '_') + "_" + LocalDate.now() + ".zip");
+        
+        File file = fileChooser.showSaveDialog(classReportsButton.getScene().getWindow());
+        if (file == null) {
+            return;
+        }
+        
+        classReportsButton.setDisable(true);
+        CompletableFuture.supplyAsync(() -> {
+            try {
+                return reportCardService.generateToZip(studentClass.get(), file.toPath());
+            } catch (SQLException | IOException e) {
+                throw new CompletionException(e);
+            }
+        }, BACKGROUND_EXECUTOR).whenCompleteAsync((count, error) -> {
+            classReportsButton.setDisable(false);
+            if (error != null) {
+                AlertUtil.showError("Report Error", "Failed to generate report cards", unwrap(error).getMessage());
+            } else {
+                AlertUtil.showSuccess(count + " report cards saved to: " + file.getAbsolutePath());
+            }
+        }, Platform::runLater);
+    }
+    
+    /**
+     * Export results to CSV file. Without filters the whole marks table is streamed
+     * from the database; otherwise the filtered rows shown in the table are written.
      */
     @FXML
     private void handleExport() {
-        if (resultsList.isEmpty()) {
+        boolean filtered = isFiltered();
+        if (filtered && resultsList.isEmpty()) {
             AlertUtil.showWarning("No Data", "Nothing to Export", 
                 "There are no results to export. Please ensure data is loaded.");
             return;
@@ -298,33 +470,36 @@ public class ResultsController implements Initializable {
         File file = fileChooser.showSaveDialog(exportButton.getScene().getWindow());
         
         if (file != null) {
-            try {
-                exportToFile(file);
-                AlertUtil.showSuccess("Results exported successfully to: " + file.getAbsolutePath());
-            } catch (IOException e) {
-                AlertUtil.showError("Export Error", "Failed to export results", e.getMessage());
-            }
+            exportToFile(file, filtered);
         }
     }
     
     /**
-     * Export results to file
+     * Export results to file in the background
      */
-    private void exportToFile(File file) throws IOException {
-        try (FileWriter writer = new FileWriter(file)) {
-            // Write header
-            writer.write("Student Name,Roll Number,Subject,Marks,Grade,Entry Date\n");
-            
-            // Write data
-            for (Mark mark : resultsList) {
-                writer.write(String.format("%s,%s,%s,%.1f,%s,%s\n",
-                    mark.getStudentName(),
-                    mark.getRollNumber(),
-                    mark.getSubjectName(),
-                    mark.getMarksObtained(),
-                    mark.getGrade(),
-                    mark.getEntryDate()));
+    private void exportToFile(File file, boolean filtered) {
+        List<Mark> rows = filtered ? new ArrayList<>(resultsList) : null;
+        
+        exportButton.setDisable(true);
+        exportService.runAsync(service -> filtered
+            ? service.exportMarks(file.toPath(), rows)
+            : service.exportAllMarks(file.toPath())
+        ).whenCompleteAsync((count, error) -> {
+            exportButton.setDisable(false);
+            if (error != null) {
+                AlertUtil.showError("Export Error", "Failed to export results", unwrap(error).getMessage());
+            } else {
+                AlertUtil.showSuccess(count + " results exported successfully to: " + file.getAbsolutePath());
             }
-        }
+        }, Platform::runLater);
+    }
+    
+    /**
+     * Check whether a student filter or search term is active
+     */
+    private boolean isFiltered() {
+        Student selectedStudent = studentFilterComboBox.getValue();
+        boolean allStudents = selectedStudent == null || selectedStudent.getId() == -1;
+        return !allStudents || !normalize(searchTextField.getText()).isEmpty();
     }
-}
\ No newline at end of file
+}
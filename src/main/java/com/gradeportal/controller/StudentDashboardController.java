@@ -6,14 +6,16 @@ import com.gradeportal.dao.SubjectDAO;
 import com.gradeportal.model.Mark;
 import com.gradeportal.model.Student;
 import com.gradeportal.model.Subject;
+import com.gradeportal.service.AuthService;
+import com.gradeportal.service.ExportService;
 import com.gradeportal.util.AlertUtil;
+import com.gradeportal.util.DataLoader;
+import com.gradeportal.util.SceneRegistry;
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
 import javafx.fxml.Initializable;
-import javafx.scene.Parent;
-import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.layout.VBox;
@@ -21,13 +23,12 @@ import javafx.stage.FileChooser;
 import javafx.stage.Stage;
 
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.net.URL;
-import java.sql.SQLException;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.ResourceBundle;
+import java.util.concurrent.CompletionException;
 
 /**
  * Controller for the Student Dashboard view
@@ -88,23 +89,28 @@ public class StudentDashboardController implements Initializable {
     private final StudentDAO studentDAO = new StudentDAO();
     private final SubjectDAO subjectDAO = new SubjectDAO();
     private final MarkDAO markDAO = new MarkDAO();
+    private final ExportService exportService = new ExportService();
 
     private ObservableList<Subject> coursesList = FXCollections.observableArrayList();
     private ObservableList<Mark> gradesList = FXCollections.observableArrayList();
 
+    private DataLoader<Student> studentLoader;
+    private DataLoader<List<Subject>> coursesLoader;
+    private DataLoader<List<Mark>> gradesLoader;
+
     private String studentUsername;
     private Student currentStudent;
 
     @Override
     public void initialize(URL location, ResourceBundle resources) {
         setupTables();
+        setupLoaders();
         showProfile(); // Default view
     }
 
     public void setStudentUsername(String username) {
         this.studentUsername = username;
         loadStudentData();
-        updateWelcome();
     }
 
     private void setupTables() {
@@ -122,18 +128,43 @@ public class StudentDashboardController implements Initializable {
         gradesTable.setItems(gradesList);
     }
 
+    /**
+     * The profile is loaded first; courses and grades load in parallel once the
+     * student is known. The student is taken from the login session rather than
+     * looked up through the users table.
+     */
+    private void setupLoaders() {
+        studentLoader = new DataLoader<>("student data",
+            () -> {
+                AuthService.Session session = AuthService.getSession(studentUsername);
+                return session != null ? studentDAO.getStudentById(session.getStudentId()) : null;
+            },
+            student -> {
+                currentStudent = student;
+                if (currentStudent != null) {
+                    updateProfileDisplay();
+                    updateWelcome();
+                    loadStudentCourses();
+                    loadStudentGrades();
+                } else if (AuthService.getSession(studentUsername) == null) {
+                    AlertUtil.showError("Session Expired", "Your session has expired", "Please log in again.");
+                    handleLogout();
+                }
+            });
+
+        // For now, load all subjects. In a real app, you'd have enrollment logic
+        coursesLoader = new DataLoader<List<Subject>>("courses", subjectDAO::getAllSubjects,
+                subjects -> coursesList.setAll(subjects))
+            .withPlaceholder(coursesTable.placeholderProperty());
+
+        // Always started with the current student's query, see loadStudentGrades()
+        gradesLoader = new DataLoader<List<Mark>>("grades", () -> List.of(),
+                marks -> gradesList.setAll(marks))
+            .withPlaceholder(gradesTable.placeholderProperty());
+    }
+
     private void loadStudentData() {
-        try {
-            // Load student profile
-            currentStudent = studentDAO.getStudentByUsername(studentUsername);
-            if (currentStudent != null) {
-                updateProfileDisplay();
-                loadStudentCourses();
-                loadStudentGrades();
-            }
-        } catch (SQLException e) {
-            AlertUtil.showError("Database Error", "Failed to load student data", e.getMessage());
-        }
+        studentLoader.load();
     }
 
     private void updateProfileDisplay() {
@@ -146,23 +177,13 @@ public class StudentDashboardController implements Initializable {
     }
 
     private void loadStudentCourses() {
-        try {
-            // For now, load all subjects. In a real app, you'd have enrollment logic
-            List<Subject> subjects = subjectDAO.getAllSubjects();
-            coursesList.setAll(subjects);
-        } catch (SQLException e) {
-            AlertUtil.showError("Database Error", "Failed to load courses", e.getMessage());
-        }
+        coursesLoader.load();
     }
 
     private void loadStudentGrades() {
-        try {
-            if (currentStudent != null) {
-                List<Mark> marks = markDAO.getMarksByStudentId(currentStudent.getId());
-                gradesList.setAll(marks);
-            }
-        } catch (SQLException e) {
-            AlertUtil.showError("Database Error", "Failed to load grades", e.getMessage());
+        if (currentStudent != null) {
+            int studentId = currentStudent.getId();
+            gradesLoader.load(() -> markDAO.getMarksByStudentId(studentId));
         }
     }
 
@@ -214,48 +235,26 @@ public class StudentDashboardController implements Initializable {
     }
 
     private void exportToCSV(File file) {
-        try (FileWriter writer = new FileWriter(file)) {
-            // Write header
-            writer.write("Student Grade Report\n");
-            writer.write("Name: " + currentStudent.getName() + "\n");
-            writer.write("Roll Number: " + currentStudent.getRollNumber() + "\n");
-            writer.write("Class: " + currentStudent.getStudentClass() + "\n");
-            writer.write("Report Date: " + LocalDate.now() + "\n\n");
-            
-            writer.write("Subject,Marks,Grade,Date\n");
-            
-            // Write grades
-            for (Mark mark : gradesList) {
-                writer.write(String.format("%s,%.1f,%s,%s\n",
-                    mark.getSubjectName(),
-                    mark.getMarksObtained(),
-                    mark.getGrade(),
-                    mark.getEntryDate()
-                ));
-            }
-            
-            AlertUtil.showInfo("Success", "Report Exported", "Grade report has been exported to " + file.getName());
-            
-        } catch (IOException e) {
-            AlertUtil.showError("Export Error", "Failed to export report", e.getMessage());
-        }
+        exportService.runAsync(service -> service.exportStudentReport(file.toPath(), currentStudent))
+            .whenCompleteAsync((count, error) -> {
+                if (error != null) {
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause() : error;
+                    AlertUtil.showError("Export Error", "Failed to export report", cause.getMessage());
+                } else {
+                    AlertUtil.showInfo("Success", "Report Exported", "Grade report has been exported to " + file.getName());
+                }
+            }, Platform::runLater);
     }
 
     @FXML
     private void handleLogout() {
         try {
-            // Switch back to login screen
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/com/gradeportal/view/Login.fxml"));
-            Parent root = loader.load();
-
-            Scene scene = new Scene(root);
-            scene.getStylesheets().add(getClass().getResource("/css/application.css").toExternalForm());
-
+            // Cached views belong to this session; switch back to a fresh login screen
+            AuthService.logout(studentUsername);
+            SceneRegistry.clear();
             Stage stage = (Stage) welcomeLabel.getScene().getWindow();
-            stage.setScene(scene);
-            stage.setTitle("Login - Grades & Marks Portal System");
-            stage.show();
-
+            SceneRegistry.show(stage, SceneRegistry.LOGIN, "Login");
         } catch (IOException e) {
             AlertUtil.showError("Navigation Error", "Failed to return to login", e.getMessage());
         }
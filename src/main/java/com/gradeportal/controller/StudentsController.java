@@ -3,15 +3,15 @@ package com.gradeportal.controller;
 import com.gradeportal.dao.StudentDAO;
 import com.gradeportal.model.Student;
 import com.gradeportal.util.AlertUtil;
+import com.gradeportal.util.DataLoader;
+import com.gradeportal.util.Refreshable;
+import com.gradeportal.util.SceneRegistry;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
 import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
-import javafx.fxml.FXMLLoader;
-import javafx.scene.Parent;
-import javafx.scene.Scene;
 import javafx.stage.Stage;
 import java.io.IOException;
 
@@ -24,7 +24,7 @@ import java.util.ResourceBundle;
 /**
  * Controller for the Students management view
  */
-public class StudentsController implements Initializable {
+public class StudentsController implements Initializable, Refreshable {
     
     @FXML
     private TextField nameTextField;
@@ -68,16 +68,24 @@ public class StudentsController implements Initializable {
     @FXML
     private TableColumn<Student, LocalDate> registrationDateColumn;
     
+    private static final int PAGE_SIZE = 100;
+    
     private StudentDAO studentDAO;
     private ObservableList<Student> studentsList;
+    private TablePager<Student> studentsPager;
+    private DataLoader<List<Student>> searchLoader;
     private Student selectedStudent;
     
     @Override
     public void initialize(URL location, ResourceBundle resources) {
         studentDAO = new StudentDAO();
         studentsList = FXCollections.observableArrayList();
+        searchLoader = new DataLoader<List<Student>>("students", List::of,
+                students -> studentsList.setAll(students))
+            .withPlaceholder(studentsTable.placeholderProperty());
         
         setupTable();
+        studentsPager = new TablePager<>("students", studentDAO::getStudentsPage, PAGE_SIZE, studentsTable);
         setupComboBoxes();
         setupEventHandlers();
         loadAllStudents();
@@ -90,6 +98,19 @@ public class StudentsController implements Initializable {
         deleteButton.setDisable(true);
     }
     
+    /**
+     * Reload the students when the view is shown again, keeping an active search
+     */
+    @Override
+    public void refresh() {
+        String searchTerm = searchTextField.getText();
+        if (searchTerm == null || searchTerm.trim().isEmpty()) {
+            loadAllStudents();
+        } else {
+            searchStudents(searchTerm.trim());
+        }
+    }
+    
     /**
      * Set up the students table
      */
@@ -137,29 +158,21 @@ public class StudentsController implements Initializable {
     }
     
     /**
-     * Load all students from database
+     * Load students from the database in the background, a page at a time as the
+     * table is scrolled
      */
     private void loadAllStudents() {
-        try {
-            List<Student> students = studentDAO.getAllStudents();
-            studentsList.clear();
-            studentsList.addAll(students);
-        } catch (SQLException e) {
-            AlertUtil.showError("Database Error", "Failed to load students", e.getMessage());
-        }
+        searchLoader.stop();
+        studentsPager.reload();
     }
     
     /**
-     * Search students by name or roll number
+     * Search students by name or roll number in the background. Searches typed while
+     * one is running collapse into a single search for the latest term.
      */
     private void searchStudents(String searchTerm) {
-        try {
-            List<Student> students = studentDAO.searchStudents(searchTerm);
-            studentsList.clear();
-            studentsList.addAll(students);
-        } catch (SQLException e) {
-            AlertUtil.showError("Database Error", "Failed to search students", e.getMessage());
-        }
+        studentsPager.stop();
+        searchLoader.load(() -> studentDAO.searchStudents(searchTerm));
     }
     
     /**
@@ -332,16 +345,8 @@ public class StudentsController implements Initializable {
     @FXML
     private void handleBackToDashboard() {
         try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/AdminDashboard.fxml"));
-            Parent root = loader.load();
-            
-            Scene scene = new Scene(root);
-            scene.getStylesheets().add(getClass().getResource("/css/application.css").toExternalForm());
-            
             Stage stage = (Stage) nameTextField.getScene().getWindow();
-            stage.setScene(scene);
-            stage.setTitle("Admin Dashboard - Grades & Marks Portal System");
-            stage.show();
+            SceneRegistry.show(stage, SceneRegistry.ADMIN_DASHBOARD, "Admin Dashboard");
         } catch (IOException e) {
             AlertUtil.showError("Navigation Error", "Failed to return to dashboard", e.getMessage());
         }
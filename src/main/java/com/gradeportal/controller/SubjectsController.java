@@ -3,15 +3,15 @@ package com.gradeportal.controller;
 import com.gradeportal.dao.SubjectDAO;
 import com.gradeportal.model.Subject;
 import com.gradeportal.util.AlertUtil;
+import com.gradeportal.util.DataLoader;
+import com.gradeportal.util.Refreshable;
+import com.gradeportal.util.SceneRegistry;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
 import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
-import javafx.fxml.FXMLLoader;
-import javafx.scene.Parent;
-import javafx.scene.Scene;
 import javafx.stage.Stage;
 import java.io.IOException;
 
@@ -23,7 +23,7 @@ import java.util.ResourceBundle;
 /**
  * Controller for the Subjects management view
  */
-public class SubjectsController implements Initializable {
+public class SubjectsController implements Initializable, Refreshable {
     
     @FXML
     private TextField subjectNameTextField;
@@ -54,12 +54,16 @@ public class SubjectsController implements Initializable {
     
     private SubjectDAO subjectDAO;
     private ObservableList<Subject> subjectsList;
+    private DataLoader<List<Subject>> subjectsLoader;
     private Subject selectedSubject;
     
     @Override
     public void initialize(URL location, ResourceBundle resources) {
         subjectDAO = new SubjectDAO();
         subjectsList = FXCollections.observableArrayList();
+        subjectsLoader = new DataLoader<List<Subject>>("subjects", subjectDAO::getAllSubjects,
+                subjects -> subjectsList.setAll(subjects))
+            .withPlaceholder(subjectsTable.placeholderProperty());
         
         setupTable();
         loadAllSubjects();
@@ -72,6 +76,14 @@ public class SubjectsController implements Initializable {
         deleteButton.setDisable(true);
     }
     
+    /**
+     * Reload the subjects when the view is shown again
+     */
+    @Override
+    public void refresh() {
+        loadAllSubjects();
+    }
+    
     /**
      * Set up the subjects table
      */
@@ -92,16 +104,10 @@ public class SubjectsController implements Initializable {
     }
     
     /**
-     * Load all subjects from database
+     * Load all subjects from database in the background
      */
     private void loadAllSubjects() {
-        try {
-            List<Subject> subjects = subjectDAO.getAllSubjects();
-            subjectsList.clear();
-            subjectsList.addAll(subjects);
-        } catch (SQLException e) {
-            AlertUtil.showError("Database Error", "Failed to load subjects", e.getMessage());
-        }
+        subjectsLoader.load();
     }
     
     /**
@@ -278,16 +284,8 @@ public class SubjectsController implements Initializable {
     @FXML
     private void handleBackToDashboard() {
         try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/AdminDashboard.fxml"));
-            Parent root = loader.load();
-            
-            Scene scene = new Scene(root);
-            scene.getStylesheets().add(getClass().getResource("/css/application.css").toExternalForm());
-            
             Stage stage = (Stage) subjectNameTextField.getScene().getWindow();
-            stage.setScene(scene);
-            stage.setTitle("Admin Dashboard - Grades & Marks Portal System");
-            stage.show();
+            SceneRegistry.show(stage, SceneRegistry.ADMIN_DASHBOARD, "Admin Dashboard");
         } catch (IOException e) {
             AlertUtil.showError("Navigation Error", "Failed to return to dashboard", e.getMessage());
         }
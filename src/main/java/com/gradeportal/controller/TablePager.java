@@ -0,0 +1,117 @@
+package com.gradeportal.controller;
+
+import com.gradeportal.dao.Page;
+import com.gradeportal.util.AlertUtil;
+import com.gradeportal.util.DataLoader;
+import javafx.application.Platform;
+import javafx.collections.ObservableList;
+import javafx.scene.control.TableRow;
+import javafx.scene.control.TableView;
+
+import java.sql.SQLException;
+
+/**
+ * Fills a table one keyset page at a time, off the JavaFX thread.
+ *
+ * The first page is loaded by reload() and each following page once the last loaded
+ * row is laid out, i.e. scrolled into view, so the table never fetches rows nobody
+ * looks at. While stopped, e.g. while the table shows search results, the pager
+ * leaves the table's items alone.
+ *
+ * @param <T> Row type
+ */
+final class TablePager<T> {
+
+    /**
+     * Query for one page, run on a loader thread
+     */
+    interface PageQuery<T> {
+        Page<T> fetch(String cursor, int pageSize) throws SQLException;
+    }
+
+    private final PageQuery<T> query;
+    private final int pageSize;
+    private final ObservableList<T> items;
+    private final DataLoader<Page<T>> loader;
+    private String nextCursor;
+    private boolean active = false;
+    private boolean appending = false;
+    private boolean loading = false;
+
+    /**
+     * @param description What is loaded, e.g. "students", used in messages
+     * @param query Page query
+     * @param pageSize Rows per page
+     * @param table Table to fill; its items list receives the rows
+     */
+    TablePager(String description, PageQuery<T> query, int pageSize, TableView<T> table) {
+        this.query = query;
+        this.pageSize = pageSize;
+        this.items = table.getItems();
+        this.loader = new DataLoader<Page<T>>(description, () -> query.fetch(null, pageSize), this::show)
+            .withPlaceholder(table.placeholderProperty())
+            .onError(error -> {
+                loading = false;
+                AlertUtil.showError("Database Error", "Failed to load " + description, error.getMessage());
+            });
+
+        table.setRowFactory(view -> new TableRow<>() {
+            @Override
+            protected void updateItem(T item, boolean empty) {
+                super.updateItem(item, empty);
+                if (!empty && getIndex() == items.size() - 1) {
+                    // Not from inside the layout pass that placed this row
+                    Platform.runLater(TablePager.this::loadMore);
+                }
+            }
+        });
+    }
+
+    /**
+     * Replace the table's rows with the first page
+     */
+    void reload() {
+        active = true;
+        appending = false;
+        loading = true;
+        loader.load();
+    }
+
+    /**
+     * Append the next page, unless one is already loading or this was the last page
+     */
+    void loadMore() {
+        if (!active || loading || nextCursor == null) {
+            return;
+        }
+
+        String cursor = nextCursor;
+        appending = true;
+        loading = true;
+        loader.load(() -> query.fetch(cursor, pageSize));
+    }
+
+    /**
+     * Stop paging and drop any page in flight, so other rows can be shown
+     */
+    void stop() {
+        active = false;
+        loading = false;
+        nextCursor = null;
+        loader.stop();
+    }
+
+    private void show(Page<T> page) {
+        loading = false;
+        if (!active) {
+            return;
+        }
+
+        if (appending) {
+            items.addAll(page.getItems());
+        } else {
+            items.setAll(page.getItems());
+        }
+        nextCursor = page.getNextCursor();
+    }
+}
@@ -0,0 +1,144 @@
+package com.gradeportal.dao;
+
+import com.gradeportal.model.Mark;
+import com.gradeportal.model.Student;
+import com.gradeportal.model.Subject;
+import com.gradeportal.util.DatabaseManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Asynchronous facade over StudentDAO, SubjectDAO and MarkDAO.
+ *
+ * Every call runs on its own virtual thread and returns a CompletableFuture. At most
+ * as many calls as the connection pool has connections run at once; the rest wait for
+ * a permit without holding a connection. Cancelling a returned future interrupts the
+ * call if it is still waiting or running.
+ *
+ * Results complete on the virtual thread, so UI code should hop back to the JavaFX
+ * thread, e.g. {@code future.thenAcceptAsync(result -> ..., Platform::runLater)}.
+ */
+public class AsyncDAO {
+
+    private static final ExecutorService EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+    private static final Semaphore PERMITS = new Semaphore(DatabaseManager.getPoolMaxSize(), true);
+
+    private final StudentDAO studentDAO = new StudentDAO();
+    private final SubjectDAO subjectDAO = new SubjectDAO();
+    private final MarkDAO markDAO = new MarkDAO();
+
+    /**
+     * Run any DAO call asynchronously
+     * @param call Call to run
+     * @return Future completed with the call's result or exception
+     */
+    public <T> CompletableFuture<T> submit(SqlCall<T> call) {
+        AtomicReference<Future<?>> task = new AtomicReference<>();
+
+        CompletableFuture<T> future = new CompletableFuture<>() {
+            @Override
+            public boolean cancel(boolean mayInterruptIfRunning) {
+                boolean cancelled = super.cancel(mayInterruptIfRunning);
+                Future<?> running = task.get();
+                if (cancelled && running != null) {
+                    running.cancel(true);
+                }
+                return cancelled;
+            }
+        };
+
+        task.set(EXECUTOR.submit(() -> {
+            try {
+                PERMITS.acquire();
+            } catch (InterruptedException e) {
+                future.cancel(false);
+                return;
+            }
+            try {
+                if (!future.isDone()) {
+                    future.complete(call.call());
+                }
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            } finally {
+                PERMITS.release();
+            }
+        }));
+
+        // Cancelled before the task reference was published
+        if (future.isCancelled()) {
+            task.get().cancel(true);
+        }
+
+        return future;
+    }
+
+    // Student queries
+
+    public CompletableFuture<List<Student>> getAllStudents() {
+        return submit(studentDAO::getAllStudents);
+    }
+
+    public CompletableFuture<Student> getStudentById(int studentId) {
+        return submit(() -> studentDAO.getStudentById(studentId));
+    }
+
+    public CompletableFuture<Student> getStudentByUsername(String username) {
+        return submit(() -> studentDAO.getStudentByUsername(username));
+    }
+
+    public CompletableFuture<List<Student>> searchStudents(String searchTerm) {
+        return submit(() -> studentDAO.searchStudents(searchTerm));
+    }
+
+    public CompletableFuture<Page<Student>> getStudentsPage(String cursor, int pageSize) {
+        return submit(() -> studentDAO.getStudentsPage(cursor, pageSize));
+    }
+
+    public CompletableFuture<Integer> getTotalStudentCount() {
+        return submit(studentDAO::getTotalStudentCount);
+    }
+
+    // Subject queries
+
+    public CompletableFuture<List<Subject>> getAllSubjects() {
+        return submit(subjectDAO::getAllSubjects);
+    }
+
+    public CompletableFuture<Integer> getTotalSubjectCount() {
+        return submit(subjectDAO::getTotalSubjectCount);
+    }
+
+    // Mark queries
+
+    public CompletableFuture<List<Mark>> getAllMarks() {
+        return submit(markDAO::getAllMarks);
+    }
+
+    public CompletableFuture<List<Mark>> getMarksByStudentId(int studentId) {
+        return submit(() -> markDAO.getMarksByStudentId(studentId));
+    }
+
+    public CompletableFuture<List<Mark>> getMarksBySubjectId(int subjectId) {
+        return submit(() -> markDAO.getMarksBySubjectId(subjectId));
+    }
+
+    public CompletableFuture<Page<Mark>> getMarksPage(String cursor, int pageSize) {
+        return submit(() -> markDAO.getMarksPage(cursor, pageSize));
+    }
+
+    public CompletableFuture<Map<String, Integer>> getGradeDistribution() {
+        return submit(markDAO::getGradeDistribution);
+    }
+
+    public CompletableFuture<List<Map<String, Object>>> getTopPerformers(int limit) {
+        return submit(() -> markDAO.getTopPerformers(limit));
+    }
+}
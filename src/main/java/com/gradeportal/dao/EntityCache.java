@@ -0,0 +1,167 @@
+package com.gradeportal.dao;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * Size-bounded read-through cache for one entity type, indexed by ID and by a
+ * unique natural key (roll number, subject name).
+ *
+ * Besides single entities it can hold the full "select all" list, which is only
+ * kept while the table fits within the size bound. Any write invalidates the
+ * affected entity and the full list. Callers always receive copies, so editing a
+ * returned object never changes what is cached.
+ *
+ * @param <T> Entity type
+ */
+class EntityCache<T> {
+
+    private final int maxSize;
+    private final Function<T, Integer> idOf;
+    private final Function<T, String> keyOf;
+    private final UnaryOperator<T> copier;
+
+    // Guarded by this
+    private final LinkedHashMap<Integer, T> byId = new LinkedHashMap<>(64, 0.75f, true);
+    private final Map<String, Integer> idByKey = new HashMap<>();
+    private List<T> all = null;
+    private long generation = 0;
+
+    EntityCache(int maxSize, Function<T, Integer> idOf, Function<T, String> keyOf, UnaryOperator<T> copier) {
+        this.maxSize = maxSize;
+        this.idOf = idOf;
+        this.keyOf = keyOf;
+        this.copier = copier;
+    }
+
+    /**
+     * Get an entity by ID, loading it on a miss
+     */
+    T getById(int id, SqlCall<T> loader) throws SQLException {
+        long seen;
+        synchronized (this) {
+            T cached = byId.get(id);
+            if (cached != null) {
+                return copier.apply(cached);
+            }
+            seen = generation;
+        }
+        return store(loader.call(), seen);
+    }
+
+    /**
+     * Get an entity by its natural key, loading it on a miss
+     */
+    T getByKey(String key, SqlCall<T> loader) throws SQLException {
+        long seen;
+        synchronized (this) {
+            Integer id = idByKey.get(key);
+            T cached = id != null ? byId.get(id) : null;
+            if (cached != null) {
+                return copier.apply(cached);
+            }
+            seen = generation;
+        }
+        return store(loader.call(), seen);
+    }
+
+    /**
+     * Get every entity in loader order, loading the full list on a miss
+     */
+    List<T> getAll(SqlCall<List<T>> loader) throws SQLException {
+        long seen;
+        synchronized (this) {
+            if (all != null) {
+                return copyList(all);
+            }
+            seen = generation;
+        }
+
+        List<T> loaded = loader.call();
+
+        synchronized (this) {
+            // Only cache if nothing was written meanwhile and the table fits the bound
+            if (generation == seen && loaded.size() <= maxSize) {
+                List<T> stored = new ArrayList<>(loaded.size());
+                for (T entity : loaded) {
+                    T copy = copier.apply(entity);
+                    stored.add(copy);
+                    index(copy);
+                }
+                all = Collections.unmodifiableList(stored);
+                evict();
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Drop one entity and the full list after it was written
+     */
+    synchronized void invalidate(int id) {
+        T removed = byId.remove(id);
+        if (removed != null) {
+            idByKey.remove(keyOf.apply(removed));
+        }
+        all = null;
+        generation++;
+    }
+
+    /**
+     * Drop the full list after an insert
+     */
+    synchronized void invalidateAll() {
+        all = null;
+        generation++;
+    }
+
+    private T store(T loaded, long seen) {
+        if (loaded == null) {
+            return null;
+        }
+        synchronized (this) {
+            if (generation == seen) {
+                index(copier.apply(loaded));
+                evict();
+            }
+        }
+        return loaded;
+    }
+
+    private void index(T entity) {
+        T previous = byId.put(idOf.apply(entity), entity);
+        if (previous != null) {
+            idByKey.remove(keyOf.apply(previous));
+        }
+        String key = keyOf.apply(entity);
+        if (key != null) {
+            idByKey.put(key, idOf.apply(entity));
+        }
+    }
+
+    private void evict() {
+        Iterator<T> it = byId.values().iterator();
+        while (byId.size() > maxSize && it.hasNext()) {
+            T eldest = it.next();
+            it.remove();
+            idByKey.remove(keyOf.apply(eldest));
+            all = null;
+        }
+    }
+
+    private List<T> copyList(List<T> entities) {
+        List<T> copies = new ArrayList<>(entities.size());
+        for (T entity : entities) {
+            copies.add(copier.apply(entity));
+        }
+        return copies;
+    }
+}
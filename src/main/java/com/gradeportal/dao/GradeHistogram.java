@@ -0,0 +1,168 @@
+package com.gradeportal.dao;
+
+import com.gradeportal.model.Mark;
+import com.gradeportal.util.BackgroundTasks;
+
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory count of marks per grade.
+ *
+ * Loaded from the database on first use, then kept current from MarkDAO change
+ * events, so reading the distribution does not touch the database. A background
+ * task periodically reconciles the counts with the marks table to pick up changes
+ * made outside this application.
+ *
+ * A load or reconcile runs its query without holding the lock and only installs the
+ * result if no change event was applied and no MarkDAO write started meanwhile, so a
+ * write that commits during the query is never counted twice.
+ */
+public class GradeHistogram implements MarkChangeListener {
+
+    private static final long RECONCILE_INTERVAL_MINUTES = 5;
+
+    /** Queries on first use before the result is returned without being kept */
+    private static final int LOAD_ATTEMPTS = 3;
+
+    private static final GradeHistogram INSTANCE = new GradeHistogram();
+
+    private final SqlCall<Map<String, Integer>> distributionQuery;
+
+    // Replaced wholesale on load/reconcile; mutated in place only under the instance lock
+    private volatile TreeMap<String, Integer> counts = null;
+    private long mutations = 0;
+    private boolean reconcileScheduled = false;
+
+    private GradeHistogram() {
+        this(new MarkDAO()::loadGradeDistribution);
+        MarkDAO.addChangeListener(this);
+    }
+
+    /**
+     * Create a histogram that is not registered for MarkDAO change events
+     * @param distributionQuery Counts the marks per grade
+     */
+    GradeHistogram(SqlCall<Map<String, Integer>> distributionQuery) {
+        this.distributionQuery = distributionQuery;
+    }
+
+    public static GradeHistogram getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Get the current grade distribution, loading it from the database on first use
+     * @return Unmodifiable map of grade to count, ordered by grade
+     * @throws SQLException if the initial load fails
+     */
+    public Map<String, Integer> getDistribution() throws SQLException {
+        TreeMap<String, Integer> current = counts;
+        if (current == null) {
+            current = load();
+        }
+        synchronized (this) {
+            return Collections.unmodifiableMap(new TreeMap<>(current));
+        }
+    }
+
+    /**
+     * Re-read the distribution from the database. The result is discarded if a local
+     * change was made while the query was running; the next run will catch up.
+     */
+    public void reconcile() {
+        long seen;
+        synchronized (this) {
+            if (counts == null) {
+                return;
+            }
+            seen = mutations;
+        }
+        long stamp = MarkDAO.writeStamp();
+        if (stamp < 0) {
+            return;
+        }
+
+        try {
+            TreeMap<String, Integer> fresh = new TreeMap<>(distributionQuery.call());
+            synchronized (this) {
+                if (counts != null && mutations == seen && MarkDAO.noWritesSince(stamp)) {
+                    counts = fresh;
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("⚠️ Grade distribution reconciliation failed: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public synchronized void markChanged(Mark before, Mark after) {
+        if (counts == null) {
+            return;
+        }
+
+        String oldGrade = before != null ? before.getGrade() : null;
+        String newGrade = after != null ? after.getGrade() : null;
+        if (Objects.equals(oldGrade, newGrade)) {
+            return;
+        }
+
+        if (oldGrade != null) {
+            counts.computeIfPresent(oldGrade, (grade, count) -> count > 1 ? count - 1 : null);
+        }
+        if (newGrade != null) {
+            counts.merge(newGrade, 1, Integer::sum);
+        }
+        mutations++;
+    }
+
+    @Override
+    public synchronized void marksInvalidated() {
+        counts = null;
+        mutations++;
+    }
+
+    private TreeMap<String, Integer> load() throws SQLException {
+        TreeMap<String, Integer> fresh = null;
+
+        for (int attempt = 0; attempt < LOAD_ATTEMPTS; attempt++) {
+            long seen;
+            synchronized (this) {
+                if (counts != null) {
+                    return counts;
+                }
+                seen = mutations;
+            }
+            long stamp = MarkDAO.writeStamp();
+
+            fresh = new TreeMap<>(distributionQuery.call());
+
+            synchronized (this) {
+                if (counts != null) {
+                    return counts;
+                }
+                if (mutations == seen && MarkDAO.noWritesSince(stamp)) {
+                    counts = fresh;
+                    mutations++;
+                    scheduleReconcile();
+                    return counts;
+                }
+            }
+        }
+
+        // Writes kept overlapping the query; answer from the last one without keeping it
+        return fresh;
+    }
+
+    private void scheduleReconcile() {
+        if (!reconcileScheduled) {
+            reconcileScheduled = true;
+            BackgroundTasks.scheduleWithFixedDelay("grade histogram reconciliation", this::reconcile,
+                    RECONCILE_INTERVAL_MINUTES, TimeUnit.MINUTES);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.gradeportal.dao;
+
+import com.gradeportal.util.DatabaseManager;
+import com.gradeportal.util.GradeCalculator;
+import com.gradeportal.util.GradeScale;
+import com.gradeportal.util.GradeScaleSet;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Data Access Object for grade scales and their subject/class assignments
+ */
+public class GradeScaleDAO {
+    
+    /**
+     * Load and compile every grade scale with its assignments
+     * @return Compiled scales; the built-in scale is the default if none is marked as default
+     * @throws SQLException if database error occurs
+     */
+    public GradeScaleSet loadGradeScales() throws SQLException {
+        String bandsSql = "SELECT s.id, s.name, s.is_default, b.grade, b.min_percent, b.grade_point, " +
+                         "b.description, b.is_passing " +
+                         "FROM grade_scales s " +
+                         "JOIN grade_scale_bands b ON b.scale_id = s.id " +
+                         "ORDER BY s.id";
+        String subjectsSql = "SELECT subject_id, scale_id FROM subject_grade_scales";
+        String classesSql = "SELECT class, scale_id FROM class_grade_scales";
+        
+        Map<Integer, List<GradeScale.Band>> bandsByScale = new LinkedHashMap<>();
+        Map<Integer, String> names = new HashMap<>();
+        Integer defaultScaleId = null;
+        Map<Integer, Integer> subjectAssignments = new HashMap<>();
+        Map<String, Integer> classAssignments = new HashMap<>();
+        
+        try (Connection conn = DatabaseManager.getConnection()) {
+            try (PreparedStatement pstmt = conn.prepareStatement(bandsSql);
+                 ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    int scaleId = rs.getInt("id");
+                    names.put(scaleId, rs.getString("name"));
+                    if (rs.getBoolean("is_default")) {
+                        defaultScaleId = scaleId;
+                    }
+                    bandsByScale.computeIfAbsent(scaleId, id -> new ArrayList<>()).add(new GradeScale.Band(
+                        rs.getString("grade").trim(),
+                        rs.getDouble("min_percent"),
+                        rs.getDouble("grade_point"),
+                        rs.getString("description"),
+                        rs.getBoolean("is_passing")));
+                }
+            }
+            
+            try (PreparedStatement pstmt = conn.prepareStatement(subjectsSql);
+                 ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    subjectAssignments.put(rs.getInt("subject_id"), rs.getInt("scale_id"));
+                }
+            }
+            
+            try (PreparedStatement pstmt = conn.prepareStatement(classesSql);
+                 ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    classAssignments.put(rs.getString("class"), rs.getInt("scale_id"));
+                }
+            }
+        }
+        
+        // Compile each scale once; assignments share the compiled instance
+        Map<Integer, GradeScale> scales = new HashMap<>();
+        for (Map.Entry<Integer, List<GradeScale.Band>> entry : bandsByScale.entrySet()) {
+            try {
+                scales.put(entry.getKey(), GradeScale.of(entry.getValue()));
+            } catch (IllegalArgumentException e) {
+                System.err.println("⚠️ Skipping grade scale '" + names.get(entry.getKey()) + "': " + e.getMessage());
+            }
+        }
+        
+        GradeScale defaultScale = defaultScaleId != null ? scales.get(defaultScaleId) : null;
+        if (defaultScale == null) {
+            defaultScale = GradeCalculator.getBuiltInScale();
+        }
+        
+        Map<Integer, GradeScale> bySubject = new HashMap<>();
+        subjectAssignments.forEach((subjectId, scaleId) -> {
+            GradeScale scale = scales.get(scaleId);
+            if (scale != null) {
+                bySubject.put(subjectId, scale);
+            }
+        });
+        
+        Map<String, GradeScale> byClass = new HashMap<>();
+        classAssignments.forEach((studentClass, scaleId) -> {
+            GradeScale scale = scales.get(scaleId);
+            if (scale != null) {
+                byClass.put(studentClass, scale);
+            }
+        });
+        
+        return new GradeScaleSet(defaultScale, bySubject, byClass);
+    }
+}
@@ -0,0 +1,72 @@
+package com.gradeportal.dao;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Base64;
+
+/**
+ * Encodes the sort key of the last row on a page into an opaque cursor string.
+ * A cursor is a sequence of string sort keys followed by the row ID as tie-breaker.
+ */
+class KeysetCursor {
+
+    private final String[] keys;
+    private final int id;
+
+    KeysetCursor(int id, String... keys) {
+        this.keys = keys;
+        this.id = id;
+    }
+
+    String key(int index) {
+        return keys[index];
+    }
+
+    int id() {
+        return id;
+    }
+
+    /**
+     * Encode as a URL-safe string
+     */
+    String encode() {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeByte(keys.length);
+            for (String key : keys) {
+                out.writeUTF(key != null ? key : "");
+            }
+            out.writeInt(id);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Decode a cursor produced by encode()
+     * @param cursor Encoded cursor
+     * @param keyCount Number of string keys the query expects
+     * @throws IllegalArgumentException if the cursor is malformed or belongs to another query
+     */
+    static KeysetCursor decode(String cursor, int keyCount) {
+        try {
+            DataInputStream in = new DataInputStream(
+                    new ByteArrayInputStream(Base64.getUrlDecoder().decode(cursor)));
+            if (in.readByte() != keyCount) {
+                throw new IllegalArgumentException("Cursor does not match this query");
+            }
+            String[] keys = new String[keyCount];
+            for (int i = 0; i < keyCount; i++) {
+                keys[i] = in.readUTF();
+            }
+            return new KeysetCursor(in.readInt(), keys);
+        } catch (IOException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid page cursor: " + cursor, e);
+        }
+    }
+}
@@ -0,0 +1,514 @@
+package com.gradeportal.dao;
+
+import com.gradeportal.model.Mark;
+import com.gradeportal.model.Student;
+import com.gradeportal.util.BackgroundTasks;
+
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory ranking of students by average marks.
+ *
+ * Keeps a running sum and count of marks per student in an order-statistic treap
+ * sorted by average (highest first, ties by student ID). Top-N and rank-of-student
+ * queries take O(log n + N) and O(log n) without touching the database. The ranking
+ * is loaded on first use, kept current from MarkDAO change events and reconciled
+ * with the database periodically.
+ *
+ * Loads and reconciles use the same guard as GradeHistogram: a result is only kept
+ * if no change event was applied and no MarkDAO write started while it was queried.
+ * The instance is created on first use, so merely editing a student never starts
+ * tracking marks.
+ */
+public class Leaderboard implements MarkChangeListener {
+
+    private static final long RECONCILE_INTERVAL_MINUTES = 5;
+
+    /** Queries on first use before the result is used without being kept */
+    private static final int LOAD_ATTEMPTS = 3;
+
+    private static volatile Leaderboard instance;
+
+    private final SqlCall<List<Standing>> standingsQuery;
+    private final StudentDAO studentDAO = new StudentDAO();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Guarded by lock
+    private Node root = null;
+    private Map<Integer, Standing> byStudent = null;
+    private long mutations = 0;
+    private boolean reconcileScheduled = false;
+
+    private Leaderboard() {
+        this(new MarkDAO()::loadStudentStandings);
+        MarkDAO.addChangeListener(this);
+    }
+
+    /**
+     * Create a leaderboard that is not registered for MarkDAO change events
+     * @param standingsQuery Loads every student's running totals
+     */
+    Leaderboard(SqlCall<List<Standing>> standingsQuery) {
+        this.standingsQuery = standingsQuery;
+    }
+
+    public static Leaderboard getInstance() {
+        Leaderboard current = instance;
+        if (current == null) {
+            synchronized (Leaderboard.class) {
+                current = instance;
+                if (current == null) {
+                    current = new Leaderboard();
+                    instance = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Refresh a student's cached details if the leaderboard is in use; see studentUpdated
+     * @param student Updated student
+     */
+    static void studentUpdatedIfLoaded(Student student) {
+        Leaderboard current = instance;
+        if (current != null) {
+            current.studentUpdated(student);
+        }
+    }
+
+    /**
+     * Get the students with the highest average marks
+     * @param limit Maximum number of students to return
+     * @return List of maps with id, name, rollNumber and averageMarks, best first
+     * @throws SQLException if loading the ranking or a student's details fails
+     */
+    public List<Map<String, Object>> getTopPerformers(int limit) throws SQLException {
+        List<Standing> unkept = ensureLoaded();
+
+        List<Standing> top = new ArrayList<>(Math.max(0, limit));
+        if (unkept != null) {
+            top.addAll(unkept.subList(0, Math.max(0, Math.min(limit, unkept.size()))));
+        } else {
+            collectTop(top, limit);
+        }
+
+        List<Map<String, Object>> topPerformers = new ArrayList<>(top.size());
+        for (Standing standing : top) {
+            resolveDetails(standing);
+
+            Map<String, Object> performer = new HashMap<>();
+            performer.put("id", standing.studentId);
+            performer.put("name", standing.name);
+            performer.put("rollNumber", standing.rollNumber);
+            performer.put("averageMarks", standing.average());
+            topPerformers.add(performer);
+        }
+
+        return topPerformers;
+    }
+
+    private void collectTop(List<Standing> top, int limit) {
+        lock.readLock().lock();
+        try {
+            // Iterative in-order walk that stops after limit nodes
+            Deque<Node> stack = new ArrayDeque<>();
+            Node node = root;
+            while ((node != null || !stack.isEmpty()) && top.size() < limit) {
+                while (node != null) {
+                    stack.push(node);
+                    node = node.left;
+                }
+                node = stack.pop();
+                top.add(node.standing);
+                node = node.right;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Get a student's position in the ranking
+     * @param studentId Student ID
+     * @return 1-based rank, or 0 if the student has no marks
+     * @throws SQLException if loading the ranking fails
+     */
+    public int getRank(int studentId) throws SQLException {
+        List<Standing> unkept = ensureLoaded();
+        if (unkept != null) {
+            for (int i = 0; i < unkept.size(); i++) {
+                if (unkept.get(i).studentId == studentId) {
+                    return i + 1;
+                }
+            }
+            return 0;
+        }
+
+        lock.readLock().lock();
+        try {
+            Standing standing = byStudent.get(studentId);
+            if (standing == null) {
+                return 0;
+            }
+
+            int before = 0;
+            Node node = root;
+            while (node != null) {
+                int cmp = compare(standing, node.standing);
+                if (cmp < 0) {
+                    node = node.left;
+                } else {
+                    before += size(node.left) + (cmp > 0 ? 1 : 0);
+                    if (cmp == 0) {
+                        break;
+                    }
+                    node = node.right;
+                }
+            }
+            return before + 1;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Get the number of students with at least one mark
+     * @return Ranked student count
+     * @throws SQLException if loading the ranking fails
+     */
+    public int size() throws SQLException {
+        List<Standing> unkept = ensureLoaded();
+        if (unkept != null) {
+            return unkept.size();
+        }
+
+        lock.readLock().lock();
+        try {
+            return size(root);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Refresh the cached name and roll number of a student after it was edited
+     * @param student Updated student
+     */
+    public void studentUpdated(Student student) {
+        lock.readLock().lock();
+        try {
+            Standing standing = byStudent != null ? byStudent.get(student.getId()) : null;
+            if (standing != null) {
+                standing.name = student.getName();
+                standing.rollNumber = student.getRollNumber();
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Rebuild the ranking from the database. The result is discarded if a local
+     * change was made while the query was running; the next run will catch up.
+     */
+    public void reconcile() {
+        long seen;
+        lock.readLock().lock();
+        try {
+            if (byStudent == null) {
+                return;
+            }
+            seen = mutations;
+        } finally {
+            lock.readLock().unlock();
+        }
+        long stamp = MarkDAO.writeStamp();
+        if (stamp < 0) {
+            return;
+        }
+
+        try {
+            List<Standing> standings = standingsQuery.call();
+            lock.writeLock().lock();
+            try {
+                if (byStudent != null && mutations == seen && MarkDAO.noWritesSince(stamp)) {
+                    rebuild(standings);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } catch (SQLException e) {
+            System.err.println("⚠️ Leaderboard reconciliation failed: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void markChanged(Mark before, Mark after) {
+        lock.writeLock().lock();
+        try {
+            if (byStudent == null) {
+                return;
+            }
+            if (before != null && after != null && before.getStudentId() == after.getStudentId()) {
+                // Edit of an existing mark: the count stays, only the sum moves
+                adjust(after.getStudentId(),
+                        toHundredths(after.getMarksObtained()) - toHundredths(before.getMarksObtained()), 0);
+            } else {
+                if (before != null) {
+                    adjust(before.getStudentId(), -toHundredths(before.getMarksObtained()), -1);
+                }
+                if (after != null) {
+                    adjust(after.getStudentId(), toHundredths(after.getMarksObtained()), 1);
+                }
+            }
+            mutations++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void marksInvalidated() {
+        lock.writeLock().lock();
+        try {
+            root = null;
+            byStudent = null;
+            mutations++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Load the ranking if it is not loaded yet
+     * @return null once the ranking is loaded, or the ranking in order if writes kept
+     *         overlapping the query and it could not be kept
+     */
+    private List<Standing> ensureLoaded() throws SQLException {
+        List<Standing> standings = null;
+
+        for (int attempt = 0; attempt < LOAD_ATTEMPTS; attempt++) {
+            long seen;
+            lock.readLock().lock();
+            try {
+                if (byStudent != null) {
+                    return null;
+                }
+                seen = mutations;
+            } finally {
+                lock.readLock().unlock();
+            }
+            long stamp = MarkDAO.writeStamp();
+
+            standings = standingsQuery.call();
+
+            lock.writeLock().lock();
+            try {
+                if (byStudent != null) {
+                    return null;
+                }
+                if (mutations == seen && MarkDAO.noWritesSince(stamp)) {
+                    rebuild(standings);
+                    mutations++;
+                    if (!reconcileScheduled) {
+                        reconcileScheduled = true;
+                        BackgroundTasks.scheduleWithFixedDelay("leaderboard reconciliation", this::reconcile,
+                                RECONCILE_INTERVAL_MINUTES, TimeUnit.MINUTES);
+                    }
+                    return null;
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        List<Standing> ranking = new ArrayList<>(standings);
+        ranking.sort(Leaderboard::compare);
+        return ranking;
+    }
+
+    private void resolveDetails(Standing standing) throws SQLException {
+        if (standing.name == null) {
+            Student student = studentDAO.getStudentById(standing.studentId);
+            if (student != null) {
+                standing.name = student.getName();
+                standing.rollNumber = student.getRollNumber();
+            }
+        }
+    }
+
+    // Treap maintenance; callers hold the write lock
+
+    private void rebuild(List<Standing> standings) {
+        root = null;
+        byStudent = new HashMap<>(standings.size() * 2);
+        for (Standing standing : standings) {
+            byStudent.put(standing.studentId, standing);
+            root = insert(root, new Node(standing));
+        }
+    }
+
+    private void adjust(int studentId, long sumDelta, int countDelta) {
+        Standing current = byStudent.get(studentId);
+        long sum = sumDelta;
+        int count = countDelta;
+        String name = null;
+        String rollNumber = null;
+
+        if (current != null) {
+            root = remove(root, current);
+            byStudent.remove(studentId);
+            sum += current.sumHundredths;
+            count += current.count;
+            name = current.name;
+            rollNumber = current.rollNumber;
+        }
+
+        if (count > 0) {
+            Standing updated = new Standing(studentId, name, rollNumber, sum, count);
+            byStudent.put(studentId, updated);
+            root = insert(root, new Node(updated));
+        }
+    }
+
+    private static Node insert(Node node, Node added) {
+        if (node == null) {
+            return added;
+        }
+        if (compare(added.standing, node.standing) < 0) {
+            node.left = insert(node.left, added);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, added);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        node.updateSize();
+        return node;
+    }
+
+    private static Node remove(Node node, Standing standing) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = compare(standing, node.standing);
+        if (cmp < 0) {
+            node.left = remove(node.left, standing);
+        } else if (cmp > 0) {
+            node.right = remove(node.right, standing);
+        } else {
+            return merge(node.left, node.right);
+        }
+        node.updateSize();
+        return node;
+    }
+
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            left.updateSize();
+            return left;
+        }
+        right.left = merge(left, right.left);
+        right.updateSize();
+        return right;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        node.updateSize();
+        pivot.updateSize();
+        return pivot;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        node.updateSize();
+        pivot.updateSize();
+        return pivot;
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    /**
+     * Higher average first, then lower student ID. Averages are compared exactly by
+     * cross-multiplying the integer sums and counts.
+     */
+    private static int compare(Standing a, Standing b) {
+        int byAverage = Long.compare(b.sumHundredths * a.count, a.sumHundredths * b.count);
+        return byAverage != 0 ? byAverage : Integer.compare(a.studentId, b.studentId);
+    }
+
+    private static long toHundredths(double marks) {
+        return Math.round(marks * 100);
+    }
+
+    /**
+     * Running totals for one student. Sum is kept in hundredths of a mark so
+     * incremental updates never accumulate floating point error.
+     */
+    static final class Standing {
+        final int studentId;
+        final long sumHundredths;
+        final int count;
+        volatile String name;
+        volatile String rollNumber;
+
+        Standing(int studentId, String name, String rollNumber, long sumHundredths, int count) {
+            this.studentId = studentId;
+            this.name = name;
+            this.rollNumber = rollNumber;
+            this.sumHundredths = sumHundredths;
+            this.count = count;
+        }
+
+        Standing(int studentId, String name, String rollNumber, double sum, int count) {
+            this(studentId, name, rollNumber, toHundredths(sum), count);
+        }
+
+        double average() {
+            return sumHundredths / 100.0 / count;
+        }
+    }
+
+    private static final class Node {
+        final Standing standing;
+        final int priority = ThreadLocalRandom.current().nextInt();
+        Node left;
+        Node right;
+        int size = 1;
+
+        Node(Standing standing) {
+            this.standing = standing;
+        }
+
+        void updateSize() {
+            size = 1 + Leaderboard.size(left) + Leaderboard.size(right);
+        }
+    }
+}
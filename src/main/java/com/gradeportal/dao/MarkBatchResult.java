@@ -0,0 +1,119 @@
+package com.gradeportal.dao;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of a batched mark insert. Rows are reported in the order they were passed in.
+ */
+public class MarkBatchResult {
+
+    private final int[] generatedIds;
+    private final boolean[] duplicates;
+    private final String[] rejections;
+
+    MarkBatchResult(int size) {
+        this.generatedIds = new int[size];
+        this.duplicates = new boolean[size];
+        this.rejections = new String[size];
+    }
+
+    void setGeneratedId(int row, int id) {
+        generatedIds[row] = id;
+    }
+
+    void markDuplicate(int row) {
+        duplicates[row] = true;
+    }
+
+    void markRejected(int row, String reason) {
+        rejections[row] = reason;
+    }
+
+    /**
+     * Get generated IDs in input order
+     * @return Array of generated IDs, 0 for rows that were not inserted
+     */
+    public int[] getGeneratedIds() {
+        return generatedIds.clone();
+    }
+
+    /**
+     * Get the generated ID for one row
+     * @param row Index of the row in the input collection
+     * @return Generated ID, or 0 if the row was not inserted
+     */
+    public int getGeneratedId(int row) {
+        return generatedIds[row];
+    }
+
+    /**
+     * Check whether a row was rejected because the student already has marks for the subject
+     * @param row Index of the row in the input collection
+     * @return true if the row was a duplicate
+     */
+    public boolean isDuplicate(int row) {
+        return duplicates[row];
+    }
+
+    /**
+     * Get the indexes of all duplicate rows
+     * @return List of row indexes in ascending order
+     */
+    public List<Integer> getDuplicateRows() {
+        List<Integer> rows = new ArrayList<>();
+        for (int i = 0; i < duplicates.length; i++) {
+            if (duplicates[i]) {
+                rows.add(i);
+            }
+        }
+        return Collections.unmodifiableList(rows);
+    }
+
+    /**
+     * Get why a row was rejected by a constraint other than the (student, subject) key,
+     * e.g. a student or subject that no longer exists
+     * @param row Index of the row in the input collection
+     * @return Reason, or null if the row was not rejected that way
+     */
+    public String getRejectionReason(int row) {
+        return rejections[row];
+    }
+
+    /**
+     * Get the indexes of all rows rejected for a reason other than being a duplicate
+     * @return List of row indexes in ascending order
+     */
+    public List<Integer> getRejectedRows() {
+        List<Integer> rows = new ArrayList<>();
+        for (int i = 0; i < rejections.length; i++) {
+            if (rejections[i] != null) {
+                rows.add(i);
+            }
+        }
+        return Collections.unmodifiableList(rows);
+    }
+
+    /**
+     * Get number of rows inserted
+     * @return Inserted row count
+     */
+    public int getInsertedCount() {
+        int count = 0;
+        for (int id : generatedIds) {
+            if (id > 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Get total number of rows submitted
+     * @return Row count
+     */
+    public int size() {
+        return generatedIds.length;
+    }
+}
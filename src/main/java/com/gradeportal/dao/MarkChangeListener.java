@@ -0,0 +1,23 @@
+package com.gradeportal.dao;
+
+import com.gradeportal.model.Mark;
+
+/**
+ * Receives notifications after MarkDAO has committed a change to the marks table.
+ * Listeners are called on the thread that made the change and must be quick.
+ */
+public interface MarkChangeListener {
+
+    /**
+     * A single mark was inserted, updated or deleted
+     * @param before Mark as it was before the change, or null for an insert
+     * @param after Mark as it is after the change, or null for a delete
+     */
+    void markChanged(Mark before, Mark after);
+
+    /**
+     * Marks changed in a way that cannot be described row by row (for example a
+     * cascading delete of a student or subject). Derived state should be rebuilt.
+     */
+    void marksInvalidated();
+}
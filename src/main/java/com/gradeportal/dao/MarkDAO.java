@@ -6,15 +6,78 @@ import com.gradeportal.util.DatabaseManager;
 import java.sql.*;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.BiFunction;
 
 /**
  * Data Access Object for Mark operations
  */
 public class MarkDAO {
     
+    /** Rows per JDBC batch (and per transaction) used by addMarks */
+    public static final int DEFAULT_BATCH_SIZE = 500;
+    
+    // Shared join so every mark query is prepared from identical SQL text
+    private static final String MARK_SELECT =
+            "SELECT m.*, s.name as student_name, s.roll_number, sub.subject_name " +
+            "FROM marks m " +
+            "JOIN students s ON m.student_id = s.id " +
+            "JOIN subjects sub ON m.subject_id = sub.id ";
+    
+    // Updates marks and grade but keeps the entry date; LAST_INSERT_ID(id) reports the
+    // existing row's ID when the (student, subject) key already exists. On an upsert
+    // connection the count is 1 for an insert, 2 for an update and 0 when the row
+    // already held these values.
+    private static final String UPSERT_SQL =
+            "INSERT INTO marks (student_id, subject_id, marks_obtained, grade, entry_date) VALUES (?, ?, ?, ?, ?) AS new " +
+            "ON DUPLICATE KEY UPDATE id = LAST_INSERT_ID(id), " +
+            "marks_obtained = new.marks_obtained, grade = new.grade";
+    
+    // MySQL error codes for a duplicate key and a missing foreign key parent
+    private static final int ER_DUP_ENTRY = 1062;
+    private static final int ER_NO_REFERENCED_ROW = 1216;
+    private static final int ER_NO_REFERENCED_ROW_2 = 1452;
+    
+    // Guard for single-row writes: the row must still hold the values that were read
+    private static final String STORED_VALUES_MATCH =
+            "student_id = ? AND subject_id = ? AND marks_obtained = ? AND grade <=> ?";
+    
+    /** Reads of a row before a guarded write, before giving up and invalidating listeners */
+    private static final int GUARDED_WRITE_ATTEMPTS = 3;
+    
+    private static final List<MarkChangeListener> CHANGE_LISTENERS = new CopyOnWriteArrayList<>();
+    
+    // Writes started and finished, where finished means committed and reported to
+    // listeners. A cache reloading from the table while a write is between the two
+    // could see the committed row and then apply its change event a second time.
+    private static final AtomicLong WRITES_STARTED = new AtomicLong();
+    private static final AtomicLong WRITES_FINISHED = new AtomicLong();
+    
+    /**
+     * Register a listener for committed mark changes
+     * @param listener Listener to add
+     */
+    public static void addChangeListener(MarkChangeListener listener) {
+        CHANGE_LISTENERS.add(listener);
+    }
+    
+    /**
+     * Unregister a mark change listener
+     * @param listener Listener to remove
+     */
+    public static void removeChangeListener(MarkChangeListener listener) {
+        CHANGE_LISTENERS.remove(listener);
+    }
+    
     /**
      * Add a new mark to the database
      * @param mark Mark object to add
@@ -24,6 +87,7 @@ public class MarkDAO {
     public boolean addMark(Mark mark) throws SQLException {
         String sql = "INSERT INTO marks (student_id, subject_id, marks_obtained, grade, entry_date) VALUES (?, ?, ?, ?, ?)";
         
+        writeStarted();
         try (Connection conn = DatabaseManager.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
             
@@ -42,13 +106,413 @@ public class MarkDAO {
                         mark.setId(generatedKeys.getInt(1));
                     }
                 }
+                fireMarkChanged(null, copyOf(mark));
                 return true;
             }
             
             return false;
+        } finally {
+            writeFinished();
         }
     }
-    
+
+    /**
+     * Add many marks using JDBC batching and the default batch size
+     * @param marks Marks to add
+     * @return Per-row outcome in input order
+     * @throws SQLException if database error occurs
+     */
+    public MarkBatchResult addMarks(Collection<Mark> marks) throws SQLException {
+        return addMarks(marks, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Add many marks using JDBC batching. Each chunk of batchSize rows is written in its
+     * own transaction. Rows whose (student, subject) pair already exists, either in the
+     * database or earlier in the same collection, are reported as duplicates and skipped
+     * instead of failing the batch. Inserted marks get their generated ID set.
+     * @param marks Marks to add
+     * @param batchSize Number of rows per batch and transaction
+     * @return Per-row outcome in input order
+     * @throws SQLException if database error occurs
+     */
+    public MarkBatchResult addMarks(Collection<Mark> marks, int batchSize) throws SQLException {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+        }
+
+        List<Mark> rows = new ArrayList<>(marks);
+        MarkBatchResult result = new MarkBatchResult(rows.size());
+        Set<Long> seenPairs = new HashSet<>();
+
+        writeStarted();
+        try (Connection conn = DatabaseManager.getConnection()) {
+            conn.setAutoCommit(false);
+
+            for (int start = 0; start < rows.size(); start += batchSize) {
+                int end = Math.min(start + batchSize, rows.size());
+
+                try {
+                    insertChunk(conn, rows, start, end, seenPairs, result);
+                    conn.commit();
+                } catch (SQLException e) {
+                    conn.rollback();
+                    throw e;
+                }
+
+                for (int row = start; row < end; row++) {
+                    if (result.getGeneratedId(row) > 0) {
+                        fireMarkChanged(null, copyOf(rows.get(row)));
+                    }
+                }
+            }
+        } finally {
+            writeFinished();
+        }
+
+        return result;
+    }
+
+    /**
+     * Insert rows [start, end) of a batch inside the caller's transaction
+     */
+    private void insertChunk(Connection conn, List<Mark> rows, int start, int end,
+                             Set<Long> seenPairs, MarkBatchResult result) throws SQLException {
+        Set<Long> existingPairs = findExistingPairs(conn, rows.subList(start, end));
+
+        List<Integer> pending = new ArrayList<>(end - start);
+        for (int row = start; row < end; row++) {
+            Mark mark = rows.get(row);
+            long pair = pairKey(mark.getStudentId(), mark.getSubjectId());
+            if (existingPairs.contains(pair) || !seenPairs.add(pair)) {
+                result.markDuplicate(row);
+            } else {
+                pending.add(row);
+            }
+        }
+
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        String sql = "INSERT INTO marks (student_id, subject_id, marks_obtained, grade, entry_date) VALUES (?, ?, ?, ?, ?)";
+
+        try (PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            for (int row : pending) {
+                bindInsert(pstmt, rows.get(row));
+                pstmt.addBatch();
+            }
+
+            pstmt.executeBatch();
+
+            try (ResultSet generatedKeys = pstmt.getGeneratedKeys()) {
+                for (int row : pending) {
+                    if (!generatedKeys.next()) {
+                        break;
+                    }
+                    int id = generatedKeys.getInt(1);
+                    rows.get(row).setId(id);
+                    result.setGeneratedId(row, id);
+                }
+            }
+        } catch (BatchUpdateException e) {
+            // Another user inserted one of these pairs since we checked; retry row by row
+            conn.rollback();
+            insertRowByRow(conn, rows, pending, result);
+        }
+    }
+
+    /**
+     * Insert rows one at a time, recording unique-key violations as duplicates and
+     * other constraint violations, such as a missing student or subject, as rejections
+     */
+    private void insertRowByRow(Connection conn, List<Mark> rows, List<Integer> pending,
+                                MarkBatchResult result) throws SQLException {
+        String sql = "INSERT INTO marks (student_id, subject_id, marks_obtained, grade, entry_date) VALUES (?, ?, ?, ?, ?)";
+
+        try (PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            for (int row : pending) {
+                Mark mark = rows.get(row);
+                bindInsert(pstmt, mark);
+
+                try {
+                    pstmt.executeUpdate();
+                } catch (SQLIntegrityConstraintViolationException e) {
+                    if (e.getErrorCode() == ER_DUP_ENTRY) {
+                        result.markDuplicate(row);
+                    } else {
+                        result.markRejected(row, describeViolation(e));
+                    }
+                    continue;
+                }
+
+                try (ResultSet generatedKeys = pstmt.getGeneratedKeys()) {
+                    if (generatedKeys.next()) {
+                        mark.setId(generatedKeys.getInt(1));
+                        result.setGeneratedId(row, mark.getId());
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Reason for a constraint violation other than a duplicate key, fit to show a user
+     */
+    private static String describeViolation(SQLIntegrityConstraintViolationException e) {
+        switch (e.getErrorCode()) {
+            case ER_NO_REFERENCED_ROW:
+            case ER_NO_REFERENCED_ROW_2:
+                return "Student or subject does not exist";
+            default:
+                return e.getMessage();
+        }
+    }
+
+    /**
+     * Find which (student, subject) pairs of a chunk already have marks
+     */
+    private Set<Long> findExistingPairs(Connection conn, List<Mark> chunk) throws SQLException {
+        StringBuilder sql = new StringBuilder("SELECT student_id, subject_id FROM marks WHERE (student_id, subject_id) IN (");
+        for (int i = 0; i < chunk.size(); i++) {
+            sql.append(i == 0 ? "(?, ?)" : ", (?, ?)");
+        }
+        sql.append(")");
+
+        Set<Long> existing = new HashSet<>();
+
+        try (PreparedStatement pstmt = conn.prepareStatement(sql.toString())) {
+            int index = 1;
+            for (Mark mark : chunk) {
+                pstmt.setInt(index++, mark.getStudentId());
+                pstmt.setInt(index++, mark.getSubjectId());
+            }
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    existing.add(pairKey(rs.getInt("student_id"), rs.getInt("subject_id")));
+                }
+            }
+        }
+
+        return existing;
+    }
+
+    private static void bindInsert(PreparedStatement pstmt, Mark mark) throws SQLException {
+        pstmt.setInt(1, mark.getStudentId());
+        pstmt.setInt(2, mark.getSubjectId());
+        pstmt.setDouble(3, mark.getMarksObtained());
+        pstmt.setString(4, mark.getGrade());
+        pstmt.setDate(5, Date.valueOf(mark.getEntryDate()));
+    }
+
+    private static long pairKey(int studentId, int subjectId) {
+        return ((long) studentId << 32) | (subjectId & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Insert a mark, or update the existing mark for the same student and subject, with
+     * one autocommit INSERT ... ON DUPLICATE KEY UPDATE. The unique (student, subject)
+     * key makes it atomic, so two users entering the same mark at once cannot both
+     * insert it. An existing mark keeps its entry date. An inserted or updated mark
+     * gets the ID of its row.
+     *
+     * The previous values of an updated mark are not read, so change listeners are
+     * told to rebuild (marksInvalidated) rather than given the old and new row.
+     * @param mark Mark to write
+     * @return Whether the mark was inserted, updated or already up to date
+     * @throws SQLException if database error occurs
+     */
+    public UpsertOutcome upsertMark(Mark mark) throws SQLException {
+        writeStarted();
+        try {
+            UpsertOutcome outcome;
+            try (Connection conn = DatabaseManager.getUpsertConnection();
+                 PreparedStatement pstmt = conn.prepareStatement(UPSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                outcome = executeUpsert(pstmt, mark);
+            }
+
+            if (outcome == UpsertOutcome.INSERTED) {
+                fireMarkChanged(null, copyOf(mark));
+            } else if (outcome == UpsertOutcome.UPDATED) {
+                fireMarksInvalidated();
+            }
+            return outcome;
+        } finally {
+            writeFinished();
+        }
+    }
+
+    /**
+     * Upsert many marks using the default batch size
+     * @param marks Marks to write
+     * @return Per-row outcome in input order
+     * @throws SQLException if database error occurs
+     */
+    public MarkUpsertResult upsertMarks(Collection<Mark> marks) throws SQLException {
+        return upsertMarks(marks, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Insert or update many marks by (student, subject). Each chunk of batchSize rows is
+     * sent as one JDBC batch in its own transaction, on an upsert connection, and each
+     * row's outcome is read from its entry in the batch's update counts. When the same
+     * pair appears more than once, later rows update earlier ones. Inserted and updated
+     * marks get the ID of their row, looked up once per chunk.
+     *
+     * The upsert connection does not rewrite the batch into a multi-row INSERT, which
+     * would report one count for the whole statement instead of one per row.
+     * @param marks Marks to write
+     * @param batchSize Number of rows per transaction
+     * @return Per-row outcome in input order
+     * @throws SQLException if database error occurs
+     */
+    public MarkUpsertResult upsertMarks(Collection<Mark> marks, int batchSize) throws SQLException {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+        }
+
+        List<Mark> rows = new ArrayList<>(marks);
+        MarkUpsertResult result = new MarkUpsertResult(rows.size());
+
+        writeStarted();
+        try (Connection conn = DatabaseManager.getUpsertConnection()) {
+            conn.setAutoCommit(false);
+
+            for (int start = 0; start < rows.size(); start += batchSize) {
+                int end = Math.min(start + batchSize, rows.size());
+
+                try {
+                    upsertChunk(conn, rows, start, end, result);
+                    conn.commit();
+                } catch (SQLException | RuntimeException e) {
+                    conn.rollback();
+                    throw e;
+                }
+
+                boolean updated = false;
+                for (int row = start; row < end; row++) {
+                    if (result.getOutcome(row) == UpsertOutcome.INSERTED) {
+                        fireMarkChanged(null, copyOf(rows.get(row)));
+                    } else if (result.getOutcome(row) == UpsertOutcome.UPDATED) {
+                        updated = true;
+                    }
+                }
+                if (updated) {
+                    fireMarksInvalidated();
+                }
+            }
+        } finally {
+            writeFinished();
+        }
+
+        return result;
+    }
+
+    /**
+     * Upsert rows [start, end) as one batch inside the caller's transaction
+     */
+    private void upsertChunk(Connection conn, List<Mark> rows, int start, int end,
+                             MarkUpsertResult result) throws SQLException {
+        int[] counts;
+        try (PreparedStatement pstmt = conn.prepareStatement(UPSERT_SQL)) {
+            for (int row = start; row < end; row++) {
+                bindInsert(pstmt, rows.get(row));
+                pstmt.addBatch();
+            }
+            counts = pstmt.executeBatch();
+        }
+
+        List<Mark> written = new ArrayList<>();
+        for (int row = start; row < end; row++) {
+            if (outcomeOf(counts[row - start]) != UpsertOutcome.UNCHANGED) {
+                written.add(rows.get(row));
+            }
+        }
+        Map<Long, Integer> ids = written.isEmpty() ? Map.of() : findIds(conn, written);
+
+        for (int row = start; row < end; row++) {
+            Mark mark = rows.get(row);
+            UpsertOutcome outcome = outcomeOf(counts[row - start]);
+            if (outcome != UpsertOutcome.UNCHANGED) {
+                mark.setId(ids.get(pairKey(mark.getStudentId(), mark.getSubjectId())));
+            }
+            result.set(row, outcome == UpsertOutcome.UNCHANGED ? 0 : mark.getId(), outcome);
+        }
+    }
+
+    /**
+     * Read an upsert outcome from its affected-row count
+     */
+    private static UpsertOutcome outcomeOf(int count) throws SQLException {
+        if (count == 0) {
+            return UpsertOutcome.UNCHANGED;
+        }
+        if (count == 1) {
+            return UpsertOutcome.INSERTED;
+        }
+        if (count == 2) {
+            return UpsertOutcome.UPDATED;
+        }
+        throw new SQLException("Unexpected upsert count " + count + "; not an upsert connection?");
+    }
+
+    /**
+     * Look up mark IDs by (student, subject) with one query
+     * @return IDs keyed by pairKey
+     */
+    private static Map<Long, Integer> findIds(Connection conn, List<Mark> marks) throws SQLException {
+        // Padded to a power of two by repeating the last pair, as in writeGrades
+        int size = Integer.highestOneBit(marks.size());
+        if (size < marks.size()) {
+            size <<= 1;
+        }
+
+        StringBuilder sql = new StringBuilder(
+                "SELECT id, student_id, subject_id FROM marks WHERE (student_id, subject_id) IN (");
+        for (int i = 0; i < size; i++) {
+            sql.append(i == 0 ? "(?, ?)" : ", (?, ?)");
+        }
+        sql.append(")");
+
+        Map<Long, Integer> ids = new HashMap<>();
+        try (PreparedStatement pstmt = conn.prepareStatement(sql.toString())) {
+            int index = 1;
+            for (int i = 0; i < size; i++) {
+                Mark mark = marks.get(Math.min(i, marks.size() - 1));
+                pstmt.setInt(index++, mark.getStudentId());
+                pstmt.setInt(index++, mark.getSubjectId());
+            }
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    ids.put(pairKey(rs.getInt("student_id"), rs.getInt("subject_id")), rs.getInt("id"));
+                }
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Run UPSERT_SQL for one mark and read the outcome from the affected-row count.
+     * Sets the mark's ID unless the row was unchanged.
+     */
+    private static UpsertOutcome executeUpsert(PreparedStatement pstmt, Mark mark) throws SQLException {
+        bindInsert(pstmt, mark);
+        UpsertOutcome outcome = outcomeOf(pstmt.executeUpdate());
+        if (outcome == UpsertOutcome.UNCHANGED) {
+            return outcome;
+        }
+
+        // For an update the key is the existing ID, set through LAST_INSERT_ID(id)
+        try (ResultSet generatedKeys = pstmt.getGeneratedKeys()) {
+            if (generatedKeys.next()) {
+                mark.setId(generatedKeys.getInt(1));
+            }
+        }
+        return outcome;
+    }
+
     /**
      * Update an existing mark
      * @param mark Mark object with updated information
@@ -56,19 +520,69 @@ public class MarkDAO {
      * @throws SQLException if database error occurs
      */
     public boolean updateMark(Mark mark) throws SQLException {
-        String sql = "UPDATE marks SET marks_obtained = ?, grade = ? WHERE id = ?";
-        
-        try (Connection conn = DatabaseManager.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        writeStarted();
+        try (Connection conn = DatabaseManager.getConnection()) {
+            if (CHANGE_LISTENERS.isEmpty()) {
+                return writeMark(conn, mark) > 0;
+            }
             
-            pstmt.setDouble(1, mark.getMarksObtained());
-            pstmt.setString(2, mark.getGrade());
-            pstmt.setInt(3, mark.getId());
+            // Listeners need the previous row: read it, then write only if it is still the
+            // row that was read, so no transaction or lock is held between the two
+            for (int attempt = 0; attempt < GUARDED_WRITE_ATTEMPTS; attempt++) {
+                Mark before = findStoredMark(conn, mark.getId());
+                if (before == null) {
+                    return false;
+                }
+                if (sameValues(before, mark)) {
+                    return true;
+                }
+                if (guardedUpdate(conn, before, mark) > 0) {
+                    fireMarkChanged(before, updatedCopy(before, mark));
+                    return true;
+                }
+            }
             
-            return pstmt.executeUpdate() > 0;
+            // The row keeps changing under us; write it anyway and let listeners reload
+            boolean changed = writeMark(conn, mark) > 0;
+            if (changed) {
+                fireMarksInvalidated();
+            }
+            return changed;
+        } finally {
+            writeFinished();
         }
     }
     
+    /**
+     * Update a mark whose stored values the caller already has, e.g. the row it was
+     * shown. The write only applies while the row still holds those values, so the
+     * change is reported to listeners without reading the row first. If the row has
+     * changed since, this falls back to updateMark(Mark).
+     * @param before Mark as currently stored
+     * @param mark Mark object with updated information
+     * @return true if successful, false otherwise
+     * @throws SQLException if database error occurs
+     */
+    public boolean updateMark(Mark before, Mark mark) throws SQLException {
+        if (before.getId() != mark.getId()) {
+            throw new IllegalArgumentException("Before and after are different marks");
+        }
+        
+        writeStarted();
+        try (Connection conn = DatabaseManager.getConnection()) {
+            if (sameValues(before, mark)) {
+                return writeMark(conn, mark) > 0;
+            }
+            if (guardedUpdate(conn, before, mark) > 0) {
+                fireMarkChanged(copyOf(before), updatedCopy(before, mark));
+                return true;
+            }
+        } finally {
+            writeFinished();
+        }
+        return updateMark(mark);
+    }
+    
     /**
      * Delete a mark by ID
      * @param markId ID of mark to delete
@@ -76,16 +590,303 @@ public class MarkDAO {
      * @throws SQLException if database error occurs
      */
     public boolean deleteMark(int markId) throws SQLException {
-        String sql = "DELETE FROM marks WHERE id = ?";
-        
-        try (Connection conn = DatabaseManager.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        writeStarted();
+        try (Connection conn = DatabaseManager.getConnection()) {
+            if (CHANGE_LISTENERS.isEmpty()) {
+                return removeMark(conn, markId) > 0;
+            }
             
+            // Listeners need the deleted row; see updateMark(Mark)
+            for (int attempt = 0; attempt < GUARDED_WRITE_ATTEMPTS; attempt++) {
+                Mark before = findStoredMark(conn, markId);
+                if (before == null) {
+                    return false;
+                }
+                if (guardedDelete(conn, before) > 0) {
+                    fireMarkChanged(before, null);
+                    return true;
+                }
+            }
+            
+            boolean deleted = removeMark(conn, markId) > 0;
+            if (deleted) {
+                fireMarksInvalidated();
+            }
+            return deleted;
+        } finally {
+            writeFinished();
+        }
+    }
+    
+    /**
+     * Delete a mark whose stored values the caller already has. Falls back to
+     * deleteMark(int) if the row has changed since; see updateMark(Mark, Mark).
+     * @param mark Mark as currently stored
+     * @return true if successful, false otherwise
+     * @throws SQLException if database error occurs
+     */
+    public boolean deleteMark(Mark mark) throws SQLException {
+        writeStarted();
+        try (Connection conn = DatabaseManager.getConnection()) {
+            if (guardedDelete(conn, mark) > 0) {
+                fireMarkChanged(copyOf(mark), null);
+                return true;
+            }
+        } finally {
+            writeFinished();
+        }
+        return deleteMark(mark.getId());
+    }
+    
+    private static int writeMark(Connection conn, Mark mark) throws SQLException {
+        String sql = "UPDATE marks SET marks_obtained = ?, grade = ? WHERE id = ?";
+        
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setDouble(1, mark.getMarksObtained());
+            pstmt.setString(2, mark.getGrade());
+            pstmt.setInt(3, mark.getId());
+            return pstmt.executeUpdate();
+        }
+    }
+    
+    private static int removeMark(Connection conn, int markId) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement("DELETE FROM marks WHERE id = ?")) {
+            pstmt.setInt(1, markId);
+            return pstmt.executeUpdate();
+        }
+    }
+    
+    /**
+     * Update a mark only if it still holds the values in before
+     */
+    private static int guardedUpdate(Connection conn, Mark before, Mark mark) throws SQLException {
+        String sql = "UPDATE marks SET marks_obtained = ?, grade = ? " +
+                    "WHERE id = ? AND " + STORED_VALUES_MATCH;
+        
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setDouble(1, mark.getMarksObtained());
+            pstmt.setString(2, mark.getGrade());
+            pstmt.setInt(3, before.getId());
+            bindStoredValues(pstmt, 4, before);
+            return pstmt.executeUpdate();
+        }
+    }
+    
+    /**
+     * Delete a mark only if it still holds the values in before
+     */
+    private static int guardedDelete(Connection conn, Mark before) throws SQLException {
+        String sql = "DELETE FROM marks WHERE id = ? AND " + STORED_VALUES_MATCH;
+        
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setInt(1, before.getId());
+            bindStoredValues(pstmt, 2, before);
+            return pstmt.executeUpdate();
+        }
+    }
+    
+    private static void bindStoredValues(PreparedStatement pstmt, int index, Mark before) throws SQLException {
+        pstmt.setInt(index++, before.getStudentId());
+        pstmt.setInt(index++, before.getSubjectId());
+        pstmt.setDouble(index++, before.getMarksObtained());
+        pstmt.setString(index, before.getGrade());
+    }
+    
+    private static boolean sameValues(Mark stored, Mark mark) {
+        return stored.getMarksObtained() == mark.getMarksObtained()
+                && Objects.equals(stored.getGrade(), mark.getGrade());
+    }
+    
+    private static Mark updatedCopy(Mark before, Mark mark) {
+        Mark after = copyOf(before);
+        after.setMarksObtained(mark.getMarksObtained());
+        after.setGrade(mark.getGrade());
+        return after;
+    }
+    
+    /**
+     * Read a mark row without the student and subject names
+     */
+    private Mark findStoredMark(Connection conn, int markId) throws SQLException {
+        String sql = "SELECT * FROM marks WHERE id = ?";
+        
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
             pstmt.setInt(1, markId);
-            return pstmt.executeUpdate() > 0;
+            
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    return mapResultSetToMark(rs);
+                }
+            }
         }
+        
+        return null;
     }
     
+    /**
+     * Recompute the grades of the next chunk of marks in ID order and write back the
+     * ones that changed. The chunk is read without locks; the write is one autocommit
+     * UPDATE that only touches the rows being regraded, and only while each still holds
+     * the grade that was read, so an edit made in between is never overwritten with a
+     * stale grade. Such rows are skipped and not counted as changed.
+     * @param afterId Only marks with a higher ID are considered; 0 to start at the beginning
+     * @param subjectId Only regrade marks of this subject, or null for all subjects
+     * @param studentClass Only regrade marks of students in this class, or null for all classes
+     * @param limit Maximum number of marks to scan
+     * @param grader Computes the grade a mark should have from the mark and its student's class
+     * @return Cursor and counts for the chunk
+     * @throws SQLException if database error occurs
+     */
+    public RegradeChunk regradeChunk(int afterId, Integer subjectId, String studentClass, int limit,
+                                     BiFunction<Mark, String, String> grader) throws SQLException {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit must be positive: " + limit);
+        }
+
+        String sql = "SELECT m.*, s.class AS student_class FROM marks m " +
+                    "JOIN students s ON m.student_id = s.id " +
+                    "WHERE m.id > ? " +
+                    (subjectId != null ? "AND m.subject_id = ? " : "") +
+                    (studentClass != null ? "AND s.class = ? " : "") +
+                    "ORDER BY m.id LIMIT ?";
+
+        List<Mark> before = new ArrayList<>();
+        List<Mark> after = new ArrayList<>();
+        int lastId = afterId;
+        int scanned = 0;
+        int changed = 0;
+
+        writeStarted();
+        try {
+            try (Connection conn = DatabaseManager.getConnection()) {
+                try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                    int index = 1;
+                    pstmt.setInt(index++, afterId);
+                    if (subjectId != null) {
+                        pstmt.setInt(index++, subjectId);
+                    }
+                    if (studentClass != null) {
+                        pstmt.setString(index++, studentClass);
+                    }
+                    pstmt.setInt(index, limit);
+
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        while (rs.next()) {
+                            Mark mark = mapResultSetToMark(rs);
+                            lastId = mark.getId();
+                            scanned++;
+
+                            String grade = grader.apply(mark, rs.getString("student_class"));
+                            String stored = mark.getGrade() != null ? mark.getGrade().trim() : null;
+                            if (grade != null && !grade.equals(stored)) {
+                                Mark regraded = copyOf(mark);
+                                regraded.setGrade(grade);
+                                before.add(mark);
+                                after.add(regraded);
+                            }
+                        }
+                    }
+                }
+
+                if (!after.isEmpty()) {
+                    changed = writeGrades(conn, before, after);
+                }
+            }
+
+            if (changed == after.size()) {
+                for (int i = 0; i < after.size(); i++) {
+                    fireMarkChanged(before.get(i), after.get(i));
+                }
+            } else {
+                // Some rows were edited meanwhile and skipped; which ones is not reported
+                fireMarksInvalidated();
+            }
+        } finally {
+            writeFinished();
+        }
+
+        return new RegradeChunk(lastId, scanned, changed);
+    }
+
+    /**
+     * Write new grades with one UPDATE ... CASE statement, skipping rows whose grade
+     * no longer matches the one in before
+     * @return Number of rows changed
+     */
+    private int writeGrades(Connection conn, List<Mark> before, List<Mark> after) throws SQLException {
+        // Pad to a power of two by repeating the last row, so only a handful of distinct
+        // statements are ever prepared and the statement cache keeps them
+        int size = Integer.highestOneBit(after.size());
+        if (size < after.size()) {
+            size <<= 1;
+        }
+
+        StringBuilder cases = new StringBuilder();
+        for (int i = 0; i < size; i++) {
+            cases.append(" WHEN ? THEN ?");
+        }
+
+        StringBuilder sql = new StringBuilder("UPDATE marks SET grade = CASE id").append(cases)
+                .append(" ELSE grade END WHERE id IN (");
+        for (int i = 0; i < size; i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+        }
+        sql.append(") AND grade <=> CASE id").append(cases).append(" END");
+
+        try (PreparedStatement pstmt = conn.prepareStatement(sql.toString())) {
+            int index = 1;
+            for (int i = 0; i < size; i++) {
+                Mark mark = after.get(Math.min(i, after.size() - 1));
+                pstmt.setInt(index++, mark.getId());
+                pstmt.setString(index++, mark.getGrade());
+            }
+            for (int i = 0; i < size; i++) {
+                pstmt.setInt(index++, after.get(Math.min(i, after.size() - 1)).getId());
+            }
+            for (int i = 0; i < size; i++) {
+                Mark mark = before.get(Math.min(i, before.size() - 1));
+                pstmt.setInt(index++, mark.getId());
+                pstmt.setString(index++, mark.getGrade());
+            }
+            return pstmt.executeUpdate();
+        }
+    }
+
+    /**
+     * Count marks, optionally for one subject and/or the students of one class
+     * @param subjectId Subject ID, or null for all subjects
+     * @param studentClass Class name, or null for all classes
+     * @return Number of marks
+     * @throws SQLException if database error occurs
+     */
+    public int countMarks(Integer subjectId, String studentClass) throws SQLException {
+        String sql = "SELECT COUNT(*) FROM marks m" +
+                    (studentClass != null ? " JOIN students s ON m.student_id = s.id" : "") +
+                    " WHERE 1 = 1" +
+                    (subjectId != null ? " AND m.subject_id = ?" : "") +
+                    (studentClass != null ? " AND s.class = ?" : "");
+
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            int index = 1;
+            if (subjectId != null) {
+                pstmt.setInt(index++, subjectId);
+            }
+            if (studentClass != null) {
+                pstmt.setString(index, studentClass);
+            }
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    return rs.getInt(1);
+                }
+            }
+        }
+
+        return 0;
+    }
+
     /**
      * Get a mark by ID
      * @param markId ID of mark to retrieve
@@ -93,10 +894,7 @@ public class MarkDAO {
      * @throws SQLException if database error occurs
      */
     public Mark getMarkById(int markId) throws SQLException {
-        String sql = "SELECT m.*, s.name as student_name, s.roll_number, sub.subject_name " +
-                    "FROM marks m " +
-                    "JOIN students s ON m.student_id = s.id " +
-                    "JOIN subjects sub ON m.subject_id = sub.id " +
+        String sql = MARK_SELECT +
                     "WHERE m.id = ?";
         
         try (Connection conn = DatabaseManager.getConnection();
@@ -120,17 +918,14 @@ public class MarkDAO {
      * @throws SQLException if database error occurs
      */
     public List<Mark> getAllMarks() throws SQLException {
-        String sql = "SELECT m.*, s.name as student_name, s.roll_number, sub.subject_name " +
-                    "FROM marks m " +
-                    "JOIN students s ON m.student_id = s.id " +
-                    "JOIN subjects sub ON m.subject_id = sub.id " +
-                    "ORDER BY s.name, sub.subject_name";
+        String sql = MARK_SELECT +
+                    "ORDER BY s.name, sub.subject_name, m.id";
         
         List<Mark> marks = new ArrayList<>();
         
         try (Connection conn = DatabaseManager.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+             PreparedStatement pstmt = conn.prepareStatement(sql);
+             ResultSet rs = pstmt.executeQuery()) {
             
             while (rs.next()) {
                 marks.add(mapResultSetToMark(rs));
@@ -139,7 +934,149 @@ public class MarkDAO {
         
         return marks;
     }
-    
+
+    /**
+     * Get one page of marks in the order of getAllMarks(), by student name, subject
+     * name and ID, using keyset pagination.
+     *
+     * No index spans the three joined tables, so the page is first cut down to a window
+     * of students: the rows after the cursor up to the (pageSize + 1)-th student with
+     * marks, found by walking idx_students_name. The seek and sort then only touch the
+     * marks of those students, and the cost of a page does not depend on how deep into
+     * the table it is.
+     * @param cursor Cursor from the previous page, or null for the first page
+     * @param pageSize Maximum number of marks to return
+     * @return Page of marks and the cursor for the next page
+     * @throws SQLException if database error occurs
+     */
+    public Page<Mark> getMarksPage(String cursor, int pageSize) throws SQLException {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("Page size must be positive: " + pageSize);
+        }
+
+        KeysetCursor after = cursor == null ? null : KeysetCursor.decode(cursor, 2);
+        List<Mark> marks = new ArrayList<>(pageSize + 1);
+
+        try (Connection conn = DatabaseManager.getConnection()) {
+            String lastName = findPageWindowEnd(conn, after == null ? null : after.key(0), pageSize);
+
+            // Seek past the last (student name, subject name, id) seen; id breaks ties
+            String sql = MARK_SELECT + "WHERE 1 = 1 " +
+                        (after == null ? "" :
+                        "AND s.name >= ? AND (s.name > ? OR (s.name = ? AND " +
+                        "(sub.subject_name > ? OR (sub.subject_name = ? AND m.id > ?)))) ") +
+                        (lastName == null ? "" : "AND s.name <= ? ") +
+                        "ORDER BY s.name, sub.subject_name, m.id " +
+                        "LIMIT ?";
+
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                int index = 1;
+                if (after != null) {
+                    pstmt.setString(index++, after.key(0));
+                    pstmt.setString(index++, after.key(0));
+                    pstmt.setString(index++, after.key(0));
+                    pstmt.setString(index++, after.key(1));
+                    pstmt.setString(index++, after.key(1));
+                    pstmt.setInt(index++, after.id());
+                }
+                if (lastName != null) {
+                    pstmt.setString(index++, lastName);
+                }
+                // Fetch one extra row to find out whether another page exists
+                pstmt.setInt(index, pageSize + 1);
+
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        marks.add(mapResultSetToMark(rs));
+                    }
+                }
+            }
+        }
+
+        String nextCursor = null;
+        if (marks.size() > pageSize) {
+            marks.remove(pageSize);
+            Mark last = marks.get(pageSize - 1);
+            nextCursor = new KeysetCursor(last.getId(), last.getStudentName(), last.getSubjectName()).encode();
+        }
+
+        return new Page<>(marks, nextCursor);
+    }
+
+    /**
+     * Find the last student name a page of marks can reach. Each of the pageSize + 1
+     * students with marks after afterName has at least one mark past the cursor, so the
+     * page and the extra row all belong to students named up to the last of them.
+     * @param afterName Student name in the cursor, or null for the first page
+     * @return That name, or null if fewer students are left
+     */
+    private static String findPageWindowEnd(Connection conn, String afterName, int pageSize) throws SQLException {
+        String sql = "SELECT s.name FROM students s " +
+                    "WHERE " + (afterName == null ? "" : "s.name > ? AND ") +
+                    "EXISTS (SELECT 1 FROM marks m WHERE m.student_id = s.id) " +
+                    "ORDER BY s.name " +
+                    "LIMIT 1 OFFSET ?";
+
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            int index = 1;
+            if (afterName != null) {
+                pstmt.setString(index++, afterName);
+            }
+            pstmt.setInt(index, pageSize);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? rs.getString(1) : null;
+            }
+        }
+    }
+
+    /**
+     * Stream all marks with student and subject information to a consumer, in the same
+     * order as getAllMarks(). Rows are fetched from MySQL one at a time, so memory use
+     * does not grow with the size of the marks table.
+     * @param consumer Receives each mark; must not call back into the database on this thread's connection
+     * @return Number of marks streamed
+     * @throws SQLException if database error occurs
+     */
+    public int streamAllMarks(Consumer<Mark> consumer) throws SQLException {
+        String sql = MARK_SELECT +
+                    "ORDER BY s.name, sub.subject_name, m.id";
+
+        return streamMarks(sql, consumer);
+    }
+
+    /**
+     * Run a mark query in MySQL row-streaming mode and hand each row to a consumer
+     * @param sql Query selecting mark columns
+     * @param consumer Receives each mark
+     * @param params Query parameters, bound in order
+     * @return Number of marks streamed
+     * @throws SQLException if database error occurs
+     */
+    private int streamMarks(String sql, Consumer<Mark> consumer, Object... params) throws SQLException {
+        int count = 0;
+
+        // Forward-only, read-only with fetch size MIN_VALUE makes Connector/J stream rows
+        // instead of buffering the whole result; such statements are not cached
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+
+            pstmt.setFetchSize(Integer.MIN_VALUE);
+            for (int i = 0; i < params.length; i++) {
+                pstmt.setObject(i + 1, params[i]);
+            }
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    consumer.accept(mapResultSetToMark(rs));
+                    count++;
+                }
+            }
+        }
+
+        return count;
+    }
+
     /**
      * Get marks for a specific student
      * @param studentId Student ID
@@ -147,10 +1084,7 @@ public class MarkDAO {
      * @throws SQLException if database error occurs
      */
     public List<Mark> getMarksByStudentId(int studentId) throws SQLException {
-        String sql = "SELECT m.*, s.name as student_name, s.roll_number, sub.subject_name " +
-                    "FROM marks m " +
-                    "JOIN students s ON m.student_id = s.id " +
-                    "JOIN subjects sub ON m.subject_id = sub.id " +
+        String sql = MARK_SELECT +
                     "WHERE m.student_id = ? " +
                     "ORDER BY sub.subject_name";
         
@@ -171,6 +1105,37 @@ public class MarkDAO {
         return marks;
     }
     
+    /**
+     * Stream the marks of one student to a consumer, in the same order as getMarksByStudentId()
+     * @param studentId Student ID
+     * @param consumer Receives each mark; must not call back into the database on this thread's connection
+     * @return Number of marks streamed
+     * @throws SQLException if database error occurs
+     */
+    public int streamMarksByStudentId(int studentId, Consumer<Mark> consumer) throws SQLException {
+        String sql = MARK_SELECT +
+                    "WHERE m.student_id = ? " +
+                    "ORDER BY sub.subject_name";
+        
+        return streamMarks(sql, consumer, studentId);
+    }
+    
+    /**
+     * Stream the marks of every student in a class with one query, grouped by student:
+     * rows arrive ordered by student ID, then subject name
+     * @param studentClass Class name
+     * @param consumer Receives each mark; must not call back into the database on this thread's connection
+     * @return Number of marks streamed
+     * @throws SQLException if database error occurs
+     */
+    public int streamMarksByClass(String studentClass, Consumer<Mark> consumer) throws SQLException {
+        String sql = MARK_SELECT +
+                    "WHERE s.class = ? " +
+                    "ORDER BY m.student_id, sub.subject_name";
+        
+        return streamMarks(sql, consumer, studentClass);
+    }
+    
     /**
      * Get marks for a specific subject
      * @param subjectId Subject ID
@@ -178,10 +1143,7 @@ public class MarkDAO {
      * @throws SQLException if database error occurs
      */
     public List<Mark> getMarksBySubjectId(int subjectId) throws SQLException {
-        String sql = "SELECT m.*, s.name as student_name, s.roll_number, sub.subject_name " +
-                    "FROM marks m " +
-                    "JOIN students s ON m.student_id = s.id " +
-                    "JOIN subjects sub ON m.subject_id = sub.id " +
+        String sql = MARK_SELECT +
                     "WHERE m.subject_id = ? " +
                     "ORDER BY s.name";
         
@@ -279,17 +1241,27 @@ public class MarkDAO {
     }
     
     /**
-     * Get grade distribution
+     * Get grade distribution. Served from the in-memory GradeHistogram, which
+     * queries the database only on first use.
      * @return Map of grade to count
      * @throws SQLException if database error occurs
      */
     public Map<String, Integer> getGradeDistribution() throws SQLException {
+        return GradeHistogram.getInstance().getDistribution();
+    }
+    
+    /**
+     * Count marks per grade in the database
+     * @return Map of grade to count
+     * @throws SQLException if database error occurs
+     */
+    Map<String, Integer> loadGradeDistribution() throws SQLException {
         String sql = "SELECT grade, COUNT(*) as count FROM marks GROUP BY grade ORDER BY grade";
         Map<String, Integer> distribution = new HashMap<>();
         
         try (Connection conn = DatabaseManager.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+             PreparedStatement pstmt = conn.prepareStatement(sql);
+             ResultSet rs = pstmt.executeQuery()) {
             
             while (rs.next()) {
                 distribution.put(rs.getString("grade"), rs.getInt("count"));
@@ -300,39 +1272,120 @@ public class MarkDAO {
     }
     
     /**
-     * Get top performers (students with highest average marks)
+     * Get top performers (students with highest average marks). Served from the
+     * in-memory Leaderboard, which queries the database only on first use.
      * @param limit Number of top performers to return
      * @return List of student IDs and their average marks
      * @throws SQLException if database error occurs
      */
     public List<Map<String, Object>> getTopPerformers(int limit) throws SQLException {
-        String sql = "SELECT s.id, s.name, s.roll_number, AVG(m.marks_obtained) as average_marks " +
+        return Leaderboard.getInstance().getTopPerformers(limit);
+    }
+    
+    /**
+     * Get a student's rank by average marks
+     * @param studentId Student ID
+     * @return 1-based rank, or 0 if the student has no marks
+     * @throws SQLException if database error occurs
+     */
+    public int getStudentRank(int studentId) throws SQLException {
+        return Leaderboard.getInstance().getRank(studentId);
+    }
+    
+    /**
+     * Load the sum and count of marks for every student that has marks
+     * @return Running totals per student
+     * @throws SQLException if database error occurs
+     */
+    List<Leaderboard.Standing> loadStudentStandings() throws SQLException {
+        String sql = "SELECT s.id, s.name, s.roll_number, SUM(m.marks_obtained) as total_marks, COUNT(m.id) as mark_count " +
                     "FROM students s " +
                     "JOIN marks m ON s.id = m.student_id " +
-                    "GROUP BY s.id, s.name, s.roll_number " +
-                    "ORDER BY average_marks DESC " +
-                    "LIMIT ?";
+                    "GROUP BY s.id, s.name, s.roll_number";
         
-        List<Map<String, Object>> topPerformers = new ArrayList<>();
+        List<Leaderboard.Standing> standings = new ArrayList<>();
         
         try (Connection conn = DatabaseManager.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            
-            pstmt.setInt(1, limit);
+             PreparedStatement pstmt = conn.prepareStatement(sql);
+             ResultSet rs = pstmt.executeQuery()) {
             
-            try (ResultSet rs = pstmt.executeQuery()) {
-                while (rs.next()) {
-                    Map<String, Object> performer = new HashMap<>();
-                    performer.put("id", rs.getInt("id"));
-                    performer.put("name", rs.getString("name"));
-                    performer.put("rollNumber", rs.getString("roll_number"));
-                    performer.put("averageMarks", rs.getDouble("average_marks"));
-                    topPerformers.add(performer);
-                }
+            while (rs.next()) {
+                standings.add(new Leaderboard.Standing(
+                    rs.getInt("id"),
+                    rs.getString("name"),
+                    rs.getString("roll_number"),
+                    rs.getDouble("total_marks"),
+                    rs.getInt("mark_count")));
             }
         }
         
-        return topPerformers;
+        return standings;
+    }
+    
+    /**
+     * Take a stamp before reloading a cache from the marks table
+     * @return Stamp for noWritesSince, or -1 if a write is in flight
+     */
+    static long writeStamp() {
+        long finished = WRITES_FINISHED.get();
+        long started = WRITES_STARTED.get();
+        return started == finished ? started : -1;
+    }
+    
+    /**
+     * Check that no write started since a stamp was taken, so a reload done in between
+     * neither missed a change event nor saw a row whose event is still to come
+     * @param stamp Stamp from writeStamp()
+     * @return true if the reload may be installed
+     */
+    static boolean noWritesSince(long stamp) {
+        return stamp >= 0 && WRITES_STARTED.get() == stamp;
+    }
+    
+    private static void writeStarted() {
+        WRITES_STARTED.incrementAndGet();
+    }
+    
+    private static void writeFinished() {
+        WRITES_FINISHED.incrementAndGet();
+    }
+    
+    /**
+     * Notify listeners of a committed single-row change
+     */
+    private static void fireMarkChanged(Mark before, Mark after) {
+        for (MarkChangeListener listener : CHANGE_LISTENERS) {
+            try {
+                listener.markChanged(before, after);
+            } catch (RuntimeException e) {
+                System.err.println("⚠️ Mark change listener failed: " + e.getMessage());
+            }
+        }
+    }
+    
+    /**
+     * Notify listeners that marks changed in bulk, e.g. after a cascading delete
+     */
+    static void fireMarksInvalidated() {
+        for (MarkChangeListener listener : CHANGE_LISTENERS) {
+            try {
+                listener.marksInvalidated();
+            } catch (RuntimeException e) {
+                System.err.println("⚠️ Mark change listener failed: " + e.getMessage());
+            }
+        }
+    }
+    
+    /**
+     * Copy the stored fields of a mark so listeners never see later edits to the caller's object
+     */
+    private static Mark copyOf(Mark mark) {
+        Mark copy = new Mark(mark.getId(), mark.getStudentId(), mark.getSubjectId(),
+                mark.getMarksObtained(), mark.getGrade(), mark.getEntryDate());
+        copy.setStudentName(mark.getStudentName());
+        copy.setRollNumber(mark.getRollNumber());
+        copy.setSubjectName(mark.getSubjectName());
+        return copy;
     }
     
     /**
@@ -0,0 +1,81 @@
+package com.gradeportal.dao;
+
+/**
+ * Outcome of a batched mark upsert. Rows are reported in the order they were passed in.
+ */
+public class MarkUpsertResult {
+
+    private final int[] ids;
+    private final UpsertOutcome[] outcomes;
+
+    MarkUpsertResult(int size) {
+        this.ids = new int[size];
+        this.outcomes = new UpsertOutcome[size];
+    }
+
+    void set(int row, int id, UpsertOutcome outcome) {
+        ids[row] = id;
+        outcomes[row] = outcome;
+    }
+
+    /**
+     * Get the ID of the mark a row was written to. Unchanged rows report no ID, since
+     * the database does not return one when nothing was written.
+     * @param row Index of the row in the input collection
+     * @return Mark ID, or 0 if the row was unchanged
+     */
+    public int getId(int row) {
+        return ids[row];
+    }
+
+    /**
+     * Get what was done with one row
+     * @param row Index of the row in the input collection
+     * @return Outcome of the row
+     */
+    public UpsertOutcome getOutcome(int row) {
+        return outcomes[row];
+    }
+
+    /**
+     * Get number of rows inserted as new marks
+     * @return Inserted row count
+     */
+    public int getInsertedCount() {
+        return count(UpsertOutcome.INSERTED);
+    }
+
+    /**
+     * Get number of rows that changed an existing mark
+     * @return Updated row count
+     */
+    public int getUpdatedCount() {
+        return count(UpsertOutcome.UPDATED);
+    }
+
+    /**
+     * Get number of rows that matched an existing mark exactly
+     * @return Unchanged row count
+     */
+    public int getUnchangedCount() {
+        return count(UpsertOutcome.UNCHANGED);
+    }
+
+    /**
+     * Get total number of rows submitted
+     * @return Row count
+     */
+    public int size() {
+        return outcomes.length;
+    }
+
+    private int count(UpsertOutcome outcome) {
+        int count = 0;
+        for (UpsertOutcome o : outcomes) {
+            if (o == outcome) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,43 @@
+package com.gradeportal.dao;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated query
+ * @param <T> Item type
+ */
+public class Page<T> {
+
+    private final List<T> items;
+    private final String nextCursor;
+
+    Page(List<T> items, String nextCursor) {
+        this.items = Collections.unmodifiableList(items);
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Get the items on this page
+     * @return Unmodifiable list of items
+     */
+    public List<T> getItems() {
+        return items;
+    }
+
+    /**
+     * Get the cursor to pass back for the following page
+     * @return Opaque cursor, or null if this is the last page
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    /**
+     * Check if there are more pages after this one
+     * @return true if another page exists
+     */
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,49 @@
+package com.gradeportal.dao;
+
+/**
+ * Outcome of regrading one chunk of marks
+ */
+public class RegradeChunk {
+
+    private final int lastId;
+    private final int scanned;
+    private final int changed;
+
+    RegradeChunk(int lastId, int scanned, int changed) {
+        this.lastId = lastId;
+        this.scanned = scanned;
+        this.changed = changed;
+    }
+
+    /**
+     * Get the highest mark ID in the chunk, the cursor for the next chunk
+     * @return Last mark ID scanned, or the starting ID if the chunk was empty
+     */
+    public int getLastId() {
+        return lastId;
+    }
+
+    /**
+     * Get number of marks read
+     * @return Scanned row count
+     */
+    public int getScanned() {
+        return scanned;
+    }
+
+    /**
+     * Get number of marks whose grade was rewritten
+     * @return Changed row count
+     */
+    public int getChanged() {
+        return changed;
+    }
+
+    /**
+     * Check whether the end of the marks table was reached
+     * @return true if no marks were left to scan
+     */
+    public boolean isEmpty() {
+        return scanned == 0;
+    }
+}
@@ -0,0 +1,12 @@
+package com.gradeportal.dao;
+
+import java.sql.SQLException;
+
+/**
+ * A database call that may throw SQLException
+ * @param <T> Result type
+ */
+@FunctionalInterface
+public interface SqlCall<T> {
+    T call() throws SQLException;
+}
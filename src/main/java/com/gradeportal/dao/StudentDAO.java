@@ -1,18 +1,28 @@
 package com.gradeportal.dao;
 
 import com.gradeportal.model.Student;
+import com.gradeportal.util.BackgroundTasks;
 import com.gradeportal.util.DatabaseManager;
 
 import java.sql.*;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Data Access Object for Student operations
  */
 public class StudentDAO {
     
+    // Shared by all StudentDAO instances; cleared by the mutators below
+    private static final EntityCache<Student> CACHE = new EntityCache<>(
+            20_000, Student::getId, Student::getRollNumber, StudentDAO::copyOf);
+    
+    // Answers searchStudents once warm; kept current by the mutators below
+    private static final StudentSearchIndex SEARCH_INDEX = new StudentSearchIndex(StudentDAO::copyOf);
+    private static final AtomicBoolean SEARCH_INDEX_BUILDING = new AtomicBoolean(false);
+    
     /**
      * Add a new student to the database
      * @param student Student object to add
@@ -39,6 +49,8 @@ public class StudentDAO {
                         student.setId(generatedKeys.getInt(1));
                     }
                 }
+                CACHE.invalidateAll();
+                SEARCH_INDEX.put(student);
                 return true;
             }
             
@@ -63,7 +75,13 @@ public class StudentDAO {
             pstmt.setString(3, student.getStudentClass());
             pstmt.setInt(4, student.getId());
             
-            return pstmt.executeUpdate() > 0;
+            boolean updated = pstmt.executeUpdate() > 0;
+            CACHE.invalidate(student.getId());
+            if (updated) {
+                SEARCH_INDEX.put(student);
+                Leaderboard.studentUpdatedIfLoaded(student);
+            }
+            return updated;
         }
     }
     
@@ -80,7 +98,14 @@ public class StudentDAO {
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
             pstmt.setInt(1, studentId);
-            return pstmt.executeUpdate() > 0;
+            boolean deleted = pstmt.executeUpdate() > 0;
+            CACHE.invalidate(studentId);
+            if (deleted) {
+                SEARCH_INDEX.remove(studentId);
+                // Marks are removed by ON DELETE CASCADE without passing through MarkDAO
+                MarkDAO.fireMarksInvalidated();
+            }
+            return deleted;
         }
     }
     
@@ -91,6 +116,10 @@ public class StudentDAO {
      * @throws SQLException if database error occurs
      */
     public Student getStudentById(int studentId) throws SQLException {
+        return CACHE.getById(studentId, () -> loadStudentById(studentId));
+    }
+    
+    private Student loadStudentById(int studentId) throws SQLException {
         String sql = "SELECT * FROM students WHERE id = ?";
         
         try (Connection conn = DatabaseManager.getConnection();
@@ -115,6 +144,10 @@ public class StudentDAO {
      * @throws SQLException if database error occurs
      */
     public Student getStudentByRollNumber(String rollNumber) throws SQLException {
+        return CACHE.getByKey(rollNumber, () -> loadStudentByRollNumber(rollNumber));
+    }
+    
+    private Student loadStudentByRollNumber(String rollNumber) throws SQLException {
         String sql = "SELECT * FROM students WHERE roll_number = ?";
         
         try (Connection conn = DatabaseManager.getConnection();
@@ -138,12 +171,16 @@ public class StudentDAO {
      * @throws SQLException if database error occurs
      */
     public List<Student> getAllStudents() throws SQLException {
+        return CACHE.getAll(this::loadAllStudents);
+    }
+    
+    private List<Student> loadAllStudents() throws SQLException {
         String sql = "SELECT * FROM students ORDER BY name";
         List<Student> students = new ArrayList<>();
         
         try (Connection conn = DatabaseManager.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+             PreparedStatement pstmt = conn.prepareStatement(sql);
+             ResultSet rs = pstmt.executeQuery()) {
             
             while (rs.next()) {
                 students.add(mapResultSetToStudent(rs));
@@ -153,6 +190,57 @@ public class StudentDAO {
         return students;
     }
     
+    /**
+     * Get one page of students ordered by name using keyset pagination. The
+     * cost of a page does not depend on how deep into the table it is.
+     * @param cursor Cursor from the previous page, or null for the first page
+     * @param pageSize Maximum number of students to return
+     * @return Page of students and the cursor for the next page
+     * @throws SQLException if database error occurs
+     */
+    public Page<Student> getStudentsPage(String cursor, int pageSize) throws SQLException {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("Page size must be positive: " + pageSize);
+        }
+
+        // Seek past the last (name, id) seen; id breaks ties between equal names
+        String sql = "SELECT * FROM students " +
+                    (cursor == null ? "" : "WHERE name > ? OR (name = ? AND id > ?) ") +
+                    "ORDER BY name, id " +
+                    "LIMIT ?";
+
+        List<Student> students = new ArrayList<>(pageSize + 1);
+
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            int index = 1;
+            if (cursor != null) {
+                KeysetCursor after = KeysetCursor.decode(cursor, 1);
+                pstmt.setString(index++, after.key(0));
+                pstmt.setString(index++, after.key(0));
+                pstmt.setInt(index++, after.id());
+            }
+            // Fetch one extra row to find out whether another page exists
+            pstmt.setInt(index, pageSize + 1);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    students.add(mapResultSetToStudent(rs));
+                }
+            }
+        }
+
+        String nextCursor = null;
+        if (students.size() > pageSize) {
+            students.remove(pageSize);
+            Student last = students.get(pageSize - 1);
+            nextCursor = new KeysetCursor(last.getId(), last.getName()).encode();
+        }
+
+        return new Page<>(students, nextCursor);
+    }
+    
     /**
      * Get students by class
      * @param studentClass Class to filter by
@@ -179,12 +267,43 @@ public class StudentDAO {
     }
     
     /**
-     * Search students by name or roll number
+     * Search students by name or roll number. Served from the in-memory search
+     * index; the database is only queried until the index has been built.
      * @param searchTerm Search term
-     * @return List of matching students
+     * @return List of matching students, best matches first
      * @throws SQLException if database error occurs
      */
     public List<Student> searchStudents(String searchTerm) throws SQLException {
+        if (SEARCH_INDEX.isReady()) {
+            return SEARCH_INDEX.search(searchTerm);
+        }
+        warmSearchIndex();
+        return searchStudentsInDatabase(searchTerm);
+    }
+    
+    /**
+     * Build the student search index in the background if it is not built yet
+     */
+    public void warmSearchIndex() {
+        if (SEARCH_INDEX.isReady() || !SEARCH_INDEX_BUILDING.compareAndSet(false, true)) {
+            return;
+        }
+        BackgroundTasks.execute("student search index", () -> {
+            try {
+                long seen = SEARCH_INDEX.generation();
+                List<Student> students = loadAllStudents();
+                if (SEARCH_INDEX.build(students, seen)) {
+                    System.out.println("✅ Student search index built (" + students.size() + " students)");
+                }
+            } catch (SQLException e) {
+                System.err.println("⚠️ Failed to build student search index: " + e.getMessage());
+            } finally {
+                SEARCH_INDEX_BUILDING.set(false);
+            }
+        });
+    }
+    
+    private List<Student> searchStudentsInDatabase(String searchTerm) throws SQLException {
         String sql = "SELECT * FROM students WHERE name LIKE ? OR roll_number LIKE ? ORDER BY name";
         List<Student> students = new ArrayList<>();
         String searchPattern = "%" + searchTerm + "%";
@@ -240,8 +359,8 @@ public class StudentDAO {
         String sql = "SELECT COUNT(*) FROM students";
         
         try (Connection conn = DatabaseManager.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+             PreparedStatement pstmt = conn.prepareStatement(sql);
+             ResultSet rs = pstmt.executeQuery()) {
             
             if (rs.next()) {
                 return rs.getInt(1);
@@ -277,6 +396,14 @@ public class StudentDAO {
         return null;
     }
     
+    /**
+     * Copy a student so cached instances are never shared with callers
+     */
+    private static Student copyOf(Student student) {
+        return new Student(student.getId(), student.getName(), student.getRollNumber(),
+                student.getStudentClass(), student.getRegistrationDate());
+    }
+    
     /**
      * Map ResultSet to Student object
      * @param rs ResultSet
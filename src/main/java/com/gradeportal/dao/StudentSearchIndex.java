@@ -0,0 +1,295 @@
+package com.gradeportal.dao;
+
+import com.gradeportal.model.Student;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.UnaryOperator;
+
+/**
+ * In-memory search index over student names and roll numbers.
+ *
+ * Terms of three or more characters are matched as substrings: candidates come from
+ * intersecting the trigram postings of the term and are then verified, so the result
+ * is the same as a LIKE '%term%' query. Shorter terms are matched against the start of
+ * the roll number, the name or any word of the name through a sorted token map.
+ * Matches are ranked exact roll number first, then roll number prefix, name prefix,
+ * word prefix and finally substring, each group ordered by name.
+ *
+ * The index is empty ("cold") until {@link #build} is called with every student;
+ * after that it is kept current by {@link #put} and {@link #remove}.
+ */
+class StudentSearchIndex {
+
+    private static final int GRAM = 3;
+
+    private final UnaryOperator<Student> copier;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Guarded by lock
+    private final Map<Integer, Entry> entries = new HashMap<>();
+    private final Map<String, Set<Integer>> trigrams = new HashMap<>();
+    private final TreeMap<String, Set<Integer>> tokens = new TreeMap<>();
+    private boolean ready = false;
+    private long generation = 0;
+
+    StudentSearchIndex(UnaryOperator<Student> copier) {
+        this.copier = copier;
+    }
+
+    /**
+     * Check whether the index has been built and can answer searches
+     */
+    boolean isReady() {
+        lock.readLock().lock();
+        try {
+            return ready;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Get a counter that changes on every write, used to detect writes that
+     * happen while a build is loading students
+     */
+    long generation() {
+        lock.readLock().lock();
+        try {
+            return generation;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Replace the index contents with a full list of students. Ignored if a write
+     * happened since {@code seen} was read, because the list may already be stale.
+     * @return true if the index was built
+     */
+    boolean build(Collection<Student> students, long seen) {
+        lock.writeLock().lock();
+        try {
+            if (generation != seen) {
+                return false;
+            }
+            entries.clear();
+            trigrams.clear();
+            tokens.clear();
+            for (Student student : students) {
+                add(new Entry(copier.apply(student)));
+            }
+            ready = true;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Add a student or replace the indexed copy after an update
+     */
+    void put(Student student) {
+        lock.writeLock().lock();
+        try {
+            generation++;
+            if (!ready) {
+                return;
+            }
+            Entry previous = entries.get(student.getId());
+            Student copy = copier.apply(student);
+            if (previous != null) {
+                unlink(previous);
+                // Updates do not carry the registration date
+                if (copy.getRegistrationDate() == null) {
+                    copy.setRegistrationDate(previous.student.getRegistrationDate());
+                }
+            }
+            add(new Entry(copy));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove a deleted student
+     */
+    void remove(int studentId) {
+        lock.writeLock().lock();
+        try {
+            generation++;
+            Entry previous = entries.get(studentId);
+            if (previous != null) {
+                unlink(previous);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Find students whose name or roll number matches a term
+     * @param term Search term, case-insensitive
+     * @return Ranked copies of the matching students
+     */
+    List<Student> search(String term) {
+        String query = normalize(term);
+        List<Entry> matches = new ArrayList<>();
+
+        lock.readLock().lock();
+        try {
+            if (query.isEmpty()) {
+                matches.addAll(entries.values());
+            } else if (query.length() < GRAM) {
+                Set<Integer> ids = new HashSet<>();
+                for (Set<Integer> posting : tokens.subMap(query, true, query + Character.MAX_VALUE, false).values()) {
+                    ids.addAll(posting);
+                }
+                for (int id : ids) {
+                    matches.add(entries.get(id));
+                }
+            } else {
+                for (int id : candidates(query)) {
+                    Entry entry = entries.get(id);
+                    if (entry.nameKey.contains(query) || entry.rollKey.contains(query)) {
+                        matches.add(entry);
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        matches.sort(Comparator.<Entry>comparingInt(entry -> entry.rank(query))
+                .thenComparing(entry -> entry.nameKey)
+                .thenComparingInt(entry -> entry.student.getId()));
+
+        List<Student> students = new ArrayList<>(matches.size());
+        for (Entry entry : matches) {
+            students.add(copier.apply(entry.student));
+        }
+        return students;
+    }
+
+    /**
+     * Intersect the postings of every trigram in the query, smallest first
+     */
+    private Set<Integer> candidates(String query) {
+        List<Set<Integer>> postings = new ArrayList<>();
+        for (String gram : grams(query)) {
+            Set<Integer> posting = trigrams.get(gram);
+            if (posting == null) {
+                return Set.of();
+            }
+            postings.add(posting);
+        }
+        postings.sort(Comparator.comparingInt(Set::size));
+
+        Set<Integer> result = new HashSet<>(postings.get(0));
+        for (int i = 1; i < postings.size() && !result.isEmpty(); i++) {
+            result.retainAll(postings.get(i));
+        }
+        return result;
+    }
+
+    private void add(Entry entry) {
+        entries.put(entry.student.getId(), entry);
+        for (String gram : entry.grams()) {
+            trigrams.computeIfAbsent(gram, key -> new HashSet<>()).add(entry.student.getId());
+        }
+        for (String token : entry.tokens()) {
+            tokens.computeIfAbsent(token, key -> new HashSet<>()).add(entry.student.getId());
+        }
+    }
+
+    private void unlink(Entry entry) {
+        int id = entry.student.getId();
+        entries.remove(id);
+        for (String gram : entry.grams()) {
+            removePosting(trigrams, gram, id);
+        }
+        for (String token : entry.tokens()) {
+            removePosting(tokens, token, id);
+        }
+    }
+
+    private static void removePosting(Map<String, Set<Integer>> index, String key, int id) {
+        Set<Integer> posting = index.get(key);
+        if (posting != null) {
+            posting.remove(id);
+            if (posting.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * One indexed student with its pre-lowercased search keys
+     */
+    private static final class Entry {
+        final Student student;
+        final String nameKey;
+        final String rollKey;
+
+        Entry(Student student) {
+            this.student = student;
+            this.nameKey = normalize(student.getName());
+            this.rollKey = normalize(student.getRollNumber());
+        }
+
+        Set<String> grams() {
+            Set<String> grams = StudentSearchIndex.grams(nameKey);
+            grams.addAll(StudentSearchIndex.grams(rollKey));
+            return grams;
+        }
+
+        Set<String> tokens() {
+            Set<String> tokens = new HashSet<>();
+            tokens.add(nameKey);
+            tokens.add(rollKey);
+            for (String word : nameKey.split("\\s+")) {
+                if (!word.isEmpty()) {
+                    tokens.add(word);
+                }
+            }
+            return tokens;
+        }
+
+        int rank(String query) {
+            if (rollKey.equals(query)) {
+                return 0;
+            }
+            if (rollKey.startsWith(query)) {
+                return 1;
+            }
+            if (nameKey.startsWith(query)) {
+                return 2;
+            }
+            if (nameKey.contains(" " + query)) {
+                return 3;
+            }
+            return 4;
+        }
+    }
+}
@@ -12,6 +12,10 @@ import java.util.List;
  */
 public class SubjectDAO {
     
+    // Shared by all SubjectDAO instances; cleared by the mutators below
+    private static final EntityCache<Subject> CACHE = new EntityCache<>(
+            5_000, Subject::getId, Subject::getSubjectName, SubjectDAO::copyOf);
+    
     /**
      * Add a new subject to the database
      * @param subject Subject object to add
@@ -36,6 +40,7 @@ public class SubjectDAO {
                         subject.setId(generatedKeys.getInt(1));
                     }
                 }
+                CACHE.invalidateAll();
                 return true;
             }
             
@@ -59,7 +64,9 @@ public class SubjectDAO {
             pstmt.setInt(2, subject.getMaxMarks());
             pstmt.setInt(3, subject.getId());
             
-            return pstmt.executeUpdate() > 0;
+            boolean updated = pstmt.executeUpdate() > 0;
+            CACHE.invalidate(subject.getId());
+            return updated;
         }
     }
     
@@ -76,7 +83,13 @@ public class SubjectDAO {
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
             pstmt.setInt(1, subjectId);
-            return pstmt.executeUpdate() > 0;
+            boolean deleted = pstmt.executeUpdate() > 0;
+            CACHE.invalidate(subjectId);
+            if (deleted) {
+                // Marks are removed by ON DELETE CASCADE without passing through MarkDAO
+                MarkDAO.fireMarksInvalidated();
+            }
+            return deleted;
         }
     }
     
@@ -87,6 +100,10 @@ public class SubjectDAO {
      * @throws SQLException if database error occurs
      */
     public Subject getSubjectById(int subjectId) throws SQLException {
+        return CACHE.getById(subjectId, () -> loadSubjectById(subjectId));
+    }
+    
+    private Subject loadSubjectById(int subjectId) throws SQLException {
         String sql = "SELECT * FROM subjects WHERE id = ?";
         
         try (Connection conn = DatabaseManager.getConnection();
@@ -104,18 +121,50 @@ public class SubjectDAO {
         return null;
     }
     
+    /**
+     * Get a subject by name
+     * @param subjectName Name of subject to retrieve
+     * @return Subject object or null if not found
+     * @throws SQLException if database error occurs
+     */
+    public Subject getSubjectByName(String subjectName) throws SQLException {
+        return CACHE.getByKey(subjectName, () -> loadSubjectByName(subjectName));
+    }
+    
+    private Subject loadSubjectByName(String subjectName) throws SQLException {
+        String sql = "SELECT * FROM subjects WHERE subject_name = ?";
+        
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            pstmt.setString(1, subjectName);
+            
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    return mapResultSetToSubject(rs);
+                }
+            }
+        }
+        
+        return null;
+    }
+    
     /**
      * Get all subjects
      * @return List of all subjects
      * @throws SQLException if database error occurs
      */
     public List<Subject> getAllSubjects() throws SQLException {
+        return CACHE.getAll(this::loadAllSubjects);
+    }
+    
+    private List<Subject> loadAllSubjects() throws SQLException {
         String sql = "SELECT * FROM subjects ORDER BY subject_name";
         List<Subject> subjects = new ArrayList<>();
         
         try (Connection conn = DatabaseManager.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+             PreparedStatement pstmt = conn.prepareStatement(sql);
+             ResultSet rs = pstmt.executeQuery()) {
             
             while (rs.next()) {
                 subjects.add(mapResultSetToSubject(rs));
@@ -160,8 +209,8 @@ public class SubjectDAO {
         String sql = "SELECT COUNT(*) FROM subjects";
         
         try (Connection conn = DatabaseManager.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+             PreparedStatement pstmt = conn.prepareStatement(sql);
+             ResultSet rs = pstmt.executeQuery()) {
             
             if (rs.next()) {
                 return rs.getInt(1);
@@ -171,6 +220,13 @@ public class SubjectDAO {
         return 0;
     }
     
+    /**
+     * Copy a subject so cached instances are never shared with callers
+     */
+    private static Subject copyOf(Subject subject) {
+        return new Subject(subject.getId(), subject.getSubjectName(), subject.getMaxMarks());
+    }
+    
     /**
      * Map ResultSet to Subject object
      * @param rs ResultSet
@@ -0,0 +1,13 @@
+package com.gradeportal.dao;
+
+/**
+ * What an upsert did with one row
+ */
+public enum UpsertOutcome {
+    /** No row existed for the key, so a new one was inserted */
+    INSERTED,
+    /** An existing row was changed */
+    UPDATED,
+    /** An existing row already held the same values, so nothing was written */
+    UNCHANGED
+}
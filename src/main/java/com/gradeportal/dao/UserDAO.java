@@ -0,0 +1,64 @@
+package com.gradeportal.dao;
+
+import com.gradeportal.model.User;
+import com.gradeportal.util.DatabaseManager;
+
+import java.sql.*;
+
+/**
+ * Data Access Object for login accounts
+ */
+public class UserDAO {
+
+    /**
+     * Get an account by username
+     * @param username Username
+     * @return User object or null if not found
+     * @throws SQLException if database error occurs
+     */
+    public User getUserByUsername(String username) throws SQLException {
+        String sql = "SELECT id, username, password, role FROM users WHERE username = ?";
+
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setString(1, username);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    return new User(
+                        rs.getInt("id"),
+                        rs.getString("username"),
+                        rs.getString("password"),
+                        rs.getString("role")
+                    );
+                }
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Replace a stored password, e.g. with a fresh hash. Only replaces the value the
+     * caller verified, so a password changed in the meantime is not overwritten.
+     * @param userId Account ID
+     * @param expected Stored password the caller read
+     * @param password New stored password
+     * @return true if updated, false if the account or its password changed
+     * @throws SQLException if database error occurs
+     */
+    public boolean updatePassword(int userId, String expected, String password) throws SQLException {
+        String sql = "UPDATE users SET password = ? WHERE id = ? AND password = ?";
+
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setString(1, password);
+            pstmt.setInt(2, userId);
+            pstmt.setString(3, expected);
+
+            return pstmt.executeUpdate() > 0;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.gradeportal.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of the figures shown on the dashboard
+ */
+public final class DashboardSnapshot {
+    private final int totalStudents;
+    private final int totalSubjects;
+    private final int totalMarks;
+    private final List<Map<String, Object>> topPerformers;
+    private final Map<String, Integer> gradeDistribution;
+    
+    public DashboardSnapshot(int totalStudents, int totalSubjects,
+                             List<Map<String, Object>> topPerformers,
+                             Map<String, Integer> gradeDistribution) {
+        this.totalStudents = totalStudents;
+        this.totalSubjects = totalSubjects;
+        
+        List<Map<String, Object>> performers = new ArrayList<>(topPerformers.size());
+        for (Map<String, Object> performer : topPerformers) {
+            performers.add(Collections.unmodifiableMap(new LinkedHashMap<>(performer)));
+        }
+        this.topPerformers = Collections.unmodifiableList(performers);
+        this.gradeDistribution = Collections.unmodifiableMap(new LinkedHashMap<>(gradeDistribution));
+        this.totalMarks = gradeDistribution.values().stream().mapToInt(Integer::intValue).sum();
+    }
+    
+    // Getters
+    public int getTotalStudents() {
+        return totalStudents;
+    }
+    
+    public int getTotalSubjects() {
+        return totalSubjects;
+    }
+    
+    public int getTotalMarks() {
+        return totalMarks;
+    }
+    
+    public List<Map<String, Object>> getTopPerformers() {
+        return topPerformers;
+    }
+    
+    public Map<String, Integer> getGradeDistribution() {
+        return gradeDistribution;
+    }
+    
+    @Override
+    public String toString() {
+        return "DashboardSnapshot{" +
+                "totalStudents=" + totalStudents +
+                ", totalSubjects=" + totalSubjects +
+                ", totalMarks=" + totalMarks +
+                ", topPerformers=" + topPerformers.size() +
+                '}';
+    }
+}
@@ -0,0 +1,64 @@
+package com.gradeportal.model;
+
+/**
+ * Model class representing a login account from the users table
+ */
+public class User {
+    private int id;
+    private String username;
+    private String password;
+    private String role;
+
+    // Constructors
+    public User() {
+    }
+
+    public User(int id, String username, String password, String role) {
+        this.id = id;
+        this.username = username;
+        this.password = password;
+        this.role = role;
+    }
+
+    // Getters and Setters
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    /**
+     * Stored password: a PasswordHasher hash, or plaintext for accounts that have not
+     * logged in since passwords were hashed
+     */
+    public String getPassword() {
+        return password;
+    }
+
+    public void setPassword(String password) {
+        this.password = password;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public void setRole(String role) {
+        this.role = role;
+    }
+
+    @Override
+    public String toString() {
+        return username + " (" + role + ")";
+    }
+}
@@ -0,0 +1,324 @@
+package com.gradeportal.service;
+
+import com.gradeportal.dao.StudentDAO;
+import com.gradeportal.dao.UserDAO;
+import com.gradeportal.model.Student;
+import com.gradeportal.model.User;
+import com.gradeportal.util.PasswordHasher;
+
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Checks logins and keeps track of who is logged in.
+ *
+ * Every attempt first passes LoginThrottle, so bursts against one account, or more
+ * logins than the database should take at once, are refused before any query or
+ * hash is run.
+ *
+ * Passwords are verified against salted PBKDF2 hashes (see PasswordHasher). The
+ * account lookup runs on a virtual thread and the hashing on a small fixed pool sized
+ * to the CPU count with a bounded queue, so a burst of logins can neither block the
+ * JavaFX thread nor start more hashes than there are cores: once the queue is full,
+ * further logins fail straight away with a RejectedExecutionException instead of
+ * piling up. Accounts still holding a plaintext password are accepted and their
+ * password is replaced with a hash.
+ *
+ * Every login is checked against the database, so a changed password or role takes
+ * effect at the next login. Passwords are never remembered.
+ *
+ * A successful login starts a session, kept in memory by username, that holds the
+ * account's role and, for students, the ID of their student record. Dashboards read
+ * the session instead of querying the users table again. Sessions expire after
+ * SESSION_TTL_MILLIS without use and end on logout or when the password changes.
+ */
+public class AuthService {
+
+    /** Idle time after which a session expires */
+    public static final long SESSION_TTL_MILLIS = TimeUnit.MINUTES.toMillis(30);
+
+    private static final int HASH_THREADS = Runtime.getRuntime().availableProcessors();
+    private static final int HASH_QUEUE_SIZE = 64;
+
+    private static final ThreadPoolExecutor HASH_POOL = new ThreadPoolExecutor(
+            HASH_THREADS, HASH_THREADS, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(HASH_QUEUE_SIZE), new AuthThreadFactory(),
+            new ThreadPoolExecutor.AbortPolicy());
+
+    private static final ExecutorService LOOKUP_EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+
+    // Shared so every login screen draws on the same budget
+    private static final LoginThrottle THROTTLE = new LoginThrottle();
+
+    // Keyed by lower-case username, matching the users table's collation
+    private static final Map<String, Session> SESSIONS = new ConcurrentHashMap<>();
+
+    private final UserDAO userDAO;
+    private final StudentDAO studentDAO;
+    private final LoginThrottle throttle;
+
+    public AuthService() {
+        this(new UserDAO(), new StudentDAO(), THROTTLE);
+    }
+
+    public AuthService(UserDAO userDAO) {
+        this(userDAO, new StudentDAO(), THROTTLE);
+    }
+
+    public AuthService(UserDAO userDAO, StudentDAO studentDAO, LoginThrottle throttle) {
+        this.userDAO = userDAO;
+        this.studentDAO = studentDAO;
+        this.throttle = throttle;
+    }
+
+    /**
+     * Check a username and password and start a session if they match. The password
+     * array is cleared once the check is done.
+     * @param username Username
+     * @param password Password characters
+     * @return Future with the new session, or null if the credentials are wrong; fails
+     *         with LoginThrottledException if attempts are coming too fast,
+     *         SQLException if the lookup fails, or RejectedExecutionException if too
+     *         many logins are already being checked
+     */
+    public CompletableFuture<Session> login(String username, char[] password) {
+        long wait = throttle.tryAcquire(username);
+        if (wait > 0) {
+            Arrays.fill(password, '\0');
+            System.err.println("⚠️ Login for " + username + " throttled");
+            return CompletableFuture.failedFuture(
+                    new LoginThrottledException(username, TimeUnit.NANOSECONDS.toMillis(wait) + 1));
+        }
+
+        return CompletableFuture
+            .supplyAsync(() -> lookUp(username), LOOKUP_EXECUTOR)
+            .thenApplyAsync(user -> verify(username, user, password), HASH_POOL)
+            .whenComplete((user, error) -> Arrays.fill(password, '\0'))
+            .thenApplyAsync(user -> user != null ? startSession(user) : null, LOOKUP_EXECUTOR);
+    }
+
+    /**
+     * Replace an account's password with a hash of a new one and end the account's
+     * session, so nobody stays logged in on the old password. The password array is
+     * cleared once it is hashed.
+     * @param username Username
+     * @param newPassword New password characters
+     * @return Future with true if the password was changed, or false if the account does
+     *         not exist or its password changed while this ran; fails with SQLException
+     *         if the database cannot be reached
+     */
+    public CompletableFuture<Boolean> changePassword(String username, char[] newPassword) {
+        return CompletableFuture
+            .supplyAsync(() -> lookUp(username), LOOKUP_EXECUTOR)
+            .thenApplyAsync(user -> user != null ? new PasswordChange(user, PasswordHasher.hash(newPassword)) : null,
+                    HASH_POOL)
+            .whenComplete((change, error) -> Arrays.fill(newPassword, '\0'))
+            .thenApplyAsync(change -> change != null && storePassword(change), LOOKUP_EXECUTOR);
+    }
+
+    /**
+     * Get a user's live session, extending it
+     * @param username Username
+     * @return Session or null if the user is not logged in or the session expired
+     */
+    public static Session getSession(String username) {
+        String key = key(username);
+        Session session = SESSIONS.get(key);
+        if (session == null) {
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        if (session.isExpired(now)) {
+            SESSIONS.remove(key, session);
+            return null;
+        }
+        session.touch(now);
+        return session;
+    }
+
+    /**
+     * End a user's session
+     * @param username Username
+     */
+    public static void logout(String username) {
+        SESSIONS.remove(key(username));
+    }
+
+    private User lookUp(String username) {
+        try {
+            return userDAO.getUserByUsername(username);
+        } catch (SQLException e) {
+            throw new CompletionException(e);
+        }
+    }
+
+    /**
+     * Check the password on the hash pool
+     * @return The user if the password matches, otherwise null
+     */
+    private User verify(String username, User user, char[] password) {
+        if (user == null) {
+            // Hash anyway so unknown usernames take as long as wrong passwords
+            PasswordHasher.verify(password, UnknownUser.HASH);
+            return null;
+        }
+        if (!PasswordHasher.verify(password, user.getPassword())) {
+            return null;
+        }
+
+        if (PasswordHasher.needsRehash(user.getPassword())) {
+            String hash = PasswordHasher.hash(password);
+            LOOKUP_EXECUTOR.execute(() -> upgradePassword(user, hash));
+        }
+
+        // A successful login does not use up the username's budget
+        throttle.refund(username);
+        return user;
+    }
+
+    /**
+     * Resolve the student record of a student account once, then keep it in the session
+     */
+    private Session startSession(User user) {
+        int studentId = 0;
+        if ("student".equalsIgnoreCase(user.getRole())) {
+            try {
+                // Student accounts are named after the student's roll number
+                Student student = studentDAO.getStudentByRollNumber(user.getUsername());
+                studentId = student != null ? student.getId() : 0;
+            } catch (SQLException e) {
+                throw new CompletionException(e);
+            }
+        }
+
+        long now = System.currentTimeMillis();
+        SESSIONS.values().removeIf(session -> session.isExpired(now));
+
+        Session session = new Session(user.getId(), user.getUsername(), user.getRole(), studentId,
+                now + SESSION_TTL_MILLIS);
+        SESSIONS.put(key(user.getUsername()), session);
+        return session;
+    }
+
+    private boolean storePassword(PasswordChange change) {
+        try {
+            if (!userDAO.updatePassword(change.user.getId(), change.user.getPassword(), change.hash)) {
+                return false;
+            }
+        } catch (SQLException e) {
+            throw new CompletionException(e);
+        }
+        logout(change.user.getUsername());
+        System.out.println("✅ Password for " + change.user.getUsername() + " changed; session ended.");
+        return true;
+    }
+
+    private static String key(String username) {
+        return username.toLowerCase(Locale.ROOT);
+    }
+
+    private void upgradePassword(User user, String hash) {
+        try {
+            if (userDAO.updatePassword(user.getId(), user.getPassword(), hash)) {
+                System.out.println("✅ Password for " + user.getUsername() + " upgraded to a salted hash.");
+            }
+        } catch (SQLException e) {
+            // Harmless: the old value still works and is upgraded at the next login
+            System.err.println("⚠️ Could not upgrade password for " + user.getUsername() + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * A logged-in user. Sessions expire after SESSION_TTL_MILLIS without use.
+     */
+    public static final class Session {
+        private final int userId;
+        private final String username;
+        private final String role;
+        private final int studentId;
+        private volatile long expiresAt;
+
+        private Session(int userId, String username, String role, int studentId, long expiresAt) {
+            this.userId = userId;
+            this.username = username;
+            this.role = role;
+            this.studentId = studentId;
+            this.expiresAt = expiresAt;
+        }
+
+        public int getUserId() {
+            return userId;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public String getRole() {
+            return role;
+        }
+
+        public boolean isAdmin() {
+            return "admin".equalsIgnoreCase(role);
+        }
+
+        public boolean isStudent() {
+            return "student".equalsIgnoreCase(role);
+        }
+
+        /**
+         * Get the ID of the student record of a student account
+         * @return Student ID, or 0 if the account is not a student or has no record
+         */
+        public int getStudentId() {
+            return studentId;
+        }
+
+        private boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+
+        private void touch(long now) {
+            expiresAt = now + SESSION_TTL_MILLIS;
+        }
+    }
+
+    /**
+     * A password hashed for an account, waiting to be stored
+     */
+    private record PasswordChange(User user, String hash) {
+    }
+
+    /**
+     * Hash checked for unknown usernames; created on first use
+     */
+    private static final class UnknownUser {
+        static final String HASH = PasswordHasher.hash("unknown-user".toCharArray());
+    }
+
+    /**
+     * Daemon threads so a pending hash never keeps the application from exiting
+     */
+    private static final class AuthThreadFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "gradeportal-auth-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
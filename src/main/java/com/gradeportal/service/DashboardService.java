@@ -0,0 +1,46 @@
+package com.gradeportal.service;
+
+import com.gradeportal.dao.AsyncDAO;
+import com.gradeportal.model.DashboardSnapshot;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Loads the dashboard aggregates concurrently and assembles them into one snapshot
+ */
+public class DashboardService {
+    
+    /** Number of students shown in the top performers list */
+    public static final int TOP_PERFORMER_LIMIT = 10;
+    
+    private final AsyncDAO asyncDAO;
+    
+    public DashboardService() {
+        this(new AsyncDAO());
+    }
+    
+    public DashboardService(AsyncDAO asyncDAO) {
+        this.asyncDAO = asyncDAO;
+    }
+    
+    /**
+     * Run all dashboard queries in parallel. The returned future completes when the
+     * slowest query finishes, or exceptionally as soon as the snapshot cannot be built.
+     * @return Future snapshot
+     */
+    public CompletableFuture<DashboardSnapshot> loadSnapshot() {
+        CompletableFuture<Integer> students = asyncDAO.getTotalStudentCount();
+        CompletableFuture<Integer> subjects = asyncDAO.getTotalSubjectCount();
+        CompletableFuture<List<Map<String, Object>>> topPerformers = asyncDAO.getTopPerformers(TOP_PERFORMER_LIMIT);
+        CompletableFuture<Map<String, Integer>> distribution = asyncDAO.getGradeDistribution();
+        
+        return CompletableFuture.allOf(students, subjects, topPerformers, distribution)
+            .thenApply(ignored -> new DashboardSnapshot(
+                students.join(),
+                subjects.join(),
+                topPerformers.join(),
+                distribution.join()));
+    }
+}
@@ -0,0 +1,164 @@
+package com.gradeportal.service;
+
+import com.gradeportal.dao.MarkDAO;
+import com.gradeportal.model.Mark;
+import com.gradeportal.model.Student;
+import com.gradeportal.util.CsvWriter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Writes marks to CSV files.
+ *
+ * Full exports stream rows from the database cursor straight into a CsvWriter, so
+ * neither the result set nor the file contents are ever held in memory.
+ */
+public class ExportService {
+    
+    private static final ExecutorService EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+    
+    private static final String[] RESULTS_HEADER = {
+        "Student Name", "Roll Number", "Subject", "Marks", "Grade", "Entry Date"
+    };
+    
+    private final MarkDAO markDAO;
+    
+    public ExportService() {
+        this(new MarkDAO());
+    }
+    
+    public ExportService(MarkDAO markDAO) {
+        this.markDAO = markDAO;
+    }
+    
+    /**
+     * Export every mark in the database
+     * @param file Target file
+     * @return Number of marks written
+     * @throws IOException if writing fails
+     * @throws SQLException if reading fails
+     */
+    public int exportAllMarks(Path file) throws IOException, SQLException {
+        try (CsvWriter writer = new CsvWriter(file)) {
+            writer.row(RESULTS_HEADER);
+            return stream(() -> markDAO.streamAllMarks(mark -> writeResult(writer, mark)));
+        }
+    }
+    
+    /**
+     * Export a list of marks that is already in memory, e.g. a filtered view
+     * @param file Target file
+     * @param marks Marks to write
+     * @return Number of marks written
+     * @throws IOException if writing fails
+     */
+    public int exportMarks(Path file, Iterable<Mark> marks) throws IOException {
+        int count = 0;
+        try (CsvWriter writer = new CsvWriter(file)) {
+            writer.row(RESULTS_HEADER);
+            for (Mark mark : marks) {
+                writeResultRow(writer, mark);
+                count++;
+            }
+        }
+        return count;
+    }
+    
+    /**
+     * Export a student's grade report, streaming the student's marks from the database
+     * @param file Target file
+     * @param student Student to report on
+     * @return Number of marks written
+     * @throws IOException if writing fails
+     * @throws SQLException if reading fails
+     */
+    public int exportStudentReport(Path file, Student student) throws IOException, SQLException {
+        try (CsvWriter writer = new CsvWriter(file)) {
+            writer.row("Student Grade Report");
+            writer.row("Name: " + student.getName());
+            writer.row("Roll Number: " + student.getRollNumber());
+            writer.row("Class: " + student.getStudentClass());
+            writer.row("Report Date: " + LocalDate.now());
+            writer.endRow();
+            
+            writer.row("Subject", "Marks", "Grade", "Date");
+            return stream(() -> markDAO.streamMarksByStudentId(student.getId(), mark -> {
+                try {
+                    writer.field(mark.getSubjectName())
+                          .field(mark.getMarksObtained(), 1)
+                          .field(mark.getGrade())
+                          .field(mark.getEntryDate())
+                          .endRow();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }));
+        }
+    }
+    
+    /**
+     * Run an export on a virtual thread
+     * @param export Export to run
+     * @return Future completed with the number of marks written
+     */
+    public CompletableFuture<Integer> runAsync(Export export) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return export.run(this);
+            } catch (IOException | SQLException e) {
+                throw new CompletionException(e);
+            }
+        }, EXECUTOR);
+    }
+    
+    /**
+     * An export that can be run by runAsync()
+     */
+    @FunctionalInterface
+    public interface Export {
+        int run(ExportService service) throws IOException, SQLException;
+    }
+    
+    private static void writeResult(CsvWriter writer, Mark mark) {
+        try {
+            writeResultRow(writer, mark);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    private static void writeResultRow(CsvWriter writer, Mark mark) throws IOException {
+        writer.field(mark.getStudentName())
+              .field(mark.getRollNumber())
+              .field(mark.getSubjectName())
+              .field(mark.getMarksObtained(), 1)
+              .field(mark.getGrade())
+              .field(mark.getEntryDate())
+              .endRow();
+    }
+    
+    /**
+     * Run a streaming DAO call whose consumer writes to a file, surfacing write
+     * failures as IOException again
+     */
+    private static int stream(StreamCall call) throws IOException, SQLException {
+        try {
+            return call.run();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+    
+    @FunctionalInterface
+    private interface StreamCall {
+        int run() throws SQLException;
+    }
+}
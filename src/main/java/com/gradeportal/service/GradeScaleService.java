@@ -0,0 +1,57 @@
+package com.gradeportal.service;
+
+import com.gradeportal.dao.GradeScaleDAO;
+import com.gradeportal.util.BackgroundTasks;
+import com.gradeportal.util.GradeCalculator;
+import com.gradeportal.util.GradeScaleSet;
+
+import java.sql.SQLException;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Loads grade scales from the database and publishes them to GradeCalculator.
+ * A reload compiles the new scales off to the side and swaps them in atomically;
+ * grading continues on the previous scales in the meantime.
+ */
+public class GradeScaleService {
+    
+    private final GradeScaleDAO gradeScaleDAO;
+    
+    public GradeScaleService() {
+        this(new GradeScaleDAO());
+    }
+    
+    public GradeScaleService(GradeScaleDAO gradeScaleDAO) {
+        this.gradeScaleDAO = gradeScaleDAO;
+    }
+    
+    /**
+     * Reload grade scales and install them
+     * @return Installed scales
+     * @throws SQLException if loading fails; the current scales stay in use
+     */
+    public GradeScaleSet reload() throws SQLException {
+        GradeScaleSet scales = gradeScaleDAO.loadGradeScales();
+        GradeCalculator.install(scales);
+        return scales;
+    }
+    
+    /**
+     * Reload grade scales on the background thread. Failures are logged and the
+     * current scales stay in use.
+     * @return Future completed with the installed scales, or with the failure
+     */
+    public CompletableFuture<GradeScaleSet> reloadInBackground() {
+        CompletableFuture<GradeScaleSet> result = new CompletableFuture<>();
+        BackgroundTasks.execute("grade scale reload", () -> {
+            try {
+                result.complete(reload());
+                System.out.println("✅ Grade scales loaded.");
+            } catch (SQLException e) {
+                System.err.println("⚠️ Failed to reload grade scales, keeping the current scales: " + e.getMessage());
+                result.completeExceptionally(e);
+            }
+        });
+        return result;
+    }
+}
@@ -0,0 +1,144 @@
+package com.gradeportal.service;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Limits how fast logins are attempted, before they reach the database.
+ *
+ * Two token buckets are checked in turn: one per username, which stops guessing at a
+ * single account, and one shared by all logins, which caps the load a burst of
+ * terminals can put on MySQL. An attempt the global bucket refuses gets its username
+ * token back, so a busy system does not also lock users out of their own accounts.
+ * Both are kept as a generic cell rate algorithm: each bucket is a single long, the
+ * time at which it will be full again, so an attempt is one compare-and-set and
+ * tokens come back with time without any sweeping.
+ *
+ * Usernames are hashed into a fixed array of stripes rather than kept in a map, so
+ * memory stays constant however many names are tried. Usernames sharing a stripe
+ * share a budget, which only ever makes the limit stricter. Stripes are spaced a
+ * cache line apart so logins for different users do not contend.
+ */
+public final class LoginThrottle {
+
+    private static final int STRIPES = 1024;
+    // Longs per 64-byte cache line
+    private static final int PADDING = 8;
+
+    private final long userInterval;
+    private final long userTolerance;
+    private final long globalInterval;
+    private final long globalTolerance;
+    private final AtomicLongArray userBuckets = new AtomicLongArray(STRIPES * PADDING);
+    private final AtomicLong globalBucket = new AtomicLong();
+    private final LongSupplier clock;
+    private final long origin;
+
+    /**
+     * Default limits: bursts of 5 attempts per username, then one every 10 seconds;
+     * bursts of 50 attempts overall, then 20 a second
+     */
+    public LoginThrottle() {
+        this(5, TimeUnit.SECONDS.toNanos(10), 50, TimeUnit.SECONDS.toNanos(1) / 20);
+    }
+
+    /**
+     * @param userBurst Attempts a username may make at once
+     * @param userIntervalNanos Time for a username to earn another attempt
+     * @param globalBurst Attempts all usernames together may make at once
+     * @param globalIntervalNanos Time for all usernames together to earn another attempt
+     */
+    public LoginThrottle(int userBurst, long userIntervalNanos, int globalBurst, long globalIntervalNanos) {
+        this(userBurst, userIntervalNanos, globalBurst, globalIntervalNanos, System::nanoTime);
+    }
+
+    LoginThrottle(int userBurst, long userIntervalNanos, int globalBurst, long globalIntervalNanos,
+                  LongSupplier clock) {
+        if (userBurst < 1 || globalBurst < 1 || userIntervalNanos < 1 || globalIntervalNanos < 1) {
+            throw new IllegalArgumentException("Bursts and intervals must be positive");
+        }
+        this.userInterval = userIntervalNanos;
+        this.userTolerance = userIntervalNanos * (userBurst - 1);
+        this.globalInterval = globalIntervalNanos;
+        this.globalTolerance = globalIntervalNanos * (globalBurst - 1);
+        this.clock = clock;
+        // Buckets start at 0, so measure time from here to keep it non-negative
+        this.origin = clock.getAsLong();
+    }
+
+    /**
+     * Take an attempt for a username, if both its bucket and the global one allow it
+     * @param username Username being logged in to
+     * @return 0 if the attempt may go ahead, otherwise nanoseconds until it would be allowed
+     */
+    public long tryAcquire(String username) {
+        long now = clock.getAsLong() - origin;
+
+        int stripe = stripe(username);
+        long wait = take(userBuckets, stripe, userInterval, userTolerance, now);
+        if (wait > 0) {
+            return wait;
+        }
+
+        // Per-user refusals must not spend the shared budget, so the global bucket is
+        // taken second and the user token refunded if it says no
+        wait = take(globalBucket, globalInterval, globalTolerance, now);
+        if (wait > 0) {
+            userBuckets.addAndGet(stripe, -userInterval);
+        }
+        return wait;
+    }
+
+    /**
+     * Give back the attempt a username just took, e.g. after it logged in successfully,
+     * so only failed attempts count against it. Only that one token comes back: other
+     * usernames sharing the stripe keep whatever they have spent, so logging in to one
+     * account cannot refill the budget for guessing at another.
+     * @param username Username that took an attempt with tryAcquire
+     */
+    public void refund(String username) {
+        userBuckets.addAndGet(stripe(username), -userInterval);
+    }
+
+    private static long take(AtomicLongArray buckets, int index, long interval, long tolerance, long now) {
+        while (true) {
+            long full = buckets.get(index);
+            long next = Math.max(full, now) + interval;
+            long wait = next - now - tolerance - interval;
+            if (wait > 0) {
+                return wait;
+            }
+            if (buckets.compareAndSet(index, full, next)) {
+                return 0L;
+            }
+        }
+    }
+
+    private static long take(AtomicLong bucket, long interval, long tolerance, long now) {
+        while (true) {
+            long full = bucket.get();
+            long next = Math.max(full, now) + interval;
+            long wait = next - now - tolerance - interval;
+            if (wait > 0) {
+                return wait;
+            }
+            if (bucket.compareAndSet(full, next)) {
+                return 0L;
+            }
+        }
+    }
+
+    /**
+     * Index of a username's stripe; case-insensitive like the users table's collation
+     */
+    private static int stripe(String username) {
+        int hash = username.toLowerCase(Locale.ROOT).hashCode();
+        hash ^= hash >>> 16;
+        hash *= 0x45d9f3b;
+        hash ^= hash >>> 16;
+        return (hash & (STRIPES - 1)) * PADDING;
+    }
+}
@@ -0,0 +1,23 @@
+package com.gradeportal.service;
+
+/**
+ * Thrown when a login is refused by LoginThrottle before the password is checked
+ */
+public class LoginThrottledException extends Exception {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long retryAfterMillis;
+
+    public LoginThrottledException(String username, long retryAfterMillis) {
+        super("Too many login attempts for " + username);
+        this.retryAfterMillis = retryAfterMillis;
+    }
+
+    /**
+     * @return Milliseconds until another attempt would be allowed
+     */
+    public long getRetryAfterMillis() {
+        return retryAfterMillis;
+    }
+}
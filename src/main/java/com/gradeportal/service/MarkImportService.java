@@ -0,0 +1,525 @@
+package com.gradeportal.service;
+
+import com.gradeportal.dao.MarkBatchResult;
+import com.gradeportal.dao.MarkDAO;
+import com.gradeportal.dao.MarkUpsertResult;
+import com.gradeportal.dao.StudentDAO;
+import com.gradeportal.dao.SubjectDAO;
+import com.gradeportal.model.Mark;
+import com.gradeportal.model.Student;
+import com.gradeportal.model.Subject;
+import com.gradeportal.util.CsvReader;
+import com.gradeportal.util.CsvWriter;
+import com.gradeportal.util.GradeCalculator;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Bulk import of marks from CSV files.
+ *
+ * The file needs a header row with Roll Number, Subject and Marks columns and may have
+ * an Entry Date column (yyyy-MM-dd); other columns, such as those of a results export,
+ * are ignored. The import runs as a three-stage pipeline connected by bounded queues:
+ * <ol>
+ *   <li>a reader thread parses the file in batches</li>
+ *   <li>a resolver thread maps roll numbers and subject names to IDs through in-memory
+ *       maps, computes grades and validates each mark</li>
+ *   <li>the calling thread writes valid marks in batches, either updating marks that
+ *       already exist for the same student and subject or rejecting those rows</li>
+ * </ol>
+ * Rows that cannot be imported are collected with a reason and can be written to a
+ * rejected-rows report.
+ */
+public class MarkImportService {
+
+    /** Rows per pipeline batch and per write transaction */
+    public static final int BATCH_SIZE = MarkDAO.DEFAULT_BATCH_SIZE;
+
+    private static final int QUEUE_CAPACITY = 8;
+    private static final long POLL_MILLIS = 100;
+    private static final List<Row> END = Collections.emptyList();
+
+    private final MarkDAO markDAO;
+    private final StudentDAO studentDAO;
+    private final SubjectDAO subjectDAO;
+
+    public MarkImportService() {
+        this(new MarkDAO(), new StudentDAO(), new SubjectDAO());
+    }
+
+    public MarkImportService(MarkDAO markDAO, StudentDAO studentDAO, SubjectDAO subjectDAO) {
+        this.markDAO = markDAO;
+        this.studentDAO = studentDAO;
+        this.subjectDAO = subjectDAO;
+    }
+
+    /**
+     * Import marks from a CSV file, updating marks that already exist
+     * @param file CSV file to read
+     * @return Counts and rejected rows
+     * @throws IOException if the file cannot be read or lacks a required column
+     * @throws SQLException if writing fails; batches written before the failure stay committed
+     */
+    public Result importMarks(Path file) throws IOException, SQLException {
+        return importMarks(file, true);
+    }
+
+    /**
+     * Import marks from a CSV file
+     * @param file CSV file to read
+     * @param updateExisting true to update marks that already exist for the same student
+     *        and subject, false to keep them and reject those rows
+     * @return Counts and rejected rows
+     * @throws IOException if the file cannot be read or lacks a required column
+     * @throws SQLException if writing fails; batches written before the failure stay committed
+     */
+    public Result importMarks(Path file, boolean updateExisting) throws IOException, SQLException {
+        // Lookup maps are built once; every row is then resolved without a query
+        Map<String, Student> studentsByRoll = new HashMap<>();
+        for (Student student : studentDAO.getAllStudents()) {
+            studentsByRoll.put(student.getRollNumber().trim(), student);
+        }
+        Map<String, Subject> subjectsByName = new HashMap<>();
+        for (Subject subject : subjectDAO.getAllSubjects()) {
+            subjectsByName.put(subject.getSubjectName().trim().toLowerCase(Locale.ROOT), subject);
+        }
+
+        try (CsvReader reader = new CsvReader(file)) {
+            List<String> header = reader.readRow();
+            if (header == null) {
+                throw new IOException("The file is empty");
+            }
+            Columns columns = Columns.of(header);
+
+            Pipeline pipeline = new Pipeline(reader, columns, studentsByRoll, subjectsByName, updateExisting);
+            return pipeline.run(header);
+        }
+    }
+
+    /**
+     * State shared by the stages of one import
+     */
+    private final class Pipeline {
+        private final CsvReader reader;
+        private final Columns columns;
+        private final Map<String, Student> studentsByRoll;
+        private final Map<String, Subject> subjectsByName;
+        private final boolean updateExisting;
+
+        private final BlockingQueue<List<Row>> parsed = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+        private final BlockingQueue<List<Row>> resolved = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+        private volatile boolean stopped = false;
+
+        // Written by the reader and resolver threads, read after they have finished
+        private int rowsRead = 0;
+        private final List<Rejection> resolveRejections = new ArrayList<>();
+
+        // Written by the calling thread
+        private int inserted = 0;
+        private int updated = 0;
+        private int unchanged = 0;
+
+        Pipeline(CsvReader reader, Columns columns, Map<String, Student> studentsByRoll,
+                 Map<String, Subject> subjectsByName, boolean updateExisting) {
+            this.reader = reader;
+            this.columns = columns;
+            this.studentsByRoll = studentsByRoll;
+            this.subjectsByName = subjectsByName;
+            this.updateExisting = updateExisting;
+        }
+
+        Result run(List<String> header) throws IOException, SQLException {
+            Thread readerThread = Thread.ofVirtual().name("mark-import-reader").start(this::readStage);
+            Thread resolverThread = Thread.ofVirtual().name("mark-import-resolver").start(this::resolveStage);
+
+            List<Rejection> writeRejections = new ArrayList<>();
+            try {
+                writeStage(writeRejections);
+            } catch (SQLException | RuntimeException e) {
+                stopped = true;
+                throw e;
+            } finally {
+                join(readerThread);
+                join(resolverThread);
+            }
+
+            Throwable error = failure.get();
+            if (error instanceof IOException) {
+                throw (IOException) error;
+            }
+            if (error != null) {
+                throw new IOException("Import failed: " + error.getMessage(), error);
+            }
+
+            List<Rejection> rejections = new ArrayList<>(resolveRejections);
+            rejections.addAll(writeRejections);
+            rejections.sort((a, b) -> Long.compare(a.getLine(), b.getLine()));
+            return new Result(header, rowsRead, inserted, updated, unchanged, rejections);
+        }
+
+        /**
+         * Stage 1: parse the file into batches of raw rows
+         */
+        private void readStage() {
+            try {
+                List<Row> batch = new ArrayList<>(BATCH_SIZE);
+                List<String> fields;
+                while (!stopped && (fields = reader.readRow()) != null) {
+                    batch.add(new Row(reader.getRowLine(), fields));
+                    rowsRead++;
+                    if (batch.size() == BATCH_SIZE) {
+                        put(parsed, batch);
+                        batch = new ArrayList<>(BATCH_SIZE);
+                    }
+                }
+                if (!batch.isEmpty()) {
+                    put(parsed, batch);
+                }
+            } catch (IOException | RuntimeException e) {
+                fail(e);
+            } finally {
+                put(parsed, END);
+            }
+        }
+
+        /**
+         * Stage 2: resolve IDs, grade and validate
+         */
+        private void resolveStage() {
+            try {
+                List<Row> batch;
+                while ((batch = take(parsed)) != END) {
+                    List<Row> valid = new ArrayList<>(batch.size());
+                    for (Row row : batch) {
+                        String problem = resolve(row);
+                        if (problem != null) {
+                            resolveRejections.add(new Rejection(row.line, problem, row.fields));
+                        } else {
+                            valid.add(row);
+                        }
+                    }
+                    if (!valid.isEmpty()) {
+                        put(resolved, valid);
+                    }
+                }
+            } catch (RuntimeException e) {
+                fail(e);
+            } finally {
+                put(resolved, END);
+            }
+        }
+
+        /**
+         * Build the mark for a row
+         * @return Reason the row is rejected, or null if row.mark was set
+         */
+        private String resolve(Row row) {
+            String rollNumber = columns.value(row.fields, columns.rollNumber);
+            String subjectName = columns.value(row.fields, columns.subject);
+            String marksText = columns.value(row.fields, columns.marks);
+            String dateText = columns.value(row.fields, columns.entryDate);
+
+            Student student = studentsByRoll.get(rollNumber);
+            if (student == null) {
+                return rollNumber.isEmpty() ? "Missing roll number" : "Unknown roll number: " + rollNumber;
+            }
+            Subject subject = subjectsByName.get(subjectName.toLowerCase(Locale.ROOT));
+            if (subject == null) {
+                return subjectName.isEmpty() ? "Missing subject" : "Unknown subject: " + subjectName;
+            }
+
+            double marks;
+            try {
+                marks = Double.parseDouble(marksText);
+            } catch (NumberFormatException e) {
+                return "Invalid marks: " + marksText;
+            }
+
+            LocalDate entryDate = LocalDate.now();
+            if (!dateText.isEmpty()) {
+                try {
+                    entryDate = LocalDate.parse(dateText);
+                } catch (DateTimeParseException e) {
+                    return "Invalid entry date: " + dateText;
+                }
+            }
+
+            Mark mark = new Mark();
+            mark.setStudentId(student.getId());
+            mark.setSubjectId(subject.getId());
+            mark.setMarksObtained(marks);
+            mark.setGrade(GradeCalculator.calculateGrade(marks, subject.getId(), student.getStudentClass()));
+            mark.setEntryDate(entryDate);
+
+            if (!mark.isValid()) {
+                return "Marks must be between 0 and 100";
+            }
+            row.mark = mark;
+            return null;
+        }
+
+        /**
+         * Stage 3: write valid marks in batches
+         */
+        private void writeStage(List<Rejection> rejections) throws SQLException {
+            List<Row> batch;
+            while ((batch = take(resolved)) != END) {
+                List<Mark> marks = new ArrayList<>(batch.size());
+                for (Row row : batch) {
+                    marks.add(row.mark);
+                }
+
+                if (updateExisting) {
+                    MarkUpsertResult result = markDAO.upsertMarks(marks, BATCH_SIZE);
+                    inserted += result.getInsertedCount();
+                    updated += result.getUpdatedCount();
+                    unchanged += result.getUnchangedCount();
+                    continue;
+                }
+
+                MarkBatchResult result = markDAO.addMarks(marks, BATCH_SIZE);
+                inserted += result.getInsertedCount();
+                for (int i : result.getDuplicateRows()) {
+                    Row row = batch.get(i);
+                    rejections.add(new Rejection(row.line,
+                        "Marks already exist for this student and subject", row.fields));
+                }
+                for (int i : result.getRejectedRows()) {
+                    Row row = batch.get(i);
+                    rejections.add(new Rejection(row.line, result.getRejectionReason(i), row.fields));
+                }
+            }
+        }
+
+        private void fail(Throwable error) {
+            failure.compareAndSet(null, error);
+            stopped = true;
+        }
+
+        /**
+         * Hand a batch to the next stage, giving up if the import was stopped
+         */
+        private void put(BlockingQueue<List<Row>> queue, List<Row> batch) {
+            try {
+                while (!queue.offer(batch, POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                    if (stopped && batch != END) {
+                        return;
+                    }
+                    if (stopped) {
+                        // Make room so the end marker always gets through
+                        queue.clear();
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail(e);
+            }
+        }
+
+        private List<Row> take(BlockingQueue<List<Row>> queue) {
+            try {
+                List<Row> batch = queue.take();
+                return stopped && batch != END ? List.of() : batch;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail(e);
+                return END;
+            }
+        }
+
+        private void join(Thread thread) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                stopped = true;
+            }
+        }
+    }
+
+    /**
+     * Positions of the recognized columns in the header
+     */
+    private static final class Columns {
+        final int rollNumber;
+        final int subject;
+        final int marks;
+        final int entryDate;
+
+        private Columns(int rollNumber, int subject, int marks, int entryDate) {
+            this.rollNumber = rollNumber;
+            this.subject = subject;
+            this.marks = marks;
+            this.entryDate = entryDate;
+        }
+
+        static Columns of(List<String> header) throws IOException {
+            return new Columns(
+                required(header, "roll number"),
+                required(header, "subject"),
+                required(header, "marks"),
+                find(header, "entry date"));
+        }
+
+        private static int required(List<String> header, String name) throws IOException {
+            int index = find(header, name);
+            if (index < 0) {
+                throw new IOException("Missing column: " + name);
+            }
+            return index;
+        }
+
+        private static int find(List<String> header, String name) {
+            for (int i = 0; i < header.size(); i++) {
+                if (header.get(i).trim().equalsIgnoreCase(name)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        String value(List<String> fields, int index) {
+            return index >= 0 && index < fields.size() ? fields.get(index).trim() : "";
+        }
+    }
+
+    /**
+     * One data row travelling through the pipeline
+     */
+    private static final class Row {
+        final long line;
+        final List<String> fields;
+        Mark mark;
+
+        Row(long line, List<String> fields) {
+            this.line = line;
+            this.fields = fields;
+        }
+    }
+
+    /**
+     * A row that was not imported
+     */
+    public static final class Rejection {
+        private final long line;
+        private final String reason;
+        private final List<String> fields;
+
+        Rejection(long line, String reason, List<String> fields) {
+            this.line = line;
+            this.reason = reason;
+            this.fields = fields;
+        }
+
+        public long getLine() {
+            return line;
+        }
+
+        public String getReason() {
+            return reason;
+        }
+
+        public List<String> getFields() {
+            return Collections.unmodifiableList(fields);
+        }
+    }
+
+    /**
+     * Outcome of an import
+     */
+    public static final class Result {
+        private final List<String> header;
+        private final int rowsRead;
+        private final int inserted;
+        private final int updated;
+        private final int unchanged;
+        private final List<Rejection> rejections;
+
+        Result(List<String> header, int rowsRead, int inserted, int updated, int unchanged,
+               List<Rejection> rejections) {
+            this.header = header;
+            this.rowsRead = rowsRead;
+            this.inserted = inserted;
+            this.updated = updated;
+            this.unchanged = unchanged;
+            this.rejections = Collections.unmodifiableList(rejections);
+        }
+
+        public int getRowsRead() {
+            return rowsRead;
+        }
+
+        /**
+         * Get the number of rows that were not rejected: inserted, updated or unchanged
+         */
+        public int getImported() {
+            return inserted + updated + unchanged;
+        }
+
+        /**
+         * Get the number of rows added as new marks
+         */
+        public int getInserted() {
+            return inserted;
+        }
+
+        /**
+         * Get the number of rows that changed an existing mark
+         */
+        public int getUpdated() {
+            return updated;
+        }
+
+        /**
+         * Get the number of rows that matched an existing mark exactly
+         */
+        public int getUnchanged() {
+            return unchanged;
+        }
+
+        /**
+         * Get rejected rows ordered by line number
+         */
+        public List<Rejection> getRejections() {
+            return rejections;
+        }
+
+        /**
+         * Write the rejected rows as CSV: line number, reason, then the original columns
+         * @param file Target file
+         * @throws IOException if writing fails
+         */
+        public void writeRejectedReport(Path file) throws IOException {
+            try (CsvWriter writer = new CsvWriter(file)) {
+                writer.field("Line").field("Reason");
+                for (String column : header) {
+                    writer.field(column);
+                }
+                writer.endRow();
+
+                for (Rejection rejection : rejections) {
+                    writer.field(rejection.line).field(rejection.reason);
+                    for (String value : rejection.fields) {
+                        writer.field(value);
+                    }
+                    writer.endRow();
+                }
+            }
+        }
+    }
+}
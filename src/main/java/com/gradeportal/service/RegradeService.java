@@ -0,0 +1,214 @@
+package com.gradeportal.service;
+
+import com.gradeportal.dao.MarkDAO;
+import com.gradeportal.dao.RegradeChunk;
+import com.gradeportal.model.Mark;
+import com.gradeportal.util.ConnectionPool;
+import com.gradeportal.util.DatabaseManager;
+import com.gradeportal.util.GradeCalculator;
+import com.gradeportal.util.GradeScaleSet;
+
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.BiFunction;
+
+/**
+ * Recomputes stored grades after grade scales change.
+ *
+ * Marks are walked in ID order in chunks. Each chunk is read without locks and only
+ * rows whose grade actually changed are written back, in one statement that skips
+ * rows edited since they were read. Between chunks the job sleeps in proportion to the time the chunk took,
+ * and backs off further while the connection pool is busy, so it can run while
+ * teachers are using the application.
+ *
+ * Jobs run on the calling thread; interrupt the thread to stop a job between chunks.
+ */
+public class RegradeService {
+    
+    /** Marks per chunk (and per transaction) */
+    public static final int DEFAULT_CHUNK_SIZE = 500;
+    
+    /** Share of wall-clock time the job may spend working; the rest is spent sleeping */
+    public static final double DEFAULT_DUTY_CYCLE = 0.5;
+    
+    private static final long MIN_PAUSE_MILLIS = 5;
+    private static final long BUSY_BACKOFF_MILLIS = 50;
+    private static final int MAX_BUSY_BACKOFFS = 20;
+    
+    private final MarkDAO markDAO;
+    private final int chunkSize;
+    private final double dutyCycle;
+    
+    public RegradeService() {
+        this(new MarkDAO(), DEFAULT_CHUNK_SIZE, DEFAULT_DUTY_CYCLE);
+    }
+    
+    /**
+     * @param markDAO Mark data access
+     * @param chunkSize Marks per chunk and transaction
+     * @param dutyCycle Share of time spent working, in (0, 1]; 1 disables throttling
+     */
+    public RegradeService(MarkDAO markDAO, int chunkSize, double dutyCycle) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be positive: " + chunkSize);
+        }
+        if (!(dutyCycle > 0 && dutyCycle <= 1)) {
+            throw new IllegalArgumentException("Duty cycle must be in (0, 1]: " + dutyCycle);
+        }
+        this.markDAO = markDAO;
+        this.chunkSize = chunkSize;
+        this.dutyCycle = dutyCycle;
+    }
+    
+    /**
+     * Regrade every mark
+     * @param onProgress Called after each chunk, may be null
+     * @return Final progress
+     * @throws SQLException if a chunk fails; earlier chunks stay committed
+     * @throws InterruptedException if the thread was interrupted between chunks
+     */
+    public Progress regradeAll(Consumer<Progress> onProgress) throws SQLException, InterruptedException {
+        return run(null, null, onProgress);
+    }
+    
+    /**
+     * Regrade the marks of one subject
+     * @param subjectId Subject ID
+     * @param onProgress Called after each chunk, may be null
+     * @return Final progress
+     * @throws SQLException if a chunk fails; earlier chunks stay committed
+     * @throws InterruptedException if the thread was interrupted between chunks
+     */
+    public Progress regradeSubject(int subjectId, Consumer<Progress> onProgress)
+            throws SQLException, InterruptedException {
+        return run(subjectId, null, onProgress);
+    }
+    
+    /**
+     * Regrade the marks of the students in one class
+     * @param studentClass Class name
+     * @param onProgress Called after each chunk, may be null
+     * @return Final progress
+     * @throws SQLException if a chunk fails; earlier chunks stay committed
+     * @throws InterruptedException if the thread was interrupted between chunks
+     */
+    public Progress regradeClass(String studentClass, Consumer<Progress> onProgress)
+            throws SQLException, InterruptedException {
+        return run(null, studentClass, onProgress);
+    }
+    
+    private Progress run(Integer subjectId, String studentClass, Consumer<Progress> onProgress)
+            throws SQLException, InterruptedException {
+        long started = System.nanoTime();
+        int total = markDAO.countMarks(subjectId, studentClass);
+        
+        // One snapshot for the whole job, so a reload halfway through cannot mix scales
+        GradeScaleSet scales = GradeCalculator.getScales();
+        BiFunction<Mark, String, String> grader = (mark, markClass) ->
+            scales.forSubject(mark.getSubjectId(), markClass).grade(mark.getMarksObtained()).getLetter();
+        
+        int cursor = 0;
+        int scanned = 0;
+        int changed = 0;
+        Progress progress = new Progress(0, 0, total, 0, false);
+        
+        while (true) {
+            long chunkStarted = System.nanoTime();
+            RegradeChunk chunk = markDAO.regradeChunk(cursor, subjectId, studentClass, chunkSize, grader);
+            long chunkNanos = System.nanoTime() - chunkStarted;
+            
+            cursor = chunk.getLastId();
+            scanned += chunk.getScanned();
+            changed += chunk.getChanged();
+            boolean done = chunk.getScanned() < chunkSize;
+            progress = new Progress(scanned, changed, Math.max(total, scanned),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started), done);
+            
+            if (onProgress != null) {
+                onProgress.accept(progress);
+            }
+            if (done) {
+                break;
+            }
+            throttle(chunkNanos);
+        }
+        
+        System.out.println("✅ Regrade finished: " + changed + " of " + scanned + " marks changed in "
+            + progress.getElapsedMillis() + " ms");
+        return progress;
+    }
+    
+    /**
+     * Sleep long enough to keep the job within its duty cycle, and longer while
+     * interactive work is waiting for connections
+     */
+    private void throttle(long chunkNanos) throws SQLException, InterruptedException {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new InterruptedException("Regrade interrupted");
+        }
+        
+        if (dutyCycle < 1) {
+            long pauseMillis = TimeUnit.NANOSECONDS.toMillis((long) (chunkNanos * (1 - dutyCycle) / dutyCycle));
+            Thread.sleep(Math.max(MIN_PAUSE_MILLIS, pauseMillis));
+            
+            ConnectionPool pool = DatabaseManager.getPool();
+            for (int i = 0; i < MAX_BUSY_BACKOFFS && pool.getActiveCount() >= pool.getMaxSize() / 2; i++) {
+                Thread.sleep(BUSY_BACKOFF_MILLIS);
+            }
+        }
+    }
+    
+    /**
+     * Snapshot of a running or finished regrade job
+     */
+    public static final class Progress {
+        private final int scanned;
+        private final int changed;
+        private final int total;
+        private final long elapsedMillis;
+        private final boolean done;
+        
+        Progress(int scanned, int changed, int total, long elapsedMillis, boolean done) {
+            this.scanned = scanned;
+            this.changed = changed;
+            this.total = total;
+            this.elapsedMillis = elapsedMillis;
+            this.done = done;
+        }
+        
+        public int getScanned() {
+            return scanned;
+        }
+        
+        public int getChanged() {
+            return changed;
+        }
+        
+        /**
+         * Get the number of marks expected to be scanned, counted when the job started
+         */
+        public int getTotal() {
+            return total;
+        }
+        
+        public long getElapsedMillis() {
+            return elapsedMillis;
+        }
+        
+        public boolean isDone() {
+            return done;
+        }
+        
+        /**
+         * Get the completed share of the job
+         * @return Value between 0 and 1
+         */
+        public double getFraction() {
+            if (done) {
+                return 1.0;
+            }
+            return total == 0 ? 0.0 : Math.min(1.0, (double) scanned / total);
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.gradeportal.service;
+
+import com.gradeportal.model.Mark;
+import com.gradeportal.model.Student;
+import com.gradeportal.util.GradeCalculator;
+import com.gradeportal.util.ReportTemplate;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Renders the plain-text academic report for one student from a compiled
+ * ReportTemplate. Stateless and safe to use from several threads at once.
+ *
+ * The layout comes from the file named by the {@value #TEMPLATE_PROPERTY} system
+ * property if set, otherwise from the bundled {@value #DEFAULT_TEMPLATE}. Templates
+ * can use name, rollNumber, class, registrationDate, generatedOn, averageMarks,
+ * overallGrade and subjectCount, a marks section with subject, marks, grade and
+ * entryDate per row, and a performance section that is present only when the
+ * student has marks.
+ */
+public class ReportCardRenderer {
+
+    /** System property naming a custom report template file */
+    public static final String TEMPLATE_PROPERTY = "gradeportal.reportTemplate";
+
+    /** Classpath location of the bundled report template */
+    public static final String DEFAULT_TEMPLATE = "/templates/report-card.txt";
+
+    private final ReportTemplate template;
+
+    public ReportCardRenderer() {
+        this(DefaultTemplate.INSTANCE);
+    }
+
+    public ReportCardRenderer(ReportTemplate template) {
+        this.template = template;
+    }
+
+    /**
+     * Render a report card
+     * @param student Student to report on
+     * @param marks The student's marks, in display order
+     * @param generatedOn Date printed in the footer
+     * @return Report text
+     */
+    public String render(Student student, List<Mark> marks, LocalDate generatedOn) {
+        StringBuilder report = new StringBuilder(1024);
+        render(student, marks, generatedOn, report);
+        return report.toString();
+    }
+
+    /**
+     * Render a report card into a caller-supplied buffer, e.g. one reused per thread
+     * @param student Student to report on
+     * @param marks The student's marks, in display order
+     * @param generatedOn Date printed in the footer
+     * @param out Buffer the report is appended to
+     */
+    public void render(Student student, List<Mark> marks, LocalDate generatedOn, StringBuilder out) {
+        template.render(new ReportScope(student, marks, generatedOn), out);
+    }
+
+    /**
+     * Lazily loaded default template
+     */
+    private static final class DefaultTemplate {
+        static final ReportTemplate INSTANCE = load();
+
+        private static ReportTemplate load() {
+            String custom = System.getProperty(TEMPLATE_PROPERTY);
+            if (custom != null && !custom.isBlank()) {
+                try {
+                    return ReportTemplate.load(Path.of(custom));
+                } catch (IOException | IllegalArgumentException e) {
+                    System.err.println("⚠️ Failed to load report template " + custom + ", using default: " + e.getMessage());
+                }
+            }
+            return ReportTemplate.loadResource(DEFAULT_TEMPLATE);
+        }
+    }
+
+    /**
+     * Report-level fields; the performance section is the report itself
+     */
+    private static final class ReportScope implements ReportTemplate.Scope {
+        private final Student student;
+        private final List<Mark> marks;
+        private final LocalDate generatedOn;
+        private final double averageMarks;
+        private final MarkScope row = new MarkScope();
+
+        ReportScope(Student student, List<Mark> marks, LocalDate generatedOn) {
+            this.student = student;
+            this.marks = marks;
+            this.generatedOn = generatedOn;
+
+            double totalMarks = 0;
+            for (Mark mark : marks) {
+                totalMarks += mark.getMarksObtained();
+            }
+            this.averageMarks = marks.isEmpty() ? Double.NaN : totalMarks / marks.size();
+        }
+
+        @Override
+        public CharSequence text(String name) {
+            switch (name) {
+                case "name": return student.getName();
+                case "rollNumber": return student.getRollNumber();
+                case "class": return student.getStudentClass();
+                case "registrationDate": return String.valueOf(student.getRegistrationDate());
+                case "generatedOn": return String.valueOf(generatedOn);
+                case "subjectCount": return Integer.toString(marks.size());
+                case "overallGrade": return marks.isEmpty() ? "" : GradeCalculator.calculateGrade(averageMarks);
+                default: return null;
+            }
+        }
+
+        @Override
+        public double number(String name) {
+            switch (name) {
+                case "averageMarks": return averageMarks;
+                case "subjectCount": return marks.size();
+                default: return Double.NaN;
+            }
+        }
+
+        @Override
+        public int count(String section) {
+            switch (section) {
+                case "marks": return marks.size();
+                case "performance": return marks.isEmpty() ? 0 : 1;
+                default: return 0;
+            }
+        }
+
+        @Override
+        public ReportTemplate.Scope item(String section, int index) {
+            if (section.equals("marks")) {
+                row.mark = marks.get(index);
+                return row;
+            }
+            return this;
+        }
+    }
+
+    /**
+     * One row of the marks section, reused for every row of a render
+     */
+    private static final class MarkScope implements ReportTemplate.Scope {
+        private Mark mark;
+
+        @Override
+        public CharSequence text(String name) {
+            switch (name) {
+                case "subject": return mark.getSubjectName();
+                case "grade": return mark.getGrade();
+                case "entryDate": return String.valueOf(mark.getEntryDate());
+                default: return null;
+            }
+        }
+
+        @Override
+        public double number(String name) {
+            return name.equals("marks") ? mark.getMarksObtained() : Double.NaN;
+        }
+
+        @Override
+        public int count(String section) {
+            return 0;
+        }
+
+        @Override
+        public ReportTemplate.Scope item(String section, int index) {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.gradeportal.service;
+
+import com.gradeportal.dao.MarkDAO;
+import com.gradeportal.dao.StudentDAO;
+import com.gradeportal.model.Mark;
+import com.gradeportal.model.Student;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Generates report cards for a whole class at once.
+ *
+ * The class roster and all of its marks are read with two queries; the marks arrive
+ * sorted by student and are grouped in a single pass. Reports are then rendered in
+ * parallel on a fork-join pool and written either as one file per student into a
+ * directory or as entries of a single zip file.
+ */
+public class ReportCardService {
+
+    /** Reports rendered by one fork-join task before it stops splitting */
+    private static final int RENDER_THRESHOLD = 64;
+
+    private static final ForkJoinPool RENDER_POOL = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
+    private final StudentDAO studentDAO;
+    private final MarkDAO markDAO;
+    private final ReportCardRenderer renderer;
+
+    public ReportCardService() {
+        this(new StudentDAO(), new MarkDAO(), new ReportCardRenderer());
+    }
+
+    public ReportCardService(StudentDAO studentDAO, MarkDAO markDAO, ReportCardRenderer renderer) {
+        this.studentDAO = studentDAO;
+        this.markDAO = markDAO;
+        this.renderer = renderer;
+    }
+
+    /**
+     * Write one report card per student of a class into a directory
+     * @param studentClass Class name
+     * @param directory Target directory, created if missing
+     * @return Number of report cards written
+     * @throws SQLException if reading fails
+     * @throws IOException if writing fails
+     */
+    public int generateToDirectory(String studentClass, Path directory) throws SQLException, IOException {
+        List<ReportCard> cards = loadClass(studentClass);
+        Files.createDirectories(directory);
+
+        // Each task renders and writes its own files; no ordering is needed
+        LocalDate today = LocalDate.now();
+        try {
+            RENDER_POOL.invoke(new RenderTask(cards, 0, cards.size(), today, card -> {
+                try {
+                    Files.writeString(directory.resolve(card.fileName()), card.text, StandardCharsets.UTF_8);
+                    card.text = null;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        return cards.size();
+    }
+
+    /**
+     * Write the report cards of a class as entries of one zip file
+     * @param studentClass Class name
+     * @param zipFile Target zip file
+     * @return Number of report cards written
+     * @throws SQLException if reading fails
+     * @throws IOException if writing fails
+     */
+    public int generateToZip(String studentClass, Path zipFile) throws SQLException, IOException {
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(zipFile), 64 * 1024)) {
+            return generateToZip(studentClass, out);
+        }
+    }
+
+    /**
+     * Write the report cards of a class as a zip stream
+     * @param studentClass Class name
+     * @param out Stream to write the zip to; not closed
+     * @return Number of report cards written
+     * @throws SQLException if reading fails
+     * @throws IOException if writing fails
+     */
+    public int generateToZip(String studentClass, OutputStream out) throws SQLException, IOException {
+        List<ReportCard> cards = loadClass(studentClass);
+
+        // Render everything in parallel, then write entries in roster order
+        RENDER_POOL.invoke(new RenderTask(cards, 0, cards.size(), LocalDate.now(), card -> { }));
+
+        ZipOutputStream zip = new ZipOutputStream(out, StandardCharsets.UTF_8);
+        for (ReportCard card : cards) {
+            zip.putNextEntry(new ZipEntry(card.fileName()));
+            zip.write(card.text.getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+            card.text = null;
+        }
+        zip.finish();
+
+        return cards.size();
+    }
+
+    /**
+     * Read a class roster and its marks, grouped by student in roster order.
+     * Students without marks get a report card too.
+     */
+    private List<ReportCard> loadClass(String studentClass) throws SQLException {
+        Map<Integer, ReportCard> byStudent = new LinkedHashMap<>();
+        for (Student student : studentDAO.getStudentsByClass(studentClass)) {
+            byStudent.put(student.getId(), new ReportCard(student));
+        }
+
+        // Marks arrive grouped by student, so only the current group needs a lookup
+        ReportCard[] current = { null };
+        markDAO.streamMarksByClass(studentClass, mark -> {
+            ReportCard card = current[0];
+            if (card == null || card.student.getId() != mark.getStudentId()) {
+                card = byStudent.get(mark.getStudentId());
+                current[0] = card;
+            }
+            // Students added to the class after the roster was read are skipped
+            if (card != null) {
+                card.marks.add(mark);
+            }
+        });
+
+        return new ArrayList<>(byStudent.values());
+    }
+
+    /**
+     * One student's report card while it is being generated
+     */
+    private static final class ReportCard {
+        final Student student;
+        final List<Mark> marks = new ArrayList<>();
+        String text;
+
+        ReportCard(Student student) {
+            this.student = student;
+        }
+
+        /**
+         * File name from the roll number, which is unique, kept to safe characters
+         */
+        String fileName() {
+            String base = student.getRollNumber() != null ? student.getRollNumber() : "student-" + student.getId();
+            return base.replaceAll("[^A-Za-z0-9._-]", "_") + ".txt";
+        }
+    }
+
+    @FunctionalInterface
+    private interface CardSink {
+        void accept(ReportCard card);
+    }
+
+    /**
+     * Renders a range of report cards, splitting in half until the range is small
+     */
+    private final class RenderTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        // ForkJoinTask is Serializable, but these tasks never leave the pool
+        private final transient List<ReportCard> cards;
+        private final int from;
+        private final int to;
+        private final LocalDate generatedOn;
+        private final transient CardSink sink;
+
+        RenderTask(List<ReportCard> cards, int from, int to, LocalDate generatedOn, CardSink sink) {
+            this.cards = cards;
+            this.from = from;
+            this.to = to;
+            this.generatedOn = generatedOn;
+            this.sink = sink;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= RENDER_THRESHOLD) {
+                // One buffer per leaf task, reused for every card in the range
+                StringBuilder buffer = new StringBuilder(4096);
+                for (int i = from; i < to; i++) {
+                    ReportCard card = cards.get(i);
+                    buffer.setLength(0);
+                    renderer.render(card.student, card.marks, generatedOn, buffer);
+                    card.text = buffer.toString();
+                    sink.accept(card);
+                }
+                return;
+            }
+
+            int middle = (from + to) >>> 1;
+            invokeAll(new RenderTask(cards, from, middle, generatedOn, sink),
+                      new RenderTask(cards, middle, to, generatedOn, sink));
+        }
+    }
+}
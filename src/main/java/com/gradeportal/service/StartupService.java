@@ -0,0 +1,94 @@
+package com.gradeportal.service;
+
+import com.gradeportal.dao.StudentDAO;
+import com.gradeportal.dao.SubjectDAO;
+import com.gradeportal.util.DatabaseManager;
+import com.gradeportal.util.StartupTimer;
+
+import java.sql.SQLException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Warms up the data layer in the background while the login screen is shown.
+ *
+ * The JDBC driver is loaded first, then the connection pool opens its idle
+ * connections. Once the pool is up, the student and subject caches, the student
+ * search index and the grade scales load in parallel, each on its own pooled
+ * connection, which also leaves their statements prepared in those connections'
+ * statement caches. Each step is recorded with StartupTimer.
+ *
+ * Nothing here is required before the first login: code that needs the database
+ * simply waits for the pool if warm-up has not got that far yet.
+ */
+public class StartupService {
+
+    private static final ExecutorService EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final StudentDAO studentDAO;
+    private final SubjectDAO subjectDAO;
+    private final GradeScaleService gradeScaleService;
+
+    public StartupService() {
+        this(new StudentDAO(), new SubjectDAO(), new GradeScaleService());
+    }
+
+    public StartupService(StudentDAO studentDAO, SubjectDAO subjectDAO, GradeScaleService gradeScaleService) {
+        this.studentDAO = studentDAO;
+        this.subjectDAO = subjectDAO;
+        this.gradeScaleService = gradeScaleService;
+    }
+
+    /**
+     * Start warming up. Failures are logged; a step that fails skips the steps
+     * that depend on it.
+     * @return Future completed when every step has finished or failed
+     */
+    public CompletableFuture<Void> warmUpInBackground() {
+        CompletableFuture<Void> pool = CompletableFuture
+            .runAsync(() -> step("driver-loaded", DatabaseManager::loadDriver), EXECUTOR)
+            .thenRunAsync(() -> step("pool-ready", () -> {
+                if (DatabaseManager.getPool().getTotalCount() == 0) {
+                    throw new SQLException("no connection could be opened");
+                }
+                System.out.println("✅ Database connected.");
+            }), EXECUTOR);
+
+        CompletableFuture<Void> students = pool.thenRunAsync(() -> step("students-cached", () -> {
+            studentDAO.getAllStudents();
+            studentDAO.warmSearchIndex();
+        }), EXECUTOR);
+
+        CompletableFuture<Void> subjects = pool.thenRunAsync(
+            () -> step("subjects-cached", subjectDAO::getAllSubjects), EXECUTOR);
+
+        CompletableFuture<Void> gradeScales = pool.thenRunAsync(
+            () -> step("grade-scales-loaded", gradeScaleService::reload), EXECUTOR);
+
+        return CompletableFuture.allOf(students, subjects, gradeScales)
+            .handle((ignored, error) -> {
+                StartupTimer.mark("warm-up-done");
+                return null;
+            });
+    }
+
+    /**
+     * Run one warm-up step and record when it finished
+     */
+    private static void step(String phase, Step step) {
+        try {
+            step.run();
+            StartupTimer.mark(phase);
+        } catch (SQLException e) {
+            System.err.println("❌ Startup step " + phase + " failed: " + e.getMessage());
+            throw new CompletionException(e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Step {
+        void run() throws SQLException;
+    }
+}
@@ -0,0 +1,52 @@
+package com.gradeportal.util;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shared daemon scheduler for maintenance work such as cache reconciliation and index builds
+ */
+public class BackgroundTasks {
+
+    private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "gradeportal-background");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Run a task repeatedly with a fixed delay between runs. Exceptions are logged
+     * and do not cancel later runs.
+     * @param name Task name used in log messages
+     * @param task Task to run
+     * @param delay Delay before the first run and between runs
+     * @param unit Time unit of the delay
+     * @return Handle that can cancel the task
+     */
+    public static ScheduledFuture<?> scheduleWithFixedDelay(String name, Runnable task, long delay, TimeUnit unit) {
+        return SCHEDULER.scheduleWithFixedDelay(() -> {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                System.err.println("⚠️ Background task '" + name + "' failed: " + e.getMessage());
+            }
+        }, delay, delay, unit);
+    }
+
+    /**
+     * Run a one-off task on the background thread. Exceptions are logged.
+     * @param name Task name used in log messages
+     * @param task Task to run
+     */
+    public static void execute(String name, Runnable task) {
+        SCHEDULER.execute(() -> {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                System.err.println("⚠️ Background task '" + name + "' failed: " + e.getMessage());
+            }
+        });
+    }
+}
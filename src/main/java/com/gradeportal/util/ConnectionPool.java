@@ -0,0 +1,523 @@
+package com.gradeportal.util;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded JDBC connection pool.
+ *
+ * Connections handed out by {@link #borrow()} are proxies: calling close() on them
+ * returns the physical connection to the pool instead of closing it, so DAO code
+ * can keep using try-with-resources unchanged.
+ *
+ * The pool keeps at least {@code minIdle} connections open, never opens more than
+ * {@code maxSize}, validates idle connections before handing them out, evicts
+ * connections that sit idle for too long and logs connections that are held
+ * longer than the leak detection threshold. Leak reports name the borrowing thread;
+ * run with {@code -Dgradeportal.pool.leakTrace=true} to also capture where each
+ * connection was borrowed, which costs a stack trace per borrow.
+ *
+ * Each physical connection keeps a {@link StatementCache}, so prepareStatement(sql)
+ * on a pooled connection reuses the statement prepared by an earlier borrower.
+ */
+public final class ConnectionPool {
+
+    /** System property that turns on borrow stack traces for leak reports */
+    public static final String LEAK_TRACE_PROPERTY = "gradeportal.pool.leakTrace";
+
+    private static final boolean LEAK_TRACE = Boolean.getBoolean(LEAK_TRACE_PROPERTY);
+
+    private final String url;
+    private final String username;
+    private final String password;
+
+    private final int minIdle;
+    private final int maxSize;
+    private final long borrowTimeoutMillis;
+    private final long idleTimeoutMillis;
+    private final long leakThresholdMillis;
+    private final int validationTimeoutSeconds;
+    private final int statementCacheSize;
+    private final LongAdder statementCacheHits = new LongAdder();
+    private final LongAdder statementCacheMisses = new LongAdder();
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition available = lock.newCondition();
+    private final Deque<PooledEntry> idle = new ArrayDeque<>();
+    private final Set<PooledEntry> borrowed = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService housekeeper;
+
+    private int totalConnections = 0;
+    private boolean closed = false;
+
+    /**
+     * Create a pool and open the minimum number of idle connections.
+     * @param url JDBC URL
+     * @param username Database user
+     * @param password Database password
+     * @param minIdle Minimum number of idle connections to keep open
+     * @param maxSize Maximum number of physical connections
+     * @param borrowTimeoutMillis How long borrow() waits for a free connection
+     * @param idleTimeoutMillis Idle time after which connections above minIdle are closed
+     * @param leakThresholdMillis Hold time after which a borrowed connection is reported as a leak
+     * @param statementCacheSize Prepared statements cached per connection (0 disables caching)
+     */
+    public ConnectionPool(String url, String username, String password,
+                          int minIdle, int maxSize,
+                          long borrowTimeoutMillis, long idleTimeoutMillis, long leakThresholdMillis,
+                          int statementCacheSize) {
+        if (minIdle < 0 || maxSize < 1 || minIdle > maxSize) {
+            throw new IllegalArgumentException("Invalid pool size: min=" + minIdle + ", max=" + maxSize);
+        }
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.minIdle = minIdle;
+        this.maxSize = maxSize;
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.leakThresholdMillis = leakThresholdMillis;
+        this.validationTimeoutSeconds = 2;
+        this.statementCacheSize = statementCacheSize;
+
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "connection-pool-housekeeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(1000, Math.min(idleTimeoutMillis, leakThresholdMillis) / 2);
+        housekeeper.scheduleWithFixedDelay(this::housekeep, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Borrow a connection from the pool, opening a new one if the pool is below maxSize.
+     * @return Connection whose close() returns it to the pool
+     * @throws SQLException if no connection becomes available in time or connecting fails
+     */
+    public Connection borrow() throws SQLException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(borrowTimeoutMillis);
+
+        while (true) {
+            PooledEntry entry = null;
+            boolean open = false;
+
+            lock.lock();
+            try {
+                while (entry == null && !open) {
+                    if (closed) {
+                        throw new SQLException("Connection pool is closed");
+                    }
+                    if (!idle.isEmpty()) {
+                        entry = idle.pollFirst();
+                    } else if (totalConnections < maxSize) {
+                        totalConnections++;
+                        open = true;
+                    } else {
+                        long remaining = deadline - System.nanoTime();
+                        if (remaining <= 0) {
+                            throw new SQLException("Timed out after " + borrowTimeoutMillis
+                                    + " ms waiting for a database connection (pool size " + maxSize + ")");
+                        }
+                        available.awaitNanos(remaining);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLException("Interrupted while waiting for a database connection", e);
+            } finally {
+                lock.unlock();
+            }
+
+            if (open) {
+                try {
+                    entry = new PooledEntry(openPhysical());
+                } catch (SQLException e) {
+                    discard(null);
+                    throw e;
+                }
+            } else if (!isUsable(entry)) {
+                discard(entry);
+                continue;
+            }
+
+            entry.borrowedAt = System.currentTimeMillis();
+            entry.borrowerThread = Thread.currentThread().getName();
+            entry.borrower = LEAK_TRACE ? new Throwable("Connection borrowed here") : null;
+            borrowed.add(entry);
+            return entry.newHandle();
+        }
+    }
+
+    /**
+     * Open connections until minIdle idle connections are available.
+     */
+    public void fillToMinimum() {
+        while (true) {
+            lock.lock();
+            try {
+                if (closed || idle.size() >= minIdle || totalConnections >= maxSize) {
+                    return;
+                }
+                totalConnections++;
+            } finally {
+                lock.unlock();
+            }
+
+            try {
+                PooledEntry entry = new PooledEntry(openPhysical());
+                entry.lastUsed = System.currentTimeMillis();
+                lock.lock();
+                try {
+                    idle.addLast(entry);
+                    available.signal();
+                } finally {
+                    lock.unlock();
+                }
+            } catch (SQLException e) {
+                discard(null);
+                System.err.println("⚠️ Failed to open pooled connection: " + e.getMessage());
+                return;
+            }
+        }
+    }
+
+    /**
+     * Open connections until minIdle idle connections are available, opening them all
+     * at once on separate threads. Filling the pool then takes about one connect time
+     * instead of one per connection, which matters at startup.
+     */
+    public void fillToMinimumConcurrently() {
+        int missing;
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            missing = Math.min(minIdle - idle.size(), maxSize - totalConnections);
+            if (missing <= 0) {
+                return;
+            }
+            // Reserve every slot up front so the openers never overshoot minIdle
+            totalConnections += missing;
+        } finally {
+            lock.unlock();
+        }
+
+        Thread[] openers = new Thread[missing];
+        for (int i = 0; i < missing; i++) {
+            openers[i] = Thread.ofVirtual().name("connection-pool-fill-" + i).start(this::openIdle);
+        }
+        for (Thread opener : openers) {
+            try {
+                opener.join();
+            } catch (InterruptedException e) {
+                // The openers finish on their own; stop waiting for them
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Open one connection for a slot already counted in totalConnections and make it idle
+     */
+    private void openIdle() {
+        try {
+            PooledEntry entry = new PooledEntry(openPhysical());
+            entry.lastUsed = System.currentTimeMillis();
+            lock.lock();
+            try {
+                idle.addLast(entry);
+                available.signal();
+            } finally {
+                lock.unlock();
+            }
+        } catch (SQLException e) {
+            discard(null);
+            System.err.println("⚠️ Failed to open pooled connection: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Close every idle connection and refuse further borrows. Borrowed connections
+     * are closed as they are returned.
+     */
+    public void close() {
+        lock.lock();
+        try {
+            closed = true;
+            for (PooledEntry entry : idle) {
+                closeQuietly(entry);
+            }
+            totalConnections -= idle.size();
+            idle.clear();
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        housekeeper.shutdownNow();
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public int getIdleCount() {
+        lock.lock();
+        try {
+            return idle.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getActiveCount() {
+        return borrowed.size();
+    }
+
+    public int getTotalCount() {
+        lock.lock();
+        try {
+            return totalConnections;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return Number of prepareStatement calls served from a statement cache
+     */
+    public long getStatementCacheHits() {
+        return statementCacheHits.sum();
+    }
+
+    /**
+     * @return Number of prepareStatement calls that had to prepare a new statement
+     */
+    public long getStatementCacheMisses() {
+        return statementCacheMisses.sum();
+    }
+
+    private Connection openPhysical() throws SQLException {
+        return DriverManager.getConnection(url, username, password);
+    }
+
+    private boolean isUsable(PooledEntry entry) {
+        try {
+            return !entry.physical.isClosed() && entry.physical.isValid(validationTimeoutSeconds);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Return a borrowed connection. Transaction state is reset so the next borrower
+     * always gets an auto-commit connection.
+     */
+    private void release(PooledEntry entry) {
+        borrowed.remove(entry);
+        entry.borrowerThread = null;
+        entry.borrower = null;
+
+        boolean healthy;
+        try {
+            if (!entry.physical.getAutoCommit()) {
+                entry.physical.rollback();
+                entry.physical.setAutoCommit(true);
+            }
+            entry.physical.clearWarnings();
+            healthy = !entry.physical.isClosed();
+        } catch (SQLException e) {
+            healthy = false;
+        }
+
+        lock.lock();
+        try {
+            if (healthy && !closed) {
+                entry.lastUsed = System.currentTimeMillis();
+                idle.addFirst(entry);
+                available.signal();
+                return;
+            }
+        } finally {
+            lock.unlock();
+        }
+        discard(entry);
+    }
+
+    private void discard(PooledEntry entry) {
+        if (entry != null) {
+            closeQuietly(entry);
+        }
+        lock.lock();
+        try {
+            totalConnections--;
+            available.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void housekeep() {
+        long now = System.currentTimeMillis();
+
+        // Evict connections idle for too long, keeping at least minIdle around.
+        // Closing means network I/O, so it happens after borrowers are let back in.
+        List<PooledEntry> evicted = new ArrayList<>();
+        lock.lock();
+        try {
+            Iterator<PooledEntry> it = idle.descendingIterator();
+            while (it.hasNext() && idle.size() > minIdle) {
+                PooledEntry entry = it.next();
+                if (now - entry.lastUsed > idleTimeoutMillis) {
+                    it.remove();
+                    totalConnections--;
+                    evicted.add(entry);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        for (PooledEntry entry : evicted) {
+            closeQuietly(entry);
+        }
+
+        // Report connections that have been held longer than the leak threshold
+        for (PooledEntry entry : borrowed) {
+            String borrowerThread = entry.borrowerThread;
+            if (borrowerThread != null && !entry.leakReported && now - entry.borrowedAt > leakThresholdMillis) {
+                entry.leakReported = true;
+                System.err.println("⚠️ Possible connection leak: connection held for "
+                        + (now - entry.borrowedAt) + " ms by thread " + borrowerThread
+                        + (LEAK_TRACE ? "" : " (set -D" + LEAK_TRACE_PROPERTY + "=true for a stack trace)"));
+                Throwable borrower = entry.borrower;
+                if (borrower != null) {
+                    borrower.printStackTrace();
+                }
+            }
+        }
+
+        fillToMinimum();
+    }
+
+    private static void closeQuietly(PooledEntry entry) {
+        if (entry.statements != null) {
+            entry.statements.clear();
+        }
+        try {
+            entry.physical.close();
+        } catch (SQLException e) {
+            // Connection is being thrown away anyway
+        }
+    }
+
+    /**
+     * A physical connection plus its pool bookkeeping.
+     */
+    private final class PooledEntry {
+        final Connection physical;
+        final StatementCache statements;
+        volatile long lastUsed;
+        volatile long borrowedAt;
+        volatile String borrowerThread;
+        volatile Throwable borrower;
+        volatile boolean leakReported;
+
+        PooledEntry(Connection physical) {
+            this.physical = physical;
+            this.statements = statementCacheSize > 0
+                    ? new StatementCache(physical, statementCacheSize, statementCacheHits, statementCacheMisses)
+                    : null;
+        }
+
+        Connection newHandle() {
+            leakReported = false;
+            return (Connection) Proxy.newProxyInstance(
+                    Connection.class.getClassLoader(),
+                    new Class<?>[] { Connection.class },
+                    new Handle(this));
+        }
+    }
+
+    /**
+     * Proxy handler for a single borrow. After close() the handle is dead, even if
+     * the physical connection has been handed to another borrower.
+     */
+    private final class Handle implements InvocationHandler {
+        private PooledEntry entry;
+
+        Handle(PooledEntry entry) {
+            this.entry = entry;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (entry != null) {
+                        PooledEntry returning = entry;
+                        entry = null;
+                        release(returning);
+                    }
+                    return null;
+                case "isClosed":
+                    return entry == null || entry.physical.isClosed();
+                case "prepareStatement":
+                    if (entry != null && entry.statements != null && isCacheable(method)) {
+                        int autoGeneratedKeys = args.length == 2 ? (Integer) args[1] : -1;
+                        return entry.statements.prepare((String) args[0], autoGeneratedKeys, (Connection) proxy);
+                    }
+                    break;
+                case "unwrap":
+                    if (entry != null && ((Class<?>) args[0]).isInstance(entry.physical)) {
+                        return entry.physical;
+                    }
+                    break;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + (entry == null ? "closed" : entry.physical) + "]";
+                default:
+                    break;
+            }
+
+            if (entry == null) {
+                throw new SQLException("Connection has already been returned to the pool");
+            }
+            try {
+                return method.invoke(entry.physical, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        /**
+         * Only prepareStatement(String) and prepareStatement(String, int autoGeneratedKeys)
+         * are cached; cursor-type and column-list variants always prepare a new statement.
+         */
+        private boolean isCacheable(Method method) {
+            Class<?>[] types = method.getParameterTypes();
+            return types.length == 1 || (types.length == 2 && types[1] == int.class);
+        }
+    }
+}
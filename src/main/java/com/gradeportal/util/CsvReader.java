@@ -0,0 +1,166 @@
+package com.gradeportal.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming RFC 4180 CSV parser.
+ *
+ * Reads one row at a time through a fixed-size buffer, so files of any size can be
+ * parsed in constant memory. Handles quoted fields with embedded commas, doubled
+ * quotes and line breaks, LF and CRLF line endings, and a leading UTF-8 byte order mark.
+ */
+public class CsvReader implements Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Reader reader;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private final StringBuilder field = new StringBuilder(64);
+    private int position = 0;
+    private int limit = 0;
+    private long line = 1;
+    private long rowLine = 0;
+    private boolean firstRead = true;
+
+    public CsvReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Open a UTF-8 file
+     * @param file File to read
+     * @throws IOException if the file cannot be opened
+     */
+    public CsvReader(Path file) throws IOException {
+        this(new InputStreamReader(Files.newInputStream(file), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Read the next row
+     * @return Fields of the row, or null at end of input. Blank lines are skipped.
+     * @throws IOException if reading fails or a quoted field is not closed
+     */
+    public List<String> readRow() throws IOException {
+        int c;
+        // Skip blank lines between rows
+        do {
+            c = read();
+            if (c == '\r') {
+                if (peek() == '\n') {
+                    read();
+                }
+                line++;
+                c = '\n';
+            } else if (c == '\n') {
+                line++;
+            }
+        } while (c == '\n');
+
+        if (c < 0) {
+            return null;
+        }
+
+        rowLine = line;
+        List<String> row = new ArrayList<>();
+        field.setLength(0);
+        boolean quoted = false;
+        boolean inQuotes = false;
+
+        while (true) {
+            if (inQuotes) {
+                if (c < 0) {
+                    throw new IOException("Unterminated quoted field starting on line " + rowLine);
+                }
+                if (c == '"') {
+                    if (peek() == '"') {
+                        read();
+                        field.append('"');
+                    } else {
+                        inQuotes = false;
+                    }
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == ',') {
+                row.add(field.toString());
+                field.setLength(0);
+                quoted = false;
+            } else if (c == '\n' || c == '\r' || c < 0) {
+                if (c == '\r' && peek() == '\n') {
+                    read();
+                }
+                if (c >= 0) {
+                    line++;
+                }
+                row.add(field.toString());
+                return row;
+            } else if (c == '"' && field.length() == 0 && !quoted) {
+                inQuotes = true;
+                quoted = true;
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    /**
+     * Get the line number the last row returned by readRow() started on
+     * @return 1-based line number
+     */
+    public long getRowLine() {
+        return rowLine;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private int read() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position++];
+    }
+
+    private int peek() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position];
+    }
+
+    private boolean fill() throws IOException {
+        int read;
+        do {
+            read = reader.read(buffer, 0, buffer.length);
+        } while (read == 0);
+        if (read < 0) {
+            position = limit = 0;
+            return false;
+        }
+        position = 0;
+        limit = read;
+
+        if (firstRead) {
+            firstRead = false;
+            if (buffer[0] == '\uFEFF') {
+                position = 1;
+                return limit > 1 || fill();
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,191 @@
+package com.gradeportal.util;
+
+import javafx.application.Platform;
+import javafx.beans.property.ObjectProperty;
+import javafx.concurrent.Service;
+import javafx.concurrent.Task;
+import javafx.geometry.Pos;
+import javafx.scene.Node;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressIndicator;
+import javafx.scene.layout.VBox;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Loads data for a view off the JavaFX thread.
+ *
+ * Each loader is a JavaFX Service that runs its query on a shared pool of daemon
+ * threads, sized to the connection pool so views never queue for connections behind
+ * each other's loads. The result is handed to the view on the JavaFX thread.
+ *
+ * Requests made while a load is running are coalesced: only the most recent one runs
+ * once the current load finishes, and the result of the superseded load is dropped.
+ * So a burst of refreshes costs at most two queries, and a search always shows the
+ * results for the last term typed.
+ *
+ * A loader can be given a table or list placeholder to show a loading indicator, or an
+ * error message, while there is nothing to display.
+ *
+ * @param <T> Result type
+ */
+public final class DataLoader<T> extends Service<T> {
+
+    private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(
+            DatabaseManager.getPoolMaxSize(), new LoaderThreadFactory());
+
+    private final String description;
+    private final Callable<? extends T> defaultCall;
+    private final Consumer<? super T> onLoaded;
+    private Consumer<Throwable> onError;
+    private ObjectProperty<Node> placeholder;
+    private Node idlePlaceholder;
+    private Callable<? extends T> currentCall;
+    private Callable<? extends T> pendingCall;
+
+    /**
+     * @param description What is loaded, e.g. "marks", used in messages
+     * @param call Query run by load()
+     * @param onLoaded Receives each result on the JavaFX thread
+     */
+    public DataLoader(String description, Callable<? extends T> call, Consumer<? super T> onLoaded) {
+        this.description = description;
+        this.defaultCall = call;
+        this.onLoaded = onLoaded;
+        this.onError = error -> AlertUtil.showError("Database Error",
+                "Failed to load " + description, error.getMessage());
+
+        setExecutor(EXECUTOR);
+        setOnSucceeded(event -> finished(true));
+        setOnFailed(event -> finished(false));
+    }
+
+    /**
+     * Show a loading indicator in a table or list placeholder while loading, and an
+     * error message there if loading fails. The original placeholder is restored
+     * after a successful load.
+     * @param placeholder e.g. {@code table.placeholderProperty()}
+     * @return This loader
+     */
+    public DataLoader<T> withPlaceholder(ObjectProperty<Node> placeholder) {
+        this.placeholder = placeholder;
+        this.idlePlaceholder = placeholder.get();
+        return this;
+    }
+
+    /**
+     * Replace the default error handling, which shows an error dialog
+     * @param onError Receives the failure on the JavaFX thread
+     * @return This loader
+     */
+    public DataLoader<T> onError(Consumer<Throwable> onError) {
+        this.onError = onError;
+        return this;
+    }
+
+    /**
+     * Run the default query
+     */
+    public void load() {
+        load(defaultCall);
+    }
+
+    /**
+     * Run a query whose result goes to this loader's consumer, e.g. a search instead
+     * of the full list. May be called from any thread.
+     * @param call Query to run
+     */
+    public void load(Callable<? extends T> call) {
+        if (!Platform.isFxApplicationThread()) {
+            Platform.runLater(() -> load(call));
+            return;
+        }
+
+        if (isRunning()) {
+            // Replaces any request already waiting; it would be stale by the time it ran
+            pendingCall = call;
+            return;
+        }
+
+        currentCall = call;
+        showLoading();
+        restart();
+    }
+
+    /**
+     * Drop a waiting request and cancel the running load, e.g. when the view is closed
+     */
+    public void stop() {
+        pendingCall = null;
+        cancel();
+    }
+
+    @Override
+    protected Task<T> createTask() {
+        Callable<? extends T> call = currentCall;
+        return new Task<>() {
+            @Override
+            protected T call() throws Exception {
+                return call.call();
+            }
+        };
+    }
+
+    /**
+     * Start the waiting request if there is one, otherwise deliver the outcome
+     */
+    private void finished(boolean succeeded) {
+        if (pendingCall != null) {
+            Callable<? extends T> next = pendingCall;
+            pendingCall = null;
+            currentCall = next;
+            restart();
+            return;
+        }
+
+        if (succeeded) {
+            if (placeholder != null) {
+                placeholder.set(idlePlaceholder);
+            }
+            onLoaded.accept(getValue());
+        } else {
+            Throwable error = getException();
+            System.err.println("❌ Failed to load " + description + ": " + error.getMessage());
+            if (placeholder != null) {
+                placeholder.set(new Label("Could not load " + description + "."));
+            }
+            onError.accept(error);
+        }
+    }
+
+    private void showLoading() {
+        if (placeholder == null) {
+            return;
+        }
+
+        ProgressIndicator indicator = new ProgressIndicator();
+        indicator.setMaxSize(32, 32);
+        VBox loading = new VBox(8, indicator, new Label("Loading " + description + "..."));
+        loading.setAlignment(Pos.CENTER);
+        placeholder.set(loading);
+    }
+
+    /**
+     * Daemon threads so a slow query never keeps the application from exiting
+     */
+    private static final class LoaderThreadFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "gradeportal-loader-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -1,60 +1,140 @@
 package com.gradeportal.util;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
 
 /**
  * Database connection manager for the Grades Portal application.
- * Handles MySQL database connections using JDBC.
+ * Hands out MySQL connections from a shared {@link ConnectionPool}.
  */
 public class DatabaseManager {
 
     // ✅ Updated Database configuration constants
-    private static final String DB_URL = "jdbc:mysql://localhost:3306/grades_portal_db";
+    private static final String DB_URL = "jdbc:mysql://localhost:3306/grades_portal_db?useServerPrepStmts=true&rewriteBatchedStatements=true";
+    // Upserts only: useAffectedRows makes INSERT ... ON DUPLICATE KEY UPDATE report
+    // inserted (1), updated (2) and unchanged (0), and batches are not rewritten into
+    // multi-row statements, so executeBatch keeps one such count per row
+    private static final String UPSERT_DB_URL = "jdbc:mysql://localhost:3306/grades_portal_db?useServerPrepStmts=true&useAffectedRows=true";
     private static final String DB_USERNAME = "root";
     private static final String DB_PASSWORD = "Mysqltamil1";
     private static final String DB_DRIVER = "com.mysql.cj.jdbc.Driver";
 
-    private static Connection connection = null;
+    // Connection pool configuration
+    private static final int POOL_MIN_IDLE = 2;
+    private static final int POOL_MAX_SIZE = 10;
+    private static final long POOL_BORROW_TIMEOUT_MS = 10_000;
+    private static final long POOL_IDLE_TIMEOUT_MS = 5 * 60_000;
+    private static final long POOL_LEAK_THRESHOLD_MS = 60_000;
+    private static final int STATEMENT_CACHE_SIZE = 64;
+    private static final int UPSERT_POOL_MAX_SIZE = 2;
+
+    private static ConnectionPool pool = null;
+    private static ConnectionPool upsertPool = null;
 
     /**
-     * Get database connection (singleton pattern).
+     * Get a pooled database connection. Closing the returned connection
+     * hands it back to the pool.
      * 
      * @return Connection object
      * @throws SQLException if connection fails
      */
     public static Connection getConnection() throws SQLException {
-        if (connection == null || connection.isClosed()) {
-            try {
-                // Load MySQL JDBC driver
-                Class.forName(DB_DRIVER);
-
-                // Establish connection
-                connection = DriverManager.getConnection(DB_URL, DB_USERNAME, DB_PASSWORD);
-                System.out.println("✅ Database connection established successfully.");
-
-            } catch (ClassNotFoundException e) {
-                throw new SQLException("❌ MySQL JDBC Driver not found: " + e.getMessage());
-            } catch (SQLException e) {
-                throw new SQLException("❌ Failed to connect to database: " + e.getMessage());
-            }
+        try {
+            return getPool().borrow();
+        } catch (SQLException e) {
+            throw new SQLException("❌ Failed to connect to database: " + e.getMessage(), e);
         }
+    }
 
-        return connection;
+    /**
+     * Get a pooled connection for INSERT ... ON DUPLICATE KEY UPDATE. Its update
+     * counts are rows changed rather than rows matched, so it must not be used for
+     * other writes.
+     * 
+     * @return Connection object
+     * @throws SQLException if connection fails
+     */
+    public static Connection getUpsertConnection() throws SQLException {
+        try {
+            return getUpsertPool().borrow();
+        } catch (SQLException e) {
+            throw new SQLException("❌ Failed to connect to database: " + e.getMessage(), e);
+        }
     }
 
     /**
-     * Close database connection.
+     * Get the shared connection pool, creating it on first use.
+     * 
+     * @return ConnectionPool instance
+     * @throws SQLException if the JDBC driver cannot be loaded
      */
-    public static void closeConnection() {
-        if (connection != null) {
-            try {
-                connection.close();
-                System.out.println("🔌 Database connection closed.");
-            } catch (SQLException e) {
-                System.err.println("⚠️ Error closing database connection: " + e.getMessage());
-            }
+    public static synchronized ConnectionPool getPool() throws SQLException {
+        if (pool == null) {
+            loadDriver();
+
+            pool = new ConnectionPool(DB_URL, DB_USERNAME, DB_PASSWORD,
+                    POOL_MIN_IDLE, POOL_MAX_SIZE,
+                    POOL_BORROW_TIMEOUT_MS, POOL_IDLE_TIMEOUT_MS, POOL_LEAK_THRESHOLD_MS,
+                    STATEMENT_CACHE_SIZE);
+            pool.fillToMinimumConcurrently();
+            System.out.println("✅ Database connection pool initialized.");
+        }
+
+        return pool;
+    }
+
+    /**
+     * Get the small pool of upsert connections, creating it on first use. It opens
+     * connections only when an upsert needs one.
+     */
+    private static synchronized ConnectionPool getUpsertPool() throws SQLException {
+        if (upsertPool == null) {
+            loadDriver();
+
+            upsertPool = new ConnectionPool(UPSERT_DB_URL, DB_USERNAME, DB_PASSWORD,
+                    0, UPSERT_POOL_MAX_SIZE,
+                    POOL_BORROW_TIMEOUT_MS, POOL_IDLE_TIMEOUT_MS, POOL_LEAK_THRESHOLD_MS,
+                    STATEMENT_CACHE_SIZE);
+        }
+
+        return upsertPool;
+    }
+
+    /**
+     * Load and initialize the MySQL JDBC driver. Cheap after the first call, so
+     * startup can do it early without opening any connection.
+     * 
+     * @throws SQLException if the driver is not on the classpath
+     */
+    public static void loadDriver() throws SQLException {
+        try {
+            Class.forName(DB_DRIVER);
+        } catch (ClassNotFoundException e) {
+            throw new SQLException("❌ MySQL JDBC Driver not found: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Get the maximum number of pooled connections, without creating the pool.
+     * 
+     * @return Maximum pool size
+     */
+    public static int getPoolMaxSize() {
+        return POOL_MAX_SIZE;
+    }
+
+    /**
+     * Close all pooled database connections.
+     */
+    public static synchronized void closeConnection() {
+        if (upsertPool != null) {
+            upsertPool.close();
+            upsertPool = null;
+        }
+        if (pool != null) {
+            pool.close();
+            pool = null;
+            System.out.println("🔌 Database connection pool closed.");
         }
     }
 
@@ -64,8 +144,7 @@ public class DatabaseManager {
      * @return true if connection is successful, false otherwise
      */
     public static boolean testConnection() {
-        try {
-            Connection testConn = getConnection();
+        try (Connection testConn = getConnection()) {
             return testConn != null && !testConn.isClosed();
         } catch (SQLException e) {
             System.err.println("❌ Database connection test failed: " + e.getMessage());
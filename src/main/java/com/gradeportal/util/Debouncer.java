@@ -0,0 +1,46 @@
+package com.gradeportal.util;
+
+import javafx.animation.PauseTransition;
+import javafx.util.Duration;
+
+/**
+ * Runs an action on the JavaFX thread once input has been quiet for a given delay.
+ * Each trigger() restarts the delay, so a burst of keystrokes runs the action once.
+ */
+public class Debouncer {
+    
+    private final PauseTransition pause;
+    
+    /**
+     * @param delay Quiet period before the action runs
+     * @param action Action to run on the JavaFX thread
+     */
+    public Debouncer(Duration delay, Runnable action) {
+        this.pause = new PauseTransition(delay);
+        this.pause.setOnFinished(event -> action.run());
+    }
+    
+    /**
+     * Schedule the action, restarting the delay if it was already pending
+     */
+    public void trigger() {
+        pause.playFromStart();
+    }
+    
+    /**
+     * Run the action now if it is pending
+     */
+    public void flush() {
+        if (pause.getStatus() == PauseTransition.Status.RUNNING) {
+            pause.stop();
+            pause.getOnFinished().handle(null);
+        }
+    }
+    
+    /**
+     * Drop a pending run
+     */
+    public void cancel() {
+        pause.stop();
+    }
+}
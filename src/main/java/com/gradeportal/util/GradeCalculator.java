@@ -1,104 +1,178 @@
 package com.gradeportal.util;
 
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
 /**
  * Utility class for calculating grades based on marks obtained
  * Provides configurable grading scale for educational institutions
+ *
+ * Scales are loaded from the database by GradeScaleService and published with a
+ * single atomic reference swap; readers never lock. Until a configuration has been
+ * installed every mark is graded on the built-in scale below.
  */
 public class GradeCalculator {
-    
-    // Default grading scale - can be made configurable
-    private static final double A_PLUS_THRESHOLD = 95.0;
-    private static final double A_THRESHOLD = 90.0;
-    private static final double A_MINUS_THRESHOLD = 85.0;
-    private static final double B_PLUS_THRESHOLD = 80.0;
-    private static final double B_THRESHOLD = 75.0;
-    private static final double B_MINUS_THRESHOLD = 70.0;
-    private static final double C_PLUS_THRESHOLD = 65.0;
-    private static final double C_THRESHOLD = 60.0;
-    private static final double C_MINUS_THRESHOLD = 55.0;
-    private static final double D_THRESHOLD = 50.0;
-    
+
+    // Built-in grading scale, used until scales are loaded from the database
+    private static final GradeScale BUILT_IN_SCALE = GradeScale.of(List.of(
+            new GradeScale.Band("A+", 95.0, 4.0, "Excellent (95-100%)", true),
+            new GradeScale.Band("A", 90.0, 4.0, "Excellent (90-94%)", true),
+            new GradeScale.Band("A-", 85.0, 3.7, "Very Good (85-89%)", true),
+            new GradeScale.Band("B+", 80.0, 3.3, "Good (80-84%)", true),
+            new GradeScale.Band("B", 75.0, 3.0, "Good (75-79%)", true),
+            new GradeScale.Band("B-", 70.0, 2.7, "Above Average (70-74%)", true),
+            new GradeScale.Band("C+", 65.0, 2.3, "Average (65-69%)", true),
+            new GradeScale.Band("C", 60.0, 2.0, "Average (60-64%)", true),
+            new GradeScale.Band("C-", 55.0, 1.7, "Below Average (55-59%)", true),
+            new GradeScale.Band("D", 50.0, 1.0, "Poor (50-54%)", true),
+            new GradeScale.Band("F", 0.0, 0.0, "Fail (Below 50%)", false)));
+
+    private static final AtomicReference<GradeScaleSet> SCALES =
+            new AtomicReference<>(GradeScaleSet.of(BUILT_IN_SCALE));
+
+    /**
+     * Get the hardcoded scale the application ships with
+     * @return Built-in grading scale
+     */
+    public static GradeScale getBuiltInScale() {
+        return BUILT_IN_SCALE;
+    }
+
+    /**
+     * Replace the grading configuration. Takes effect for all later calls at once.
+     * @param scales New set of scales
+     */
+    public static void install(GradeScaleSet scales) {
+        SCALES.set(scales);
+    }
+
+    /**
+     * Get the grading configuration currently in use
+     * @return Current set of scales
+     */
+    public static GradeScaleSet getScales() {
+        return SCALES.get();
+    }
+
+    /**
+     * Get the default grading scale
+     * @return Compiled grading scale
+     */
+    public static GradeScale getScale() {
+        return SCALES.get().getDefault();
+    }
+
+    /**
+     * Get the grading scale for a subject and class
+     * @param subjectId Subject ID
+     * @param studentClass Student's class, may be null
+     * @return Compiled grading scale
+     */
+    public static GradeScale getScale(int subjectId, String studentClass) {
+        return SCALES.get().forSubject(subjectId, studentClass);
+    }
+
     /**
      * Calculate letter grade based on percentage marks
      * @param marks The marks obtained (percentage)
      * @return Letter grade (A+, A, A-, B+, B, B-, C+, C, C-, D, F)
      */
     public static String calculateGrade(double marks) {
-        if (marks >= A_PLUS_THRESHOLD) {
-            return "A+";
-        } else if (marks >= A_THRESHOLD) {
-            return "A";
-        } else if (marks >= A_MINUS_THRESHOLD) {
-            return "A-";
-        } else if (marks >= B_PLUS_THRESHOLD) {
-            return "B+";
-        } else if (marks >= B_THRESHOLD) {
-            return "B";
-        } else if (marks >= B_MINUS_THRESHOLD) {
-            return "B-";
-        } else if (marks >= C_PLUS_THRESHOLD) {
-            return "C+";
-        } else if (marks >= C_THRESHOLD) {
-            return "C";
-        } else if (marks >= C_MINUS_THRESHOLD) {
-            return "C-";
-        } else if (marks >= D_THRESHOLD) {
-            return "D";
-        } else {
-            return "F";
-        }
-    }
-    
+        return getScale().grade(marks).getLetter();
+    }
+
+    /**
+     * Calculate letter grade on the scale for a subject and class
+     * @param marks The marks obtained (percentage)
+     * @param subjectId Subject ID
+     * @param studentClass Student's class, may be null
+     * @return Letter grade
+     */
+    public static String calculateGrade(double marks, int subjectId, String studentClass) {
+        return getScale(subjectId, studentClass).grade(marks).getLetter();
+    }
+
+    /**
+     * Grade many marks at once without allocating
+     * @param marks The marks obtained (percentage)
+     * @param out Receives the grade index of each mark; see {@link GradeScale#getGrade(int)}
+     */
+    public static void grade(double[] marks, byte[] out) {
+        getScale().grade(marks, out);
+    }
+
     /**
-     * Get grade point value for GPA calculations
+     * Get grade point value for GPA calculations. Looks the letter up on the default
+     * scale first; use the subject and class variant for a stored mark's grade.
      * @param grade Letter grade
      * @return Grade point value (4.0 scale)
      */
     public static double getGradePoint(String grade) {
-        switch (grade) {
-            case "A+": return 4.0;
-            case "A": return 4.0;
-            case "A-": return 3.7;
-            case "B+": return 3.3;
-            case "B": return 3.0;
-            case "B-": return 2.7;
-            case "C+": return 2.3;
-            case "C": return 2.0;
-            case "C-": return 1.7;
-            case "D": return 1.0;
-            case "F": return 0.0;
-            default: return 0.0;
-        }
-    }
-    
+        return gradePoint(SCALES.get().forLetter(grade));
+    }
+
+    /**
+     * Get grade point value for a grade given on the scale of a subject and class
+     * @param grade Letter grade
+     * @param subjectId Subject ID
+     * @param studentClass Student's class, may be null
+     * @return Grade point value (4.0 scale)
+     */
+    public static double getGradePoint(String grade, int subjectId, String studentClass) {
+        return gradePoint(getScale(subjectId, studentClass).forLetter(grade));
+    }
+
     /**
-     * Check if a grade is passing
+     * Check if a grade is passing. Looks the letter up on the default scale first; use
+     * the subject and class variant for a stored mark's grade.
      * @param grade Letter grade
      * @return true if passing, false otherwise
      */
     public static boolean isPassingGrade(String grade) {
-        return !grade.equals("F");
+        return isPassing(SCALES.get().forLetter(grade), grade);
+    }
+
+    /**
+     * Check if a grade given on the scale of a subject and class is passing
+     * @param grade Letter grade
+     * @param subjectId Subject ID
+     * @param studentClass Student's class, may be null
+     * @return true if passing, false otherwise
+     */
+    public static boolean isPassingGrade(String grade, int subjectId, String studentClass) {
+        return isPassing(getScale(subjectId, studentClass).forLetter(grade), grade);
     }
-    
+
     /**
-     * Get descriptive text for grade
+     * Get descriptive text for grade. Looks the letter up on the default scale first;
+     * use the subject and class variant for a stored mark's grade.
      * @param grade Letter grade
      * @return Descriptive text
      */
     public static String getGradeDescription(String grade) {
-        switch (grade) {
-            case "A+": return "Excellent (95-100%)";
-            case "A": return "Excellent (90-94%)";
-            case "A-": return "Very Good (85-89%)";
-            case "B+": return "Good (80-84%)";
-            case "B": return "Good (75-79%)";
-            case "B-": return "Above Average (70-74%)";
-            case "C+": return "Average (65-69%)";
-            case "C": return "Average (60-64%)";
-            case "C-": return "Below Average (55-59%)";
-            case "D": return "Poor (50-54%)";
-            case "F": return "Fail (Below 50%)";
-            default: return "Unknown Grade";
-        }
-    }
-}
\ No newline at end of file
+        return description(SCALES.get().forLetter(grade));
+    }
+
+    /**
+     * Get descriptive text for a grade given on the scale of a subject and class
+     * @param grade Letter grade
+     * @param subjectId Subject ID
+     * @param studentClass Student's class, may be null
+     * @return Descriptive text
+     */
+    public static String getGradeDescription(String grade, int subjectId, String studentClass) {
+        return description(getScale(subjectId, studentClass).forLetter(grade));
+    }
+
+    private static double gradePoint(GradeScale.Grade found) {
+        return found != null ? found.getPoint() : 0.0;
+    }
+
+    private static boolean isPassing(GradeScale.Grade found, String grade) {
+        return found != null ? found.isPassing() : !grade.equals("F");
+    }
+
+    private static String description(GradeScale.Grade found) {
+        return found != null ? found.getDescription() : "Unknown Grade";
+    }
+}
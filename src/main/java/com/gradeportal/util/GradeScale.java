@@ -0,0 +1,233 @@
+package com.gradeportal.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiled grading scale.
+ *
+ * A scale is built from a threshold table and compiled into a lookup array with one
+ * entry per hundredth of a percent, so grading a mark is a single array read with no
+ * comparisons and no allocation. Grades are represented by shared {@link Grade}
+ * constants; their index (0 = highest grade) fits in a byte for the bulk APIs.
+ * Instances are immutable and safe to share between threads.
+ */
+public final class GradeScale {
+
+    /** Lookup resolution: one slot per hundredth of a percent from 0 to 100 */
+    private static final int SLOTS = 10_001;
+
+    private final List<Grade> grades;
+    private final Map<String, Grade> byLetter;
+    private final byte[] lookup;
+
+    private GradeScale(List<Grade> grades) {
+        this.grades = Collections.unmodifiableList(grades);
+        this.byLetter = new HashMap<>(grades.size() * 2);
+        this.lookup = new byte[SLOTS];
+
+        for (Grade grade : grades) {
+            if (byLetter.put(grade.letter, grade) != null) {
+                throw new IllegalArgumentException("Duplicate grade letter: " + grade.letter);
+            }
+        }
+
+        // Grades are sorted highest threshold first; fill each grade's range downwards
+        int upper = SLOTS;
+        for (Grade grade : grades) {
+            for (int slot = grade.minHundredths; slot < upper; slot++) {
+                lookup[slot] = (byte) grade.index;
+            }
+            upper = Math.min(upper, grade.minHundredths);
+        }
+    }
+
+    /**
+     * Compile a scale from a threshold table
+     * @param bands One band per grade; order does not matter
+     * @return Compiled scale
+     * @throws IllegalArgumentException if the bands do not cover 0-100% or repeat a letter
+     */
+    public static GradeScale of(List<Band> bands) {
+        if (bands.isEmpty() || bands.size() > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException("A grade scale needs between 1 and 127 bands");
+        }
+
+        List<Band> sorted = new ArrayList<>(bands);
+        sorted.sort(Comparator.comparingInt((Band band) -> band.minHundredths).reversed());
+        if (sorted.get(sorted.size() - 1).minHundredths != 0) {
+            throw new IllegalArgumentException("The lowest grade must start at 0%");
+        }
+
+        List<Grade> grades = new ArrayList<>(sorted.size());
+        for (Band band : sorted) {
+            grades.add(new Grade(grades.size(), band));
+        }
+        return new GradeScale(grades);
+    }
+
+    /**
+     * Get the grade for a mark. Marks above 100 get the highest grade, marks
+     * below 0 (and NaN) the lowest.
+     * @param marks Marks obtained (percentage)
+     * @return Grade constant
+     */
+    public Grade grade(double marks) {
+        return grades.get(lookup[slot(marks)]);
+    }
+
+    /**
+     * Grade many marks at once without allocating
+     * @param marks Marks obtained (percentage)
+     * @param out Receives the index of each grade, see {@link #getGrade(int)}
+     */
+    public void grade(double[] marks, byte[] out) {
+        grade(marks, 0, out, 0, marks.length);
+    }
+
+    /**
+     * Grade a range of marks without allocating
+     * @param marks Marks obtained (percentage)
+     * @param from First index in marks
+     * @param out Receives the index of each grade
+     * @param outFrom First index in out
+     * @param length Number of marks to grade
+     */
+    public void grade(double[] marks, int from, byte[] out, int outFrom, int length) {
+        byte[] table = lookup;
+        for (int i = 0; i < length; i++) {
+            out[outFrom + i] = table[slot(marks[from + i])];
+        }
+    }
+
+    /**
+     * Get the grade points for many marks at once without allocating
+     * @param marks Marks obtained (percentage)
+     * @param out Receives the grade point of each mark
+     */
+    public void gradePoints(double[] marks, double[] out) {
+        byte[] table = lookup;
+        for (int i = 0; i < marks.length; i++) {
+            out[i] = grades.get(table[slot(marks[i])]).point;
+        }
+    }
+
+    /**
+     * Get a grade by its index
+     * @param index Grade index as written by the bulk APIs
+     * @return Grade constant
+     */
+    public Grade getGrade(int index) {
+        return grades.get(index);
+    }
+
+    /**
+     * Get a grade by its letter
+     * @param letter Letter grade
+     * @return Grade constant, or null if the scale has no such grade
+     */
+    public Grade forLetter(String letter) {
+        return byLetter.get(letter);
+    }
+
+    /**
+     * Get all grades, highest first
+     * @return Unmodifiable list of grades
+     */
+    public List<Grade> getGrades() {
+        return grades;
+    }
+
+    private static int slot(double marks) {
+        // The small bias keeps values like 0.29 * 100 = 28.999... in the right slot
+        double hundredths = Math.floor(marks * 100 + 1e-9);
+        if (hundredths >= SLOTS - 1) {
+            return SLOTS - 1;
+        }
+        return hundredths > 0 ? (int) hundredths : 0;
+    }
+
+    /**
+     * One row of a threshold table
+     */
+    public static final class Band {
+        private final String letter;
+        private final int minHundredths;
+        private final double point;
+        private final String description;
+        private final boolean passing;
+
+        /**
+         * @param letter Letter grade
+         * @param minPercent Lowest percentage that earns this grade
+         * @param point Grade point value (4.0 scale)
+         * @param description Descriptive text
+         * @param passing Whether the grade is a pass
+         */
+        public Band(String letter, double minPercent, double point, String description, boolean passing) {
+            if (minPercent < 0 || minPercent > 100) {
+                throw new IllegalArgumentException("Threshold out of range for " + letter + ": " + minPercent);
+            }
+            this.letter = letter;
+            this.minHundredths = (int) Math.round(minPercent * 100);
+            this.point = point;
+            this.description = description;
+            this.passing = passing;
+        }
+    }
+
+    /**
+     * A grade of a compiled scale. There is exactly one instance per grade, so
+     * grades can be compared with ==.
+     */
+    public static final class Grade {
+        private final int index;
+        private final String letter;
+        private final int minHundredths;
+        private final double point;
+        private final String description;
+        private final boolean passing;
+
+        private Grade(int index, Band band) {
+            this.index = index;
+            this.letter = band.letter.intern();
+            this.minHundredths = band.minHundredths;
+            this.point = band.point;
+            this.description = band.description;
+            this.passing = band.passing;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public String getLetter() {
+            return letter;
+        }
+
+        public double getMinPercent() {
+            return minHundredths / 100.0;
+        }
+
+        public double getPoint() {
+            return point;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        public boolean isPassing() {
+            return passing;
+        }
+
+        @Override
+        public String toString() {
+            return letter;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.gradeportal.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable set of compiled grade scales with their subject and class assignments.
+ *
+ * A mark is graded on the scale assigned to its subject, else the scale assigned to
+ * the student's class, else the default scale. GradeCalculator swaps whole sets in
+ * one atomic step, so readers never see a half-loaded configuration.
+ */
+public final class GradeScaleSet {
+
+    private final GradeScale defaultScale;
+    private final Map<Integer, GradeScale> bySubject;
+    private final Map<String, GradeScale> byClass;
+    private final List<GradeScale> allScales;
+
+    /**
+     * @param defaultScale Scale for subjects and classes without an assignment
+     * @param bySubject Scales assigned to subject IDs
+     * @param byClass Scales assigned to class names
+     */
+    public GradeScaleSet(GradeScale defaultScale, Map<Integer, GradeScale> bySubject, Map<String, GradeScale> byClass) {
+        this.defaultScale = defaultScale;
+        this.bySubject = Map.copyOf(bySubject);
+        this.byClass = Map.copyOf(byClass);
+
+        List<GradeScale> scales = new ArrayList<>();
+        scales.add(defaultScale);
+        for (GradeScale scale : this.bySubject.values()) {
+            if (!scales.contains(scale)) {
+                scales.add(scale);
+            }
+        }
+        for (GradeScale scale : this.byClass.values()) {
+            if (!scales.contains(scale)) {
+                scales.add(scale);
+            }
+        }
+        this.allScales = List.copyOf(scales);
+    }
+
+    /**
+     * Create a set that grades everything on one scale
+     */
+    public static GradeScaleSet of(GradeScale defaultScale) {
+        return new GradeScaleSet(defaultScale, Map.of(), Map.of());
+    }
+
+    public GradeScale getDefault() {
+        return defaultScale;
+    }
+
+    /**
+     * Get the scale for a mark
+     * @param subjectId Subject of the mark
+     * @param studentClass Class of the student, may be null
+     * @return Scale to grade the mark on
+     */
+    public GradeScale forSubject(int subjectId, String studentClass) {
+        GradeScale scale = bySubject.get(subjectId);
+        if (scale == null && studentClass != null) {
+            scale = byClass.get(studentClass);
+        }
+        return scale != null ? scale : defaultScale;
+    }
+
+    /**
+     * Find a grade by letter, preferring the default scale
+     * @param letter Letter grade
+     * @return Grade, or null if no scale has the letter
+     */
+    public GradeScale.Grade forLetter(String letter) {
+        for (GradeScale scale : allScales) {
+            GradeScale.Grade grade = scale.forLetter(letter);
+            if (grade != null) {
+                return grade;
+            }
+        }
+        return null;
+    }
+}
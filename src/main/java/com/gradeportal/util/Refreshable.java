@@ -0,0 +1,13 @@
+package com.gradeportal.util;
+
+/**
+ * Implemented by view controllers whose data should be reloaded when a cached view
+ * is shown again
+ */
+public interface Refreshable {
+
+    /**
+     * Reload the view's data. Called on the JavaFX thread; should not block it.
+     */
+    void refresh();
+}
@@ -0,0 +1,318 @@
+package com.gradeportal.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Small text template engine for report layouts.
+ *
+ * A template is parsed once into a list of instructions and can then be rendered any
+ * number of times, from any number of threads, without parsing again. Syntax:
+ * <ul>
+ *   <li>{@code {{name}}} - value of a field</li>
+ *   <li>{@code {{name:-20}}} - left-aligned, padded to 20 characters</li>
+ *   <li>{@code {{name:8.1}}} - number, right-aligned to 8 characters with 1 decimal</li>
+ *   <li>{@code {{#rows}}...{{/rows}}} - repeated once per item of a section</li>
+ *   <li>{@code {{^rows}}...{{/rows}}} - rendered only when a section is empty</li>
+ * </ul>
+ * A section tag alone at the start of a line also removes the line break after it, so
+ * section markers do not leave blank lines behind.
+ */
+public final class ReportTemplate {
+
+    /**
+     * Data a template is rendered against
+     */
+    public interface Scope {
+        /**
+         * Get the text of a field
+         * @return Text, or null if the field is not set
+         */
+        CharSequence text(String name);
+
+        /**
+         * Get the numeric value of a field, used by placeholders with a precision
+         * @return Value, or NaN if the field is not set
+         */
+        double number(String name);
+
+        /**
+         * Get the number of items in a section
+         */
+        int count(String section);
+
+        /**
+         * Get one item of a section. Implementations may reuse the returned scope
+         * for the next item.
+         */
+        Scope item(String section, int index);
+    }
+
+    private static final int MAX_PRECISION = Rounding.MAX_DECIMALS;
+
+    private final List<Instruction> instructions;
+
+    private ReportTemplate(List<Instruction> instructions) {
+        this.instructions = instructions;
+    }
+
+    /**
+     * Parse a template
+     * @param source Template text
+     * @return Compiled template
+     * @throws IllegalArgumentException if tags are malformed or sections do not match
+     */
+    public static ReportTemplate compile(String source) {
+        Deque<Section> open = new ArrayDeque<>();
+        List<Instruction> root = new ArrayList<>();
+        List<Instruction> current = root;
+
+        int position = 0;
+        while (position < source.length()) {
+            int start = source.indexOf("{{", position);
+            if (start < 0) {
+                current.add(new Literal(source.substring(position)));
+                break;
+            }
+            if (start > position) {
+                current.add(new Literal(source.substring(position, start)));
+            }
+
+            int end = source.indexOf("}}", start + 2);
+            if (end < 0) {
+                throw new IllegalArgumentException("Unclosed tag at offset " + start);
+            }
+            String tag = source.substring(start + 2, end).trim();
+            if (tag.isEmpty()) {
+                throw new IllegalArgumentException("Empty tag at offset " + start);
+            }
+            position = end + 2;
+
+            char kind = tag.charAt(0);
+            if (kind == '#' || kind == '^' || kind == '/') {
+                // Standalone section tags swallow their line break
+                boolean lineStart = start == 0 || source.charAt(start - 1) == '\n';
+                if (lineStart && position < source.length() && source.charAt(position) == '\n') {
+                    position++;
+                }
+
+                String name = tag.substring(1).trim();
+                if (kind == '/') {
+                    if (open.isEmpty() || !open.peek().name.equals(name)) {
+                        throw new IllegalArgumentException("Unexpected {{/" + name + "}} at offset " + start);
+                    }
+                    open.pop();
+                    current = open.isEmpty() ? root : open.peek().body;
+                } else {
+                    Section section = new Section(name, kind == '^');
+                    current.add(section);
+                    open.push(section);
+                    current = section.body;
+                }
+            } else {
+                current.add(Placeholder.parse(tag));
+            }
+        }
+
+        if (!open.isEmpty()) {
+            throw new IllegalArgumentException("Unclosed section {{#" + open.peek().name + "}}");
+        }
+        return new ReportTemplate(List.copyOf(root));
+    }
+
+    /**
+     * Load and compile a template file (UTF-8)
+     */
+    public static ReportTemplate load(Path file) throws IOException {
+        return compile(Files.readString(file, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Load and compile a template from the classpath (UTF-8)
+     */
+    public static ReportTemplate loadResource(String resource) {
+        try (InputStream in = ReportTemplate.class.getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IllegalArgumentException("Template not found: " + resource);
+            }
+            return compile(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Render into any Appendable, e.g. a Writer
+     */
+    public void render(Scope scope, Appendable out) throws IOException {
+        run(instructions, scope, out);
+    }
+
+    /**
+     * Render into a StringBuilder, which callers can reuse between renders
+     */
+    public void render(Scope scope, StringBuilder out) {
+        try {
+            run(instructions, scope, out);
+        } catch (IOException e) {
+            // StringBuilder never throws
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Render into a new string
+     */
+    public String render(Scope scope) {
+        StringBuilder out = new StringBuilder(1024);
+        render(scope, out);
+        return out.toString();
+    }
+
+    private static void run(List<Instruction> instructions, Scope scope, Appendable out) throws IOException {
+        for (Instruction instruction : instructions) {
+            instruction.execute(scope, out);
+        }
+    }
+
+    private interface Instruction {
+        void execute(Scope scope, Appendable out) throws IOException;
+    }
+
+    private static final class Literal implements Instruction {
+        private final String text;
+
+        Literal(String text) {
+            this.text = text;
+        }
+
+        @Override
+        public void execute(Scope scope, Appendable out) throws IOException {
+            out.append(text);
+        }
+    }
+
+    private static final class Section implements Instruction {
+        private final String name;
+        private final boolean inverted;
+        private final List<Instruction> body = new ArrayList<>();
+
+        Section(String name, boolean inverted) {
+            this.name = name;
+            this.inverted = inverted;
+        }
+
+        @Override
+        public void execute(Scope scope, Appendable out) throws IOException {
+            int count = scope.count(name);
+            if (inverted) {
+                if (count == 0) {
+                    run(body, scope, out);
+                }
+                return;
+            }
+            for (int i = 0; i < count; i++) {
+                run(body, scope.item(name, i), out);
+            }
+        }
+    }
+
+    private static final class Placeholder implements Instruction {
+        private final String name;
+        private final int width;
+        private final boolean leftAlign;
+        private final int precision;
+
+        Placeholder(String name, int width, boolean leftAlign, int precision) {
+            this.name = name;
+            this.width = width;
+            this.leftAlign = leftAlign;
+            this.precision = precision;
+        }
+
+        /**
+         * Parse "name", "name:-20", "name:8.1" or "name:.2"
+         */
+        static Placeholder parse(String tag) {
+            int colon = tag.indexOf(':');
+            if (colon < 0) {
+                return new Placeholder(tag, 0, false, -1);
+            }
+
+            String name = tag.substring(0, colon).trim();
+            String spec = tag.substring(colon + 1).trim();
+            boolean leftAlign = spec.startsWith("-");
+            if (leftAlign) {
+                spec = spec.substring(1);
+            }
+
+            try {
+                int dot = spec.indexOf('.');
+                String widthText = dot < 0 ? spec : spec.substring(0, dot);
+                int width = widthText.isEmpty() ? 0 : Integer.parseInt(widthText);
+                int precision = dot < 0 ? -1 : Integer.parseInt(spec.substring(dot + 1));
+                if (precision > MAX_PRECISION) {
+                    throw new IllegalArgumentException("Precision too large in {{" + tag + "}}");
+                }
+                return new Placeholder(name, width, leftAlign, precision);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Bad format in {{" + tag + "}}");
+            }
+        }
+
+        @Override
+        public void execute(Scope scope, Appendable out) throws IOException {
+            if (precision >= 0) {
+                appendNumber(scope.number(name), out);
+                return;
+            }
+
+            CharSequence text = scope.text(name);
+            appendPadded(text == null ? "null" : text, out);
+        }
+
+        private void appendPadded(CharSequence text, Appendable out) throws IOException {
+            if (!leftAlign) {
+                pad(width - text.length(), out);
+            }
+            out.append(text);
+            if (leftAlign) {
+                pad(width - text.length(), out);
+            }
+        }
+
+        /**
+         * Format a number half-up to the placeholder's precision, digit by digit; see Rounding
+         */
+        private void appendNumber(double value, Appendable out) throws IOException {
+            long scaled = Rounding.halfUpScaled(value, precision);
+            if (scaled < 0) {
+                appendPadded(Double.isFinite(value) ? Rounding.halfUp(value, precision) : Double.toString(value), out);
+                return;
+            }
+
+            int length = Rounding.length(scaled, precision, value < 0);
+            if (!leftAlign) {
+                pad(width - length, out);
+            }
+            Rounding.append(scaled, precision, value < 0, out);
+            if (leftAlign) {
+                pad(width - length, out);
+            }
+        }
+
+        private static void pad(int count, Appendable out) throws IOException {
+            for (int i = 0; i < count; i++) {
+                out.append(' ');
+            }
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.gradeportal.util;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Half-up rounding of doubles for display, shared by CsvWriter and ReportTemplate.
+ *
+ * A double is rounded as the shortest decimal that identifies it (Double.toString),
+ * in a single step, so 12.345 at one decimal is 12.3 and 85.25 is 85.3. Scaling the
+ * binary value and rounding it twice gives different answers near .5 boundaries.
+ *
+ * halfUpScaled gives the same answer as halfUp without allocating: instead of
+ * building the decimal it compares the double with the nearest double to the
+ * decimal tie point, which is exact while the scaled value stays below 10^14.
+ */
+final class Rounding {
+
+    /** Most decimals supported by halfUpScaled */
+    static final int MAX_DECIMALS = 8;
+
+    private static final long[] POWERS_OF_TEN = {
+        1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L
+    };
+    // Below this, ties at d + 1 decimals are further apart than a double's spacing
+    private static final double EXACT_LIMIT = 1e14;
+
+    private Rounding() {
+    }
+
+    /**
+     * Round a finite number half-up to a fixed number of decimals
+     * @param value Number to round; must not be NaN or infinite
+     * @param decimals Digits after the decimal point
+     * @return Plain decimal text, with exactly that many digits after the point and
+     *         no minus sign if the result is zero
+     */
+    static String halfUp(double value, int decimals) {
+        return new BigDecimal(Double.toString(value)).setScale(decimals, RoundingMode.HALF_UP).toPlainString();
+    }
+
+    /**
+     * Round the magnitude of a number half-up to a whole number of 10^-decimals,
+     * agreeing digit for digit with halfUp
+     * @param value Number to round; the sign is ignored
+     * @param decimals Digits after the decimal point, 0 to MAX_DECIMALS
+     * @return |value| * 10^decimals rounded half-up, or -1 if the value is NaN,
+     *         infinite or too large to round exactly this way
+     */
+    static long halfUpScaled(double value, int decimals) {
+        double magnitude = Math.abs(value);
+        long scale = POWERS_OF_TEN[decimals];
+        double scaled = magnitude * scale;
+        if (!(scaled < EXACT_LIMIT)) {
+            return -1;
+        }
+
+        // The product may be off by an ulp, but only a tie can change the answer
+        long lower = (long) scaled;
+        double tie = (2 * lower + 1) / (2.0 * scale);
+        return magnitude >= tie ? lower + 1 : lower;
+    }
+
+    /**
+     * Count the characters append would write
+     * @param scaled Result of halfUpScaled
+     * @param decimals Digits after the decimal point
+     * @param negative Whether the rounded value was negative
+     */
+    static int length(long scaled, int decimals, boolean negative) {
+        int length = decimals > 0 ? decimals + 2 : 1;
+        for (long whole = scaled / POWERS_OF_TEN[decimals]; whole >= 10; whole /= 10) {
+            length++;
+        }
+        return negative && scaled != 0 ? length + 1 : length;
+    }
+
+    /**
+     * Write a halfUpScaled result as plain decimal text, digit by digit
+     * @param scaled Result of halfUpScaled
+     * @param decimals Digits after the decimal point
+     * @param negative Whether the rounded value was negative; ignored for zero
+     * @param out Destination
+     */
+    static void append(long scaled, int decimals, boolean negative, Appendable out) throws IOException {
+        if (negative && scaled != 0) {
+            out.append('-');
+        }
+        long whole = scaled / POWERS_OF_TEN[decimals];
+        long unit = 1;
+        while (unit <= whole / 10) {
+            unit *= 10;
+        }
+        for (; unit > 0; unit /= 10) {
+            out.append((char) ('0' + whole / unit % 10));
+        }
+        if (decimals > 0) {
+            out.append('.');
+            long fraction = scaled % POWERS_OF_TEN[decimals];
+            for (int i = decimals - 1; i >= 0; i--) {
+                out.append((char) ('0' + fraction / POWERS_OF_TEN[i] % 10));
+            }
+        }
+    }
+}
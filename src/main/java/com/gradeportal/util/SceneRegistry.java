@@ -0,0 +1,165 @@
+package com.gradeportal.util;
+
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.stage.Stage;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Cache of parsed views for navigation.
+ *
+ * Each FXML file is parsed once; its node graph, controller and scene are kept and
+ * reused every time the view is shown again. Views can be preloaded on a dedicated
+ * thread, e.g. right after login, so the first navigation does not parse either.
+ * Showing a view never waits for a preload: if it has not finished, the view is
+ * parsed on the FX thread and the preload is dropped.
+ * When a cached view is shown and its controller implements Refreshable, refresh()
+ * is called so the view pulls fresh data instead of showing what it loaded earlier.
+ *
+ * Cached controllers hold per-user state, so the registry must be cleared on logout.
+ */
+public final class SceneRegistry {
+
+    public static final String LOGIN = "/com/gradeportal/view/Login.fxml";
+    public static final String ADMIN_DASHBOARD = "/fxml/AdminDashboard.fxml";
+    public static final String STUDENT_DASHBOARD = "/fxml/StudentDashboard.fxml";
+    public static final String STUDENTS = "/fxml/Students.fxml";
+    public static final String SUBJECTS = "/fxml/Subjects.fxml";
+    public static final String MARKS = "/fxml/Marks.fxml";
+    public static final String RESULTS = "/fxml/Results.fxml";
+
+    private static final String CSS_FILE = "/css/application.css";
+    private static final String APP_TITLE = "Grades & Marks Portal System";
+
+    private static final Map<String, CompletableFuture<View>> VIEWS = new ConcurrentHashMap<>();
+
+    // Own thread so parsing views never delays, or waits behind, maintenance tasks
+    private static final ExecutorService PRELOADER = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "gradeportal-preload");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private SceneRegistry() {
+    }
+
+    /**
+     * Parse views on the preload thread if they are not cached yet
+     * @param fxmlPaths Classpath locations of the FXML files
+     */
+    public static void preload(String... fxmlPaths) {
+        for (String fxmlPath : fxmlPaths) {
+            CompletableFuture<View> future = new CompletableFuture<>();
+            if (VIEWS.putIfAbsent(fxmlPath, future) != null) {
+                continue;
+            }
+
+            PRELOADER.execute(() -> {
+                // Skip views that were already shown, and so parsed, on the FX thread
+                if (future.isDone()) {
+                    return;
+                }
+                try {
+                    View view = View.load(fxmlPath);
+                    view.refreshOnShow = true;
+                    future.complete(view);
+                } catch (IOException | RuntimeException e) {
+                    // show() will retry on the FX thread and report the error there
+                    VIEWS.remove(fxmlPath, future);
+                    future.completeExceptionally(e);
+                    System.err.println("⚠️ Failed to preload " + fxmlPath + ": " + e.getMessage());
+                }
+            });
+        }
+    }
+
+    /**
+     * Show a view on a stage, parsing it only if it is not cached. Must be called on
+     * the JavaFX thread. If the view is still being preloaded it is parsed here rather
+     * than waited for, and the preload's result is not used.
+     * @param stage Stage to show the view on
+     * @param fxmlPath Classpath location of the FXML file
+     * @param title Window title, without the application name
+     * @return The view's controller
+     * @throws IOException if the FXML cannot be loaded
+     */
+    @SuppressWarnings("unchecked")
+    public static <C> C show(Stage stage, String fxmlPath, String title) throws IOException {
+        View view = get(fxmlPath);
+
+        if (view.scene == null) {
+            view.scene = new Scene(view.root);
+            view.scene.getStylesheets().add(SceneRegistry.class.getResource(CSS_FILE).toExternalForm());
+        }
+
+        stage.setScene(view.scene);
+        stage.setTitle(title + " - " + APP_TITLE);
+        stage.show();
+
+        if (view.refreshOnShow && view.controller instanceof Refreshable refreshable) {
+            refreshable.refresh();
+        }
+        view.refreshOnShow = true;
+
+        return (C) view.controller;
+    }
+
+    /**
+     * Drop all cached views, e.g. on logout. Preloads still running finish but are
+     * not kept.
+     */
+    public static void clear() {
+        VIEWS.clear();
+    }
+
+    private static View get(String fxmlPath) throws IOException {
+        CompletableFuture<View> future = VIEWS.get(fxmlPath);
+        if (future != null && future.isDone() && !future.isCompletedExceptionally()) {
+            return future.join();
+        }
+        if (future != null) {
+            // Preload failed or is still running; cancelling makes a queued preload skip
+            // the parse, and one already parsing finishes into a future nobody reads
+            future.cancel(false);
+            VIEWS.remove(fxmlPath, future);
+        }
+
+        View view = View.load(fxmlPath);
+        VIEWS.put(fxmlPath, CompletableFuture.completedFuture(view));
+        return view;
+    }
+
+    /**
+     * A parsed view. The scene is created on the FX thread the first time the view is shown.
+     */
+    private static final class View {
+        final Parent root;
+        final Object controller;
+        Scene scene;
+        volatile boolean refreshOnShow;
+
+        View(Parent root, Object controller) {
+            this.root = root;
+            this.controller = controller;
+        }
+
+        static View load(String fxmlPath) throws IOException {
+            URL location = SceneRegistry.class.getResource(fxmlPath);
+            if (location == null) {
+                throw new IOException("View not found: " + fxmlPath);
+            }
+
+            FXMLLoader loader = new FXMLLoader(location);
+            Parent root = loader.load();
+            return new View(root, loader.getController());
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.gradeportal.util;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Records when each startup phase finished, in milliseconds since the JVM started.
+ *
+ * Phases are recorded from any thread as they complete; the first time recorded for a
+ * phase wins. The summary line has a fixed "name=ms" format so startup times, above
+ * all time to first frame, can be compared between releases from the logs.
+ */
+public final class StartupTimer {
+
+    private static final long ORIGIN_MILLIS = ProcessHandle.current().info().startInstant()
+            .map(Instant::toEpochMilli)
+            .orElseGet(System::currentTimeMillis);
+
+    // Guarded by itself; kept in the order phases were recorded
+    private static final Map<String, Long> PHASES = new LinkedHashMap<>();
+
+    private StartupTimer() {
+    }
+
+    /**
+     * Record that a phase has finished
+     * @param phase Phase name, e.g. "first-frame"
+     * @return Milliseconds since the JVM started
+     */
+    public static long mark(String phase) {
+        long elapsed = System.currentTimeMillis() - ORIGIN_MILLIS;
+        synchronized (PHASES) {
+            if (PHASES.putIfAbsent(phase, elapsed) != null) {
+                return PHASES.get(phase);
+            }
+        }
+        System.out.println("⏱️ Startup phase " + phase + " at " + elapsed + " ms");
+        return elapsed;
+    }
+
+    /**
+     * Get the recorded phases
+     * @return Phase names mapped to milliseconds since the JVM started, in order recorded
+     */
+    public static Map<String, Long> getPhases() {
+        synchronized (PHASES) {
+            return new LinkedHashMap<>(PHASES);
+        }
+    }
+
+    /**
+     * Get all phases on one line, sorted by time
+     * @return e.g. "fx-start=410 driver-loaded=455 login-shown=690 first-frame=720"
+     */
+    public static String summary() {
+        List<Map.Entry<String, Long>> phases = new ArrayList<>(getPhases().entrySet());
+        phases.sort(Map.Entry.comparingByValue());
+
+        StringBuilder summary = new StringBuilder();
+        for (Map.Entry<String, Long> phase : phases) {
+            if (summary.length() > 0) {
+                summary.append(' ');
+            }
+            summary.append(phase.getKey()).append('=').append(phase.getValue());
+        }
+        return summary.toString();
+    }
+}
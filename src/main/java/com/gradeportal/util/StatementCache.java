@@ -0,0 +1,202 @@
+package com.gradeportal.util;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * LRU cache of prepared statements for one physical connection, keyed by SQL text.
+ *
+ * A cached statement is removed from the cache while it is in use and put back when
+ * the caller closes it, so two callers preparing the same SQL on the same connection
+ * never share a statement. Statements pushed out by the size bound are really closed.
+ *
+ * Settings a caller changes on a statement (fetch size, row limit, timeout and so on)
+ * are put back to the JDBC defaults when it is returned, so they never leak into the
+ * next caller's query. Statements with settings that cannot be undone are closed.
+ */
+class StatementCache {
+
+    // Setters whose effect resetSettings() undoes
+    private static final Set<String> RESETTABLE_SETTERS = Set.of(
+            "setFetchSize", "setFetchDirection", "setMaxRows", "setLargeMaxRows",
+            "setQueryTimeout", "setMaxFieldSize", "setEscapeProcessing");
+
+    // Setters with no portable default to go back to
+    private static final Set<String> PERMANENT_SETTERS = Set.of(
+            "closeOnCompletion", "setCursorName", "setPoolable");
+
+    private final Connection physical;
+    private final int maxSize;
+    private final LongAdder hits;
+    private final LongAdder misses;
+    private final LinkedHashMap<String, PreparedStatement> statements;
+
+    /**
+     * @param physical Physical connection the statements belong to
+     * @param maxSize Maximum number of idle statements kept open
+     * @param hits Shared hit counter
+     * @param misses Shared miss counter
+     */
+    StatementCache(Connection physical, int maxSize, LongAdder hits, LongAdder misses) {
+        this.physical = physical;
+        this.maxSize = maxSize;
+        this.hits = hits;
+        this.misses = misses;
+        this.statements = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Prepare a statement, reusing a cached one when the same SQL was prepared before.
+     * @param sql SQL text
+     * @param autoGeneratedKeys Statement.RETURN_GENERATED_KEYS or NO_GENERATED_KEYS, or -1 for the plain variant
+     * @param owner Connection handle returned by getConnection() on the statement
+     * @return PreparedStatement whose close() returns it to this cache
+     * @throws SQLException if preparing fails
+     */
+    PreparedStatement prepare(String sql, int autoGeneratedKeys, Connection owner) throws SQLException {
+        String key = autoGeneratedKeys + ":" + sql;
+
+        PreparedStatement statement;
+        synchronized (this) {
+            statement = statements.remove(key);
+        }
+
+        if (statement != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+            statement = autoGeneratedKeys < 0
+                    ? physical.prepareStatement(sql)
+                    : physical.prepareStatement(sql, autoGeneratedKeys);
+        }
+
+        return (PreparedStatement) Proxy.newProxyInstance(
+                PreparedStatement.class.getClassLoader(),
+                new Class<?>[] { PreparedStatement.class },
+                new Handle(key, statement, owner));
+    }
+
+    /**
+     * Close every cached statement.
+     */
+    synchronized void clear() {
+        for (PreparedStatement statement : statements.values()) {
+            closeQuietly(statement);
+        }
+        statements.clear();
+    }
+
+    private void checkIn(String key, PreparedStatement statement, boolean settingsChanged) {
+        try {
+            statement.clearParameters();
+            statement.clearBatch();
+            if (settingsChanged) {
+                resetSettings(statement);
+            }
+        } catch (SQLException e) {
+            closeQuietly(statement);
+            return;
+        }
+
+        PreparedStatement duplicate;
+        synchronized (this) {
+            duplicate = statements.put(key, statement);
+            Iterator<Map.Entry<String, PreparedStatement>> it = statements.entrySet().iterator();
+            while (statements.size() > maxSize && it.hasNext()) {
+                closeQuietly(it.next().getValue());
+                it.remove();
+            }
+        }
+        if (duplicate != null && duplicate != statement) {
+            closeQuietly(duplicate);
+        }
+    }
+
+    private static void resetSettings(PreparedStatement statement) throws SQLException {
+        statement.setFetchSize(0);
+        statement.setFetchDirection(ResultSet.FETCH_FORWARD);
+        statement.setMaxRows(0);
+        statement.setQueryTimeout(0);
+        statement.setMaxFieldSize(0);
+        statement.setEscapeProcessing(true);
+    }
+
+    private static void closeQuietly(PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (SQLException e) {
+            // Statement is being thrown away anyway
+        }
+    }
+
+    /**
+     * Proxy handler for one use of a cached statement.
+     */
+    private final class Handle implements InvocationHandler {
+        private final String key;
+        private final Connection owner;
+        private PreparedStatement statement;
+        private boolean settingsChanged;
+        private boolean uncacheable;
+
+        Handle(String key, PreparedStatement statement, Connection owner) {
+            this.key = key;
+            this.statement = statement;
+            this.owner = owner;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (statement != null) {
+                        PreparedStatement returning = statement;
+                        statement = null;
+                        if (uncacheable) {
+                            closeQuietly(returning);
+                        } else {
+                            checkIn(key, returning, settingsChanged);
+                        }
+                    }
+                    return null;
+                case "isClosed":
+                    return statement == null || statement.isClosed();
+                case "getConnection":
+                    return owner;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "CachedStatement[" + (statement == null ? "closed" : statement) + "]";
+                default:
+                    if (RESETTABLE_SETTERS.contains(method.getName())) {
+                        settingsChanged = true;
+                    } else if (PERMANENT_SETTERS.contains(method.getName())) {
+                        uncacheable = true;
+                    }
+                    break;
+            }
+
+            if (statement == null) {
+                throw new SQLException("Statement has already been closed");
+            }
+            try {
+                return method.invoke(statement, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
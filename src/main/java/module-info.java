@@ -13,5 +13,6 @@ module gradesportal {
 	exports com.gradeportal.controller;
 	exports com.gradeportal.model;
 	exports com.gradeportal.dao;
+	exports com.gradeportal.service;
 	exports com.gradeportal.util;
 }
\ No newline at end of file
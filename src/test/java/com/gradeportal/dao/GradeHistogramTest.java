@@ -0,0 +1,77 @@
+package com.gradeportal.dao;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.gradeportal.model.Mark;
+
+import org.junit.jupiter.api.Test;
+
+class GradeHistogramTest {
+
+    @Test
+    void countsFollowMarkChanges() throws SQLException {
+        GradeHistogram histogram = new GradeHistogram(() -> Map.of("A", 2, "B", 1));
+        assertEquals(Map.of("A", 2, "B", 1), histogram.getDistribution());
+
+        histogram.markChanged(null, mark("C"));
+        histogram.markChanged(mark("A"), mark("B"));
+        assertEquals(Map.of("A", 1, "B", 2, "C", 1), histogram.getDistribution());
+
+        // Grades that drop to zero disappear
+        histogram.markChanged(mark("C"), null);
+        histogram.markChanged(mark("A"), null);
+        assertEquals(Map.of("B", 2), histogram.getDistribution());
+
+        // Edits that keep the grade change nothing
+        histogram.markChanged(mark("B"), mark("B"));
+        assertEquals(Map.of("B", 2), histogram.getDistribution());
+    }
+
+    @Test
+    void distributionIsAnOrderedSnapshot() throws SQLException {
+        GradeHistogram histogram = new GradeHistogram(() -> Map.of("F", 1, "A+", 3, "B", 2));
+        Map<String, Integer> distribution = histogram.getDistribution();
+        histogram.markChanged(null, mark("F"));
+
+        assertEquals("[A+, B, F]", distribution.keySet().toString());
+        assertEquals(1, distribution.get("F"));
+        assertThrows(UnsupportedOperationException.class, () -> distribution.put("C", 1));
+    }
+
+    @Test
+    void changesBeforeTheFirstLoadAreLeftToTheQuery() throws SQLException {
+        AtomicInteger loads = new AtomicInteger();
+        GradeHistogram histogram = new GradeHistogram(() -> Map.of("A", loads.incrementAndGet()));
+
+        histogram.markChanged(null, mark("A"));
+        assertEquals(Map.of("A", 1), histogram.getDistribution());
+
+        histogram.marksInvalidated();
+        assertEquals(Map.of("A", 2), histogram.getDistribution());
+        assertEquals(Map.of("A", 2), histogram.getDistribution());
+    }
+
+    @Test
+    void answersFromTheQueryWhenChangesKeepOverlappingIt() throws SQLException {
+        AtomicReference<GradeHistogram> self = new AtomicReference<>();
+        AtomicInteger loads = new AtomicInteger();
+        GradeHistogram histogram = new GradeHistogram(() -> {
+            self.get().marksInvalidated();
+            return Map.of("A", loads.incrementAndGet());
+        });
+        self.set(histogram);
+
+        assertEquals(Map.of("A", 3), histogram.getDistribution());
+        assertEquals(Map.of("A", 6), histogram.getDistribution());
+    }
+
+    private static Mark mark(String grade) {
+        return new Mark(1, 1, 0.0, grade);
+    }
+}
@@ -0,0 +1,160 @@
+package com.gradeportal.dao;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.gradeportal.model.Mark;
+import com.gradeportal.model.Student;
+
+import org.junit.jupiter.api.Test;
+
+class LeaderboardTest {
+
+    @Test
+    void ranksByAverageThenStudentId() throws SQLException {
+        Leaderboard leaderboard = new Leaderboard(() -> List.of(
+                standing(4, 140.0, 2), standing(2, 85.0, 1), standing(3, 90.0, 1), standing(1, 180.0, 2)));
+
+        assertEquals(List.of(1, 3, 2, 4), ids(leaderboard.getTopPerformers(10)));
+        assertEquals(List.of(1, 3), ids(leaderboard.getTopPerformers(2)));
+        assertEquals(90.0, leaderboard.getTopPerformers(1).get(0).get("averageMarks"));
+        assertEquals("Student 1", leaderboard.getTopPerformers(1).get(0).get("name"));
+        assertEquals(2, leaderboard.getRank(3));
+        assertEquals(0, leaderboard.getRank(99));
+        assertEquals(4, leaderboard.size());
+    }
+
+    @Test
+    void followsInsertsEditsAndDeletes() throws SQLException {
+        Leaderboard leaderboard = new Leaderboard(() -> List.of(
+                standing(1, 180.0, 2), standing(2, 85.0, 1), standing(3, 90.0, 1), standing(4, 140.0, 2)));
+        leaderboard.size();
+
+        leaderboard.markChanged(null, mark(4, 100.0));
+        assertEquals(List.of(1, 3, 2, 4), ids(leaderboard.getTopPerformers(10)));
+
+        leaderboard.markChanged(mark(2, 85.0), mark(2, 60.0));
+        assertEquals(4, leaderboard.getRank(2));
+        assertEquals(3, leaderboard.getRank(4));
+
+        leaderboard.markChanged(mark(3, 90.0), null);
+        assertEquals(0, leaderboard.getRank(3));
+        assertEquals(3, leaderboard.size());
+
+        leaderboard.markChanged(null, mark(5, 95.0));
+        leaderboard.studentUpdated(new Student(5, "Student 5", "R5", "10A", null));
+        assertEquals(List.of(5, 1), ids(leaderboard.getTopPerformers(2)));
+
+        // A mark moved to another student leaves one and joins the other
+        leaderboard.markChanged(mark(1, 90.0), mark(2, 90.0));
+        assertEquals(75.0, leaderboard.getTopPerformers(10).get(3).get("averageMarks"));
+        assertEquals(List.of(5, 1, 4, 2), ids(leaderboard.getTopPerformers(10)));
+        assertEquals("Student 5", leaderboard.getTopPerformers(1).get(0).get("name"));
+    }
+
+    @Test
+    void matchesSortedOrderAfterRandomChanges() throws SQLException {
+        Leaderboard leaderboard = new Leaderboard(List::of);
+        leaderboard.size();
+
+        Random random = new Random(42);
+        Map<Integer, List<Double>> marks = new TreeMap<>();
+        for (int step = 0; step < 5_000; step++) {
+            int studentId = random.nextInt(200);
+            List<Double> own = marks.computeIfAbsent(studentId, id -> new ArrayList<>());
+            double value = random.nextInt(10_001) / 100.0;
+            if (own.isEmpty() || random.nextInt(3) > 0) {
+                own.add(value);
+                leaderboard.markChanged(null, mark(studentId, value));
+            } else if (random.nextBoolean()) {
+                leaderboard.markChanged(mark(studentId, own.remove(own.size() - 1)), null);
+            } else {
+                leaderboard.markChanged(mark(studentId, own.set(0, value)), mark(studentId, value));
+            }
+        }
+        marks.values().removeIf(List::isEmpty);
+        for (int studentId : marks.keySet()) {
+            leaderboard.studentUpdated(new Student(studentId, "Student " + studentId, "R" + studentId, "10A", null));
+        }
+
+        List<Integer> expected = new ArrayList<>(marks.keySet());
+        expected.sort((a, b) -> {
+            // Cross-multiplied so equal averages compare equal
+            long byAverage = hundredths(marks.get(b)) * marks.get(a).size()
+                    - hundredths(marks.get(a)) * marks.get(b).size();
+            return byAverage != 0 ? Long.signum(byAverage) : Integer.compare(a, b);
+        });
+        assertEquals(expected.size(), leaderboard.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(i + 1, leaderboard.getRank(expected.get(i)));
+        }
+        assertEquals(expected.subList(0, 25), ids(leaderboard.getTopPerformers(25)));
+    }
+
+    @Test
+    void reloadsAfterInvalidation() throws SQLException {
+        AtomicInteger loads = new AtomicInteger();
+        Leaderboard leaderboard = new Leaderboard(() -> {
+            loads.incrementAndGet();
+            return List.of(standing(1, 50.0, 1), standing(2, 60.0, 1));
+        });
+
+        assertEquals(2, leaderboard.getRank(1));
+        leaderboard.markChanged(null, mark(1, 90.0));
+        assertEquals(1, leaderboard.getRank(1));
+
+        leaderboard.marksInvalidated();
+        assertEquals(2, leaderboard.getRank(1));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void answersFromTheQueryWhenChangesKeepOverlappingIt() throws SQLException {
+        AtomicReference<Leaderboard> self = new AtomicReference<>();
+        AtomicInteger loads = new AtomicInteger();
+        Leaderboard leaderboard = new Leaderboard(() -> {
+            loads.incrementAndGet();
+            self.get().marksInvalidated();
+            return List.of(standing(1, 50.0, 1), standing(2, 60.0, 1), standing(3, 60.0, 1));
+        });
+        self.set(leaderboard);
+
+        assertEquals(List.of(2, 3), ids(leaderboard.getTopPerformers(2)));
+        assertEquals(3, leaderboard.getRank(1));
+        assertEquals(3, leaderboard.size());
+        // Nothing was kept, so every call queried again
+        assertEquals(9, loads.get());
+    }
+
+    private static Leaderboard.Standing standing(int studentId, double sum, int count) {
+        return new Leaderboard.Standing(studentId, "Student " + studentId, "R" + studentId, sum, count);
+    }
+
+    private static Mark mark(int studentId, double marks) {
+        return new Mark(studentId, 1, marks, "A");
+    }
+
+    private static long hundredths(List<Double> marks) {
+        long sum = 0;
+        for (double value : marks) {
+            sum += Math.round(value * 100);
+        }
+        return sum;
+    }
+
+    private static List<Integer> ids(List<Map<String, Object>> performers) {
+        List<Integer> ids = new ArrayList<>();
+        for (Map<String, Object> performer : performers) {
+            ids.add((Integer) performer.get("id"));
+        }
+        return ids;
+    }
+}
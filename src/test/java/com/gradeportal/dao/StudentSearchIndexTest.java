@@ -0,0 +1,155 @@
+package com.gradeportal.dao;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+
+import com.gradeportal.model.Student;
+
+import org.junit.jupiter.api.Test;
+
+class StudentSearchIndexTest {
+
+    private static final LocalDate REGISTERED = LocalDate.of(2025, 9, 1);
+
+    @Test
+    void staysColdUntilBuilt() {
+        StudentSearchIndex index = newIndex();
+        index.put(student(1, "Ann Lee", "R001"));
+
+        assertFalse(index.isReady());
+        assertEquals(List.of(), index.search("ann"));
+
+        assertTrue(index.build(List.of(student(1, "Ann Lee", "R001")), index.generation()));
+        assertTrue(index.isReady());
+        assertEquals(List.of(1), ids(index.search("ann")));
+    }
+
+    @Test
+    void ignoresBuildsOverlappedByWrites() {
+        StudentSearchIndex index = newIndex();
+        long seen = index.generation();
+        index.remove(1);
+
+        assertFalse(index.build(List.of(student(1, "Ann Lee", "R001")), seen));
+        assertFalse(index.isReady());
+    }
+
+    @Test
+    void ranksRollNumbersBeforeNamesBeforeSubstrings() {
+        StudentSearchIndex index = built(
+                student(1, "Zed Annan", "S100"),
+                student(2, "Joanne Smith", "S101"),
+                student(3, "Annabel Jones", "S102"),
+                student(4, "Ann Lee", "S103"),
+                student(5, "Bob Stone", "ANN"),
+                student(6, "Carl Hunt", "ANN7"));
+
+        assertEquals(List.of(5, 6, 4, 3, 1, 2), ids(index.search("ann")));
+        assertEquals(List.of(5, 6, 4, 3, 1, 2), ids(index.search("  ANN ")));
+        assertEquals(List.of(2), ids(index.search("anne s")));
+        assertEquals(List.of(), ids(index.search("xyz")));
+    }
+
+    @Test
+    void shortTermsMatchWordPrefixesOnly() {
+        StudentSearchIndex index = built(
+                student(1, "Joanne Smith", "S101"),
+                student(2, "Osman Ali", "S102"),
+                student(3, "Sam Smart", "X200"));
+
+        assertEquals(List.of(1, 3), ids(index.search("sm")));
+        assertEquals(List.of(1, 2), ids(index.search("s1")));
+        assertEquals(List.of(1, 2, 3), ids(index.search("s")));
+        assertEquals(List.of(1, 2, 3), ids(index.search("")));
+    }
+
+    @Test
+    void followsUpdatesAndDeletes() {
+        StudentSearchIndex index = built(student(1, "Ann Lee", "R001"), student(2, "Bob Stone", "R002"));
+
+        index.put(new Student(1, "Anna Price", "R001", "10A", null));
+        assertEquals(List.of(), ids(index.search("lee")));
+        Student renamed = index.search("price").get(0);
+        assertEquals("Anna Price", renamed.getName());
+        assertEquals(REGISTERED, renamed.getRegistrationDate());
+
+        index.put(student(3, "Cleo Lee", "R003"));
+        assertEquals(List.of(3), ids(index.search("lee")));
+
+        index.remove(2);
+        assertEquals(List.of(1, 3), ids(index.search("r00")));
+        assertEquals(List.of(), ids(index.search("stone")));
+    }
+
+    @Test
+    void returnsCopies() {
+        StudentSearchIndex index = built(student(1, "Ann Lee", "R001"));
+        index.search("ann").get(0).setName("Changed");
+
+        assertEquals("Ann Lee", index.search("ann").get(0).getName());
+    }
+
+    @Test
+    void longTermsMatchLikeASubstringQuery() {
+        Random random = new Random(7);
+        List<Student> students = new ArrayList<>();
+        for (int id = 1; id <= 300; id++) {
+            students.add(student(id, word(random) + " " + word(random), "R" + random.nextInt(1000)));
+        }
+        StudentSearchIndex index = newIndex();
+        index.build(students, index.generation());
+
+        for (int i = 0; i < 500; i++) {
+            String term = word(random).substring(0, 3 + random.nextInt(2));
+            Set<Integer> expected = new HashSet<>();
+            for (Student student : students) {
+                if (student.getName().toLowerCase(Locale.ROOT).contains(term)
+                        || student.getRollNumber().toLowerCase(Locale.ROOT).contains(term)) {
+                    expected.add(student.getId());
+                }
+            }
+            assertEquals(expected, new HashSet<>(ids(index.search(term))), term);
+        }
+    }
+
+    private static StudentSearchIndex newIndex() {
+        return new StudentSearchIndex(student -> new Student(student.getId(), student.getName(),
+                student.getRollNumber(), student.getStudentClass(), student.getRegistrationDate()));
+    }
+
+    private static StudentSearchIndex built(Student... students) {
+        StudentSearchIndex index = newIndex();
+        index.build(List.of(students), index.generation());
+        return index;
+    }
+
+    private static Student student(int id, String name, String rollNumber) {
+        return new Student(id, name, rollNumber, "10A", REGISTERED);
+    }
+
+    private static String word(Random random) {
+        // Small alphabet so terms hit often
+        StringBuilder word = new StringBuilder();
+        for (int i = 4 + random.nextInt(4); i > 0; i--) {
+            word.append("aenrst".charAt(random.nextInt(6)));
+        }
+        return word.toString();
+    }
+
+    private static List<Integer> ids(List<Student> students) {
+        List<Integer> ids = new ArrayList<>();
+        for (Student student : students) {
+            ids.add(student.getId());
+        }
+        return ids;
+    }
+}
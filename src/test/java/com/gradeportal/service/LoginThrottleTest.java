@@ -0,0 +1,97 @@
+package com.gradeportal.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+class LoginThrottleTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000_000L);
+
+    @Test
+    void allowsABurstThenOneAttemptPerInterval() {
+        LoginThrottle throttle = new LoginThrottle(3, 10_000, 1_000, 1, now::get);
+
+        assertEquals(0, throttle.tryAcquire("alice"));
+        assertEquals(0, throttle.tryAcquire("alice"));
+        assertEquals(0, throttle.tryAcquire("alice"));
+        assertEquals(10_000, throttle.tryAcquire("alice"));
+
+        // Refused attempts do not push the next one further out
+        now.addAndGet(9_999);
+        assertEquals(1, throttle.tryAcquire("alice"));
+        now.addAndGet(1);
+        assertEquals(0, throttle.tryAcquire("alice"));
+        assertEquals(10_000, throttle.tryAcquire("alice"));
+    }
+
+    @Test
+    void refillsToTheBurstAndNoFurther() {
+        LoginThrottle throttle = new LoginThrottle(3, 10_000, 1_000, 1, now::get);
+        for (int i = 0; i < 3; i++) {
+            throttle.tryAcquire("alice");
+        }
+
+        now.addAndGet(1_000_000);
+        assertEquals(0, throttle.tryAcquire("alice"));
+        assertEquals(0, throttle.tryAcquire("alice"));
+        assertEquals(0, throttle.tryAcquire("alice"));
+        assertEquals(10_000, throttle.tryAcquire("alice"));
+    }
+
+    @Test
+    void limitsUsernamesSeparatelyAndCaseInsensitively() {
+        LoginThrottle throttle = new LoginThrottle(1, 10_000, 1_000, 1, now::get);
+
+        assertEquals(0, throttle.tryAcquire("alice"));
+        assertEquals(10_000, throttle.tryAcquire("ALICE"));
+        assertEquals(0, throttle.tryAcquire("bob"));
+    }
+
+    @Test
+    void refundGivesBackOneAttempt() {
+        LoginThrottle throttle = new LoginThrottle(2, 10_000, 1_000, 1, now::get);
+
+        // Successful logins that are refunded never use up the burst
+        for (int i = 0; i < 100; i++) {
+            assertEquals(0, throttle.tryAcquire("alice"));
+            throttle.refund("alice");
+        }
+
+        throttle.tryAcquire("alice");
+        throttle.tryAcquire("alice");
+        assertEquals(10_000, throttle.tryAcquire("alice"));
+        throttle.refund("Alice");
+        assertEquals(0, throttle.tryAcquire("alice"));
+        assertEquals(10_000, throttle.tryAcquire("alice"));
+    }
+
+    @Test
+    void globalRefusalsDoNotSpendTheUsernameBudget() {
+        LoginThrottle throttle = new LoginThrottle(2, 10_000, 2, 1_000, now::get);
+        assertEquals(0, throttle.tryAcquire("alice"));
+        assertEquals(0, throttle.tryAcquire("bob"));
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals(1_000, throttle.tryAcquire("carol"));
+        }
+
+        now.addAndGet(1_000);
+        assertEquals(0, throttle.tryAcquire("carol"));
+        now.addAndGet(1_000);
+        assertEquals(0, throttle.tryAcquire("carol"));
+        now.addAndGet(1_000);
+        assertEquals(8_000, throttle.tryAcquire("carol"));
+    }
+
+    @Test
+    void rejectsNonPositiveLimits() {
+        assertThrows(IllegalArgumentException.class, () -> new LoginThrottle(0, 10_000, 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> new LoginThrottle(1, 0, 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> new LoginThrottle(1, 1, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new LoginThrottle(1, 1, 1, 0));
+    }
+}
@@ -0,0 +1,70 @@
+package com.gradeportal.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class CsvWriterTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void quotesOnlyFieldsThatNeedIt() throws IOException {
+        assertEquals("plain,\"a,b\",\"say \"\"hi\"\"\",\"two\nlines\",\"cr\rhere\",,café,\"naïve, 😀\"\r\n", write(writer -> writer
+                .field("plain").field("a,b").field("say \"hi\"").field("two\nlines").field("cr\rhere")
+                .field((String) null).field("café").field("naïve, 😀")));
+    }
+
+    @Test
+    void separatesFieldsAndRows() throws IOException {
+        assertEquals("1,-42,x\r\n,\r\n", write(writer -> {
+            writer.field(1).field(-42).field("x").endRow();
+            writer.field("").field("");
+        }));
+    }
+
+    @Test
+    void roundsNumbersLikeRounding() throws IOException {
+        assertEquals("12.3,85.3,1.01,-3,0.0,7.50000000\r\n", write(writer -> writer
+                .field(12.345, 1).field(85.25, 1).field(1.005, 2).field(-2.5, 0).field(-0.04, 1).field(7.5, 8)));
+    }
+
+    @Test
+    void writesNonFiniteAndHugeNumbersAsText() throws IOException {
+        assertEquals("NaN,-Infinity,1234567890123456.00\r\n", write(writer -> writer
+                .field(Double.NaN, 2).field(Double.NEGATIVE_INFINITY, 2).field(1234567890123456.0, 2)));
+    }
+
+    @Test
+    void formattedNumbersMatchHalfUp() throws IOException {
+        StringBuilder expected = new StringBuilder();
+        String actual = write(writer -> {
+            for (int i = 0; i < 10_000; i++) {
+                double value = (i - 5_000) / 37.0;
+                writer.field(value, i % 5);
+                expected.append(i == 0 ? "" : ",").append(Rounding.halfUp(value, i % 5));
+            }
+        });
+        assertEquals(expected.append("\r\n").toString(), actual);
+    }
+
+    private String write(Fields fields) throws IOException {
+        Path file = dir.resolve("out.csv");
+        try (CsvWriter writer = new CsvWriter(file)) {
+            fields.write(writer);
+            writer.endRow();
+        }
+        return Files.readString(file, StandardCharsets.UTF_8);
+    }
+
+    private interface Fields {
+        void write(CsvWriter writer) throws IOException;
+    }
+}
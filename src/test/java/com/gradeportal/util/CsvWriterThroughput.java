@@ -0,0 +1,63 @@
+package com.gradeportal.util;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+/**
+ * Throughput of a marks-shaped export through CsvWriter, with rounded numbers
+ * formatted in place and, for comparison, through Rounding.halfUp strings.
+ *
+ * Not a unit test; run it by hand after a test-compile:
+ * java -cp target/classes:target/test-classes com.gradeportal.util.CsvWriterThroughput [rows]
+ */
+public final class CsvWriterThroughput {
+
+    private static final String[] NAMES = {"Aarav Sharma", "Diya Patel", "Kabir Singh", "Meera \"Mini\" Iyer"};
+    private static final String[] SUBJECTS = {"Mathematics", "Physics", "Chemistry", "English, Lit."};
+    private static final String[] GRADES = {"A+", "A", "B+", "B", "C", "F"};
+    private static final int ROUNDS = 10;
+
+    private CsvWriterThroughput() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        Path file = Files.createTempFile("csv-throughput", ".csv");
+        try {
+            for (int round = 1; round <= ROUNDS; round++) {
+                report("in place ", round, rows, file, false);
+                report("via text ", round, rows, file, true);
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static void report(String label, int round, int rows, Path file, boolean viaText) throws IOException {
+        long start = System.nanoTime();
+        long bytes = write(file, rows, viaText);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%s round %2d: %,10.0f rows/s %8.1f MB/s%n",
+                label, round, rows / seconds, bytes / seconds / 1e6);
+    }
+
+    private static long write(Path file, int rows, boolean viaText) throws IOException {
+        LocalDate examDate = LocalDate.of(2026, 3, 14);
+        try (CsvWriter writer = new CsvWriter(file)) {
+            writer.row("Student", "Roll No", "Subject", "Marks", "Percentage", "Grade", "Exam Date");
+            for (int i = 0; i < rows; i++) {
+                double marks = (i * 7919 % 10_001) / 100.0;
+                writer.field(NAMES[i & 3]).field(100_000 + i).field(SUBJECTS[(i >> 2) & 3]);
+                if (viaText) {
+                    writer.field(Rounding.halfUp(marks, 2)).field(Rounding.halfUp(marks * 0.8, 1));
+                } else {
+                    writer.field(marks, 2).field(marks * 0.8, 1);
+                }
+                writer.field(GRADES[i % GRADES.length]).field(examDate.plusDays(i & 63)).endRow();
+            }
+            return writer.getBytesWritten();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.gradeportal.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class GradeCalculatorTest {
+
+    private static final GradeScale PASS_FAIL = GradeScale.of(List.of(
+            new GradeScale.Band("P", 40.0, 1.0, "Pass", true),
+            new GradeScale.Band("U", 0.0, 0.0, "Unclassified", false)));
+
+    @AfterEach
+    void restoreBuiltInScale() {
+        GradeCalculator.install(GradeScaleSet.of(GradeCalculator.getBuiltInScale()));
+    }
+
+    @Test
+    void gradesOnTheBuiltInScaleUntilScalesAreInstalled() {
+        assertEquals("A+", GradeCalculator.calculateGrade(95.0));
+        assertEquals("A-", GradeCalculator.calculateGrade(89.99));
+        assertEquals("F", GradeCalculator.calculateGrade(Double.NaN));
+        assertEquals("A+", GradeCalculator.calculateGrade(120.0));
+        assertEquals(3.7, GradeCalculator.getGradePoint("A-"));
+        assertTrue(GradeCalculator.isPassingGrade("D"));
+        assertFalse(GradeCalculator.isPassingGrade("F"));
+    }
+
+    @Test
+    void unknownLettersFallBack() {
+        assertEquals(0.0, GradeCalculator.getGradePoint("Z"));
+        assertEquals("Unknown Grade", GradeCalculator.getGradeDescription("Z"));
+        assertTrue(GradeCalculator.isPassingGrade("Z"));
+    }
+
+    @Test
+    void subjectScalesTakePrecedenceOverClassScales() {
+        GradeScale builtIn = GradeCalculator.getBuiltInScale();
+        GradeCalculator.install(new GradeScaleSet(builtIn, Map.of(7, PASS_FAIL), Map.of("10A", PASS_FAIL)));
+
+        assertEquals("P", GradeCalculator.calculateGrade(40.0, 7, null));
+        assertEquals("U", GradeCalculator.calculateGrade(39.99, 7, "9B"));
+        assertEquals("P", GradeCalculator.calculateGrade(45.0, 3, "10A"));
+        assertEquals("F", GradeCalculator.calculateGrade(45.0, 3, "9B"));
+        assertEquals("F", GradeCalculator.calculateGrade(45.0));
+
+        assertFalse(GradeCalculator.isPassingGrade("U", 7, null));
+        assertEquals("Pass", GradeCalculator.getGradeDescription("P", 3, "10A"));
+        // Letters only on an assigned scale are still found by the default lookup
+        assertEquals(1.0, GradeCalculator.getGradePoint("P"));
+    }
+}
@@ -0,0 +1,89 @@
+package com.gradeportal.util;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class GradeScaleTest {
+
+    private final GradeScale scale = GradeCalculator.getBuiltInScale();
+
+    @Test
+    void thresholdsStartTheirGrade() {
+        assertEquals("A+", scale.grade(95.0).getLetter());
+        assertEquals("A", scale.grade(94.99).getLetter());
+        assertEquals("B", scale.grade(75.0).getLetter());
+        assertEquals("B-", scale.grade(74.99).getLetter());
+        assertEquals("D", scale.grade(50.0).getLetter());
+        assertEquals("F", scale.grade(49.99).getLetter());
+        assertEquals("F", scale.grade(0.0).getLetter());
+    }
+
+    @Test
+    void thresholdsSurviveFloatingPointProducts() {
+        GradeScale fine = GradeScale.of(List.of(
+                new GradeScale.Band("P", 0.29, 1.0, "Pass", true),
+                new GradeScale.Band("F", 0.0, 0.0, "Fail", false)));
+        // 0.29 * 100 is 28.999999999999996
+        assertEquals("P", fine.grade(0.29).getLetter());
+        assertEquals("F", fine.grade(0.28).getLetter());
+    }
+
+    @Test
+    void outOfRangeAndNaNMarksClampToTheEnds() {
+        assertEquals("A+", scale.grade(100.0).getLetter());
+        assertEquals("A+", scale.grade(250.0).getLetter());
+        assertEquals("A+", scale.grade(Double.POSITIVE_INFINITY).getLetter());
+        assertEquals("F", scale.grade(-0.01).getLetter());
+        assertEquals("F", scale.grade(Double.NEGATIVE_INFINITY).getLetter());
+        assertEquals("F", scale.grade(Double.NaN).getLetter());
+    }
+
+    @Test
+    void bulkGradingMatchesSingleMarks() {
+        double[] marks = {Double.NaN, -5, 0, 49.99, 50, 64.5, 89.995, 95, 101};
+        byte[] indexes = new byte[marks.length];
+        double[] points = new double[marks.length];
+        scale.grade(marks, indexes);
+        scale.gradePoints(marks, points);
+
+        for (int i = 0; i < marks.length; i++) {
+            GradeScale.Grade grade = scale.grade(marks[i]);
+            assertSame(grade, scale.getGrade(indexes[i]));
+            assertEquals(grade.getPoint(), points[i]);
+        }
+
+        byte[] window = new byte[4];
+        scale.grade(marks, 3, window, 1, 3);
+        assertArrayEquals(new byte[] {0, indexes[3], indexes[4], indexes[5]}, window);
+    }
+
+    @Test
+    void gradesAreOrderedHighestFirst() {
+        GradeScale unordered = GradeScale.of(List.of(
+                new GradeScale.Band("F", 0.0, 0.0, "Fail", false),
+                new GradeScale.Band("A", 80.0, 4.0, "Top", true),
+                new GradeScale.Band("C", 40.0, 2.0, "Pass", true)));
+        assertEquals(List.of("A", "C", "F"), unordered.getGrades().stream().map(GradeScale.Grade::getLetter).toList());
+        assertSame(unordered.getGrade(1), unordered.forLetter("C"));
+        assertNull(unordered.forLetter("B"));
+    }
+
+    @Test
+    void rejectsInvalidTables() {
+        assertThrows(IllegalArgumentException.class, () -> GradeScale.of(List.of()));
+        assertThrows(IllegalArgumentException.class, () -> GradeScale.of(List.of(
+                new GradeScale.Band("A", 50.0, 4.0, "Top", true))));
+        assertThrows(IllegalArgumentException.class, () -> GradeScale.of(List.of(
+                new GradeScale.Band("A", 50.0, 4.0, "Top", true),
+                new GradeScale.Band("A", 0.0, 0.0, "Bottom", false))));
+        assertThrows(IllegalArgumentException.class, () -> new GradeScale.Band("A", 100.5, 4.0, "Top", true));
+        assertThrows(IllegalArgumentException.class, () -> new GradeScale.Band("F", -1.0, 0.0, "Fail", false));
+    }
+}
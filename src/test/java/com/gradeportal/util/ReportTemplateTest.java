@@ -0,0 +1,97 @@
+package com.gradeportal.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class ReportTemplateTest {
+
+    @Test
+    void roundsNumbersHalfUpOnce() {
+        ReportTemplate template = ReportTemplate.compile("[{{a:.1}}|{{b:.1}}|{{c:.2}}|{{d:.0}}|{{e:.1}}]");
+        assertEquals("[12.3|85.3|59.33|-3|0.0]", template.render(
+                scope(Map.of("a", 12.345, "b", 85.25, "c", (41.96 + 76.71) / 2, "d", -2.5, "e", -0.04))));
+    }
+
+    @Test
+    void padsNumbersToWidth() {
+        ReportTemplate template = ReportTemplate.compile("[{{a:7.2}}|{{a:-7.2}}|{{b:3.1}}]");
+        assertEquals("[ -12.50|-12.50 |1234.0]", template.render(scope(Map.of("a", -12.5, "b", 1234.0))));
+    }
+
+    @Test
+    void writesNonFiniteAndHugeNumbersAsText() {
+        ReportTemplate template = ReportTemplate.compile("{{a:.1}} {{b:6.1}} {{c:.2}}");
+        assertEquals("NaN -Infinity 1234567890123456.00", template.render(
+                scope(Map.of("a", Double.NaN, "b", Double.NEGATIVE_INFINITY, "c", 1234567890123456.0))));
+    }
+
+    @Test
+    void numbersMatchHalfUp() {
+        ReportTemplate template = ReportTemplate.compile("{{v:.3}}");
+        for (int i = -20_000; i < 20_000; i += 7) {
+            double value = i / 13.0;
+            assertEquals(Rounding.halfUp(value, 3), template.render(scope(Map.of("v", value))));
+        }
+    }
+
+    @Test
+    void reportsMalformedTags() {
+        assertEquals("Unclosed tag at offset 6", compileError("Name: {{name"));
+        assertEquals("Empty tag at offset 3", compileError("ab {{  }}"));
+        assertEquals("Bad format in {{a:x.1}}", compileError("{{a:x.1}}"));
+        assertEquals("Bad format in {{a:5.}}", compileError("{{a:5.}}"));
+        assertEquals("Precision too large in {{a:.9}}", compileError("{{a:.9}}"));
+    }
+
+    @Test
+    void reportsMismatchedSections() {
+        assertEquals("Unclosed section {{#rows}}", compileError("{{#rows}}{{name}}"));
+        assertEquals("Unexpected {{/rows}} at offset 0", compileError("{{/rows}}"));
+        assertEquals("Unexpected {{/rows}} at offset 18", compileError("{{#rows}}{{#cols}}{{/rows}}{{/cols}}"));
+    }
+
+    @Test
+    void rendersNestedAndInvertedSections() {
+        ReportTemplate template = ReportTemplate.compile("{{#rows}}\n{{name}}:{{#marks}} {{v:.1}}{{/marks}}{{^marks}} none{{/marks}}\n{{/rows}}\n");
+        assertEquals("Ann: 90.0 72.5\nBob: none\n", template.render(scope(Map.of("rows", List.of(
+                Map.of("name", "Ann", "marks", List.of(Map.of("v", 90), Map.of("v", 72.45))),
+                Map.of("name", "Bob", "marks", List.of()))))));
+    }
+
+    private static String compileError(String source) {
+        return assertThrows(IllegalArgumentException.class, () -> ReportTemplate.compile(source)).getMessage();
+    }
+
+    static ReportTemplate.Scope scope(Map<String, ?> fields) {
+        return new ReportTemplate.Scope() {
+            @Override
+            public CharSequence text(String name) {
+                Object value = fields.get(name);
+                return value == null ? null : value.toString();
+            }
+
+            @Override
+            public double number(String name) {
+                Object value = fields.get(name);
+                return value instanceof Number number ? number.doubleValue() : Double.NaN;
+            }
+
+            @Override
+            public int count(String section) {
+                Object value = fields.get(section);
+                return value instanceof List<?> items ? items.size() : 0;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public ReportTemplate.Scope item(String section, int index) {
+                return scope((Map<String, ?>) ((List<?>) fields.get(section)).get(index));
+            }
+        };
+    }
+}
@@ -0,0 +1,70 @@
+package com.gradeportal.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+class RoundingTest {
+
+    @Test
+    void roundsTheShortestDecimalHalfUp() {
+        assertEquals("12.3", Rounding.halfUp(12.345, 1));
+        assertEquals("85.3", Rounding.halfUp(85.25, 1));
+        assertEquals("1.01", Rounding.halfUp(1.005, 2));
+        assertEquals("59.33", Rounding.halfUp((41.96 + 76.71) / 2, 2));
+        assertEquals("-3", Rounding.halfUp(-2.5, 0));
+    }
+
+    @Test
+    void dropsTheSignOfZero() {
+        assertEquals("0.0", Rounding.halfUp(-0.04, 1));
+        assertEquals("0.00", Rounding.halfUp(-0.0, 2));
+    }
+
+    @Test
+    void scaledAgreesOnTies() {
+        assertEquals(123, Rounding.halfUpScaled(12.345, 1));
+        assertEquals(853, Rounding.halfUpScaled(85.25, 1));
+        assertEquals(101, Rounding.halfUpScaled(1.005, 2));
+        assertEquals(3, Rounding.halfUpScaled(-2.5, 0));
+        assertEquals(0, Rounding.halfUpScaled(-0.04, 1));
+    }
+
+    @Test
+    void scaledRefusesWhatItCannotRoundExactly() {
+        assertEquals(-1, Rounding.halfUpScaled(Double.NaN, 2));
+        assertEquals(-1, Rounding.halfUpScaled(Double.POSITIVE_INFINITY, 2));
+        assertEquals(-1, Rounding.halfUpScaled(-1e20, 0));
+        assertEquals(-1, Rounding.halfUpScaled(1e7, 8));
+    }
+
+    @Test
+    void scaledAgreesWithHalfUpOnEveryMarkTie() {
+        // Every x.xx5 between 0 and 1000 is a tie at two decimals
+        for (int thousandths = 5; thousandths < 1_000_000; thousandths += 10) {
+            assertAgrees(thousandths / 1000.0, 2);
+            assertAgrees(-thousandths / 1000.0, 2);
+        }
+        for (int hundredths = 5; hundredths < 100_000; hundredths += 10) {
+            assertAgrees(hundredths / 100.0, 1);
+        }
+    }
+
+    @Test
+    void scaledAgreesWithHalfUpOnRandomValues() {
+        SplittableRandom random = new SplittableRandom(20261017L);
+        for (int i = 0; i < 200_000; i++) {
+            int decimals = random.nextInt(Rounding.MAX_DECIMALS + 1);
+            double magnitude = Math.pow(10, random.nextInt(-3, 14 - decimals));
+            assertAgrees(random.nextDouble(-magnitude, magnitude), decimals);
+        }
+    }
+
+    private static void assertAgrees(double value, int decimals) {
+        long expected = new BigDecimal(Rounding.halfUp(value, decimals)).abs().unscaledValue().longValueExact();
+        assertEquals(expected, Rounding.halfUpScaled(value, decimals), () -> value + " at " + decimals);
+    }
+}
@@ -0,0 +1,7 @@
+-- Index backing keyset pagination of students.
+-- Students are paged by name with the row id as tie-breaker; InnoDB secondary
+-- indexes already carry the primary key, so (name) covers (name, id).
+-- Marks are paged by student name, subject name and id. No index spans the joined
+-- tables, so each page first walks this index to a window of students, then reaches
+-- their marks through unique_student_subject.
+CREATE INDEX idx_students_name ON students(name);